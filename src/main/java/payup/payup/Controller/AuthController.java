@@ -4,21 +4,29 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import payup.payup.dto.*;
 import payup.payup.exception.DuplicateEmailException;
+import payup.payup.exception.LoginThrottledException;
 import payup.payup.jwt.JwtTokenUtil;
 import payup.payup.mapper.UserMapper;
 import payup.payup.model.User;
+import payup.payup.service.AuthTokenService;
+import payup.payup.service.LoginService;
+import payup.payup.service.LoginThrottleService;
 import payup.payup.service.UserService;
-import jakarta.servlet.http.Cookie;
-import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * REST controller for handling authentication operations including
@@ -31,26 +39,38 @@ public class AuthController {
 
     private final UserService userService;
     private final JwtTokenUtil jwtTokenUtil;
-    private final AuthenticationManager authenticationManager;
+    private final LoginService loginService;
+    private final LoginThrottleService loginThrottleService;
     private final UserMapper userMapper;
+    private final AuthTokenService authTokenService;
+
+    private static final String ACCESS_COOKIE = "jwt";
+    private static final String REFRESH_COOKIE = "refresh_token";
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
 
     /**
      * Constructs an AuthController with required dependencies.
      *
      * @param userService The service for user operations.
      * @param jwtTokenUtil Utility for JWT token generation and validation.
-     * @param authenticationManager Spring Security authentication manager.
+     * @param loginService Service verifying login credentials.
      * @param userMapper Mapper for converting between User entities and DTOs.
+     * @param authTokenService Service issuing, refreshing and revoking token pairs.
+     * @param loginThrottleService Service throttling repeated failed logins.
      */
     @Autowired
     public AuthController(UserService userService,
                           JwtTokenUtil jwtTokenUtil,
-                          AuthenticationManager authenticationManager,
-                          UserMapper userMapper) {
+                          LoginService loginService,
+                          UserMapper userMapper,
+                          AuthTokenService authTokenService,
+                          LoginThrottleService loginThrottleService) {
         this.userService = userService;
         this.jwtTokenUtil = jwtTokenUtil;
-        this.authenticationManager = authenticationManager;
+        this.loginService = loginService;
         this.userMapper = userMapper;
+        this.authTokenService = authTokenService;
+        this.loginThrottleService = loginThrottleService;
     }
 
     /**
@@ -84,74 +104,156 @@ public class AuthController {
     }
 
     /**
-     * Authenticates a user and issues a JWT token upon successful login.
+     * Authenticates a user and issues a JWT token upon successful login. The password check runs on
+     * the bounded hashing pool, so the request thread is released while BCrypt works.
      *
      * @param loginRequest User credentials (email and password).
-     * @param response HttpServletResponse for setting secure cookies.
-     * @return ResponseEntity with authentication details or an error response.
+     * @param request HttpServletRequest, for the client IP used in throttling.
+     * @return Future ResponseEntity with authentication details or an error response.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody @Valid LoginRequest loginRequest,
-                                   HttpServletResponse response) {
-        try {
-            logger.info("Login attempt for email: {}", loginRequest.getEmail());
-
-            // Authenticate user credentials
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getEmail(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            // Load user details and generate token
-            UserDetails userDetails = userService.loadUserByUsername(loginRequest.getEmail());
-            String token = jwtTokenUtil.generateToken(userDetails);
-
-            // Fetch the full User entity to get id and name
-            User user = userService.findByEmail(loginRequest.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found after authentication"));
-
-            // Set secure, HttpOnly cookie
-            setJwtCookie(response, token);
-
-            // Prepare response with id and name
-            LoginResponse loginResponse = new LoginResponse(
-                    "Login successful",
-                    token,
-                    userDetails.getUsername(),
-                    user.getId(),
-                    user.getName(),
-                    userDetails.getAuthorities()
-            );
-
-            logger.info("Login successful for email: {}", loginRequest.getEmail());
-            return ResponseEntity.ok(loginResponse);
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody @Valid LoginRequest loginRequest,
+                                                      HttpServletRequest request) {
+        logger.info("Login attempt for email: {}", loginRequest.getEmail());
+        String clientIp = loginThrottleService.resolveClientIp(request);
+        return loginService.authenticate(loginRequest.getEmail(), loginRequest.getPassword(), clientIp)
+                .<ResponseEntity<?>>thenApply(user -> {
+                    UserDetails userDetails = userService.toUserDetails(user);
+
+                    // Short-lived access token plus a refresh token; both embed id and token version
+                    AuthTokenService.TokenPair tokens = authTokenService.issue(userDetails, user);
+
+                    // Prepare response with id and name
+                    LoginResponse loginResponse = new LoginResponse(
+                            "Login successful",
+                            tokens.accessToken(),
+                            tokens.refreshToken(),
+                            tokens.accessTokenExpiresIn(),
+                            userDetails.getUsername(),
+                            user.getId(),
+                            user.getName(),
+                            userDetails.getAuthorities()
+                    );
+
+                    logger.info("Login successful for email: {}", loginRequest.getEmail());
+                    // Set secure, HttpOnly cookies
+                    return ResponseEntity.ok()
+                            .headers(jwtCookieHeaders(tokens))
+                            .body(loginResponse);
+                })
+                .exceptionally(error -> loginFailure(loginRequest.getEmail(), error));
+    }
 
+    /**
+     * Exchanges a refresh token for a new access/refresh pair. The refresh token is read from the
+     * request body or, if absent, from the refresh cookie; it is revoked once used.
+     *
+     * @param refreshRequest Optional body carrying the refresh token.
+     * @param refreshCookie Refresh token cookie, used when the body has none.
+     * @return ResponseEntity with the new tokens or an error response.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody(required = false) RefreshRequest refreshRequest,
+                                     @CookieValue(name = REFRESH_COOKIE, required = false) String refreshCookie) {
+        String refreshToken = refreshRequest != null && refreshRequest.getRefreshToken() != null
+                ? refreshRequest.getRefreshToken()
+                : refreshCookie;
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Refresh failed", "Refresh token is required"));
+        }
+        try {
+            AuthTokenService.TokenPair tokens = authTokenService.refresh(refreshToken);
+            return ResponseEntity.ok()
+                    .headers(jwtCookieHeaders(tokens))
+                    .body(new RefreshResponse(tokens.accessToken(), tokens.refreshToken(), tokens.accessTokenExpiresIn()));
         } catch (BadCredentialsException e) {
-            logger.warn("Failed login attempt for email: {}", loginRequest.getEmail());
+            logger.warn("Token refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("Refresh failed", e.getMessage()));
+        }
+    }
+
+    /**
+     * Revokes the caller's access and refresh tokens and clears the auth cookies.
+     *
+     * @param authHeader Authorization header carrying the access token, if any.
+     * @param accessCookie Access token cookie, if any.
+     * @param refreshRequest Optional body carrying the refresh token.
+     * @param refreshCookie Refresh token cookie, if any.
+     * @return ResponseEntity confirming logout.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(name = "Authorization", required = false) String authHeader,
+                                    @CookieValue(name = ACCESS_COOKIE, required = false) String accessCookie,
+                                    @RequestBody(required = false) RefreshRequest refreshRequest,
+                                    @CookieValue(name = REFRESH_COOKIE, required = false) String refreshCookie) {
+        String accessToken = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : accessCookie;
+        String refreshToken = refreshRequest != null && refreshRequest.getRefreshToken() != null
+                ? refreshRequest.getRefreshToken()
+                : refreshCookie;
+        authTokenService.revoke(accessToken, refreshToken);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookie(ACCESS_COOKIE, "", "/", 0).toString());
+        headers.add(HttpHeaders.SET_COOKIE, cookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0).toString());
+        return ResponseEntity.ok().headers(headers).body(new BasicResponseDto("Logged out"));
+    }
+
+    /**
+     * Maps a failed login future to an error response.
+     *
+     * @param email The email that attempted to log in.
+     * @param error The failure, possibly wrapped in a CompletionException.
+     * @return 401 for bad credentials, 429 when throttled, 503 when the hashing pool is saturated
+     *         or slow, 500 otherwise.
+     */
+    private ResponseEntity<?> loginFailure(String email, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LoginThrottledException throttled) {
+            logger.warn("Throttled login attempt for email: {}", email);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(throttled.getRetryAfterSeconds()))
+                    .body(new ErrorResponse("Authentication failed", throttled.getMessage()));
+        }
+        if (cause instanceof BadCredentialsException) {
+            logger.warn("Failed login attempt for email: {}", email);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("Authentication failed", "Invalid credentials"));
-        } catch (Exception e) {
-            logger.error("Login error for email {}: {}", loginRequest.getEmail(), e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("Login failed", e.getMessage()));
         }
+        if (cause instanceof RejectedExecutionException || cause instanceof TimeoutException) {
+            logger.warn("Login for email {} turned away, password hashing is saturated", email);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ErrorResponse("Login failed", "Server is busy, please retry"));
+        }
+        logger.error("Login error for email {}: {}", email, cause.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Login failed", cause.getMessage()));
     }
 
     /**
-     * Sets JWT token in a secure, HttpOnly cookie.
+     * Builds secure, HttpOnly cookies for the access and refresh tokens. The refresh cookie is only
+     * sent to the auth endpoints.
      *
-     * @param response HttpServletResponse to add the cookie to.
-     * @param token JWT token to set.
+     * @param tokens Token pair to set.
+     * @return Headers carrying both Set-Cookie values.
      */
-    private void setJwtCookie(HttpServletResponse response, String token) {
-        Cookie cookie = new Cookie("jwt", token);
-        cookie.setHttpOnly(true);
-        cookie.setSecure(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(7 * 24 * 60 * 60); // 7 days expiration
-        response.addCookie(cookie);
+    private HttpHeaders jwtCookieHeaders(AuthTokenService.TokenPair tokens) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookie(ACCESS_COOKIE, tokens.accessToken(), "/",
+                jwtTokenUtil.getAccessTokenExpiration() / 1000).toString());
+        headers.add(HttpHeaders.SET_COOKIE, cookie(REFRESH_COOKIE, tokens.refreshToken(), REFRESH_COOKIE_PATH,
+                jwtTokenUtil.getRefreshTokenExpiration() / 1000).toString());
+        return headers;
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, long maxAgeSeconds) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(true)
+                .path(path)
+                .maxAge(maxAgeSeconds)
+                .build();
     }
 
     /**
@@ -167,20 +269,54 @@ public class AuthController {
         public void setPassword(String password) { this.password = password; }
     }
 
+    /**
+     * Data transfer object for refresh and logout requests.
+     */
+    public static class RefreshRequest {
+        private String refreshToken;
+
+        public String getRefreshToken() { return refreshToken; }
+        public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+    }
+
+    /**
+     * Data transfer object for successful refresh responses.
+     */
+    public static class RefreshResponse {
+        private String token;
+        private String refreshToken;
+        private long expiresIn;
+
+        public RefreshResponse(String token, String refreshToken, long expiresIn) {
+            this.token = token;
+            this.refreshToken = refreshToken;
+            this.expiresIn = expiresIn;
+        }
+
+        public String getToken() { return token; }
+        public String getRefreshToken() { return refreshToken; }
+        public long getExpiresIn() { return expiresIn; }
+    }
+
     /**
      * Data transfer object for successful login responses.
      */
     public static class LoginResponse {
         private String message;
         private String token;
+        private String refreshToken;
+        private long expiresIn;
         private String username;
         private Long id;         // Added for user ID
         private String name;     // Added for user name
         private Object authorities;
 
-        public LoginResponse(String message, String token, String username, Long id, String name, Object authorities) {
+        public LoginResponse(String message, String token, String refreshToken, long expiresIn,
+                             String username, Long id, String name, Object authorities) {
             this.message = message;
             this.token = token;
+            this.refreshToken = refreshToken;
+            this.expiresIn = expiresIn;
             this.username = username;
             this.id = id;
             this.name = name;
@@ -189,6 +325,8 @@ public class AuthController {
 
         public String getMessage() { return message; }
         public String getToken() { return token; }
+        public String getRefreshToken() { return refreshToken; }
+        public long getExpiresIn() { return expiresIn; }
         public String getUsername() { return username; }
         public Long getId() { return id; }
         public String getName() { return name; }
@@ -7,14 +7,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import payup.payup.dto.*;
+import payup.payup.mapper.CommunicationMapper;
+import payup.payup.model.Communication;
 import payup.payup.service.CommunicationService;
+import payup.payup.service.UserService;
 
 /**
  * REST controller for managing communication operations.
- * Provides endpoints for sending emails and SMS messages.
- * All endpoints require ADMIN or LANDLORD role authorization.
+ * Provides endpoints for sending emails and SMS messages, which require ADMIN or LANDLORD
+ * role authorization, and for in-app messaging between users, open to any authenticated user.
  */
 @RestController
 @RequestMapping("/api/communication")
@@ -23,10 +27,16 @@ public class CommunicationController {
     private static final Logger logger = LoggerFactory.getLogger(CommunicationController.class);
 
     private final CommunicationService communicationService;
+    private final UserService userService;
+    private final CommunicationMapper communicationMapper;
 
     @Autowired
-    public CommunicationController(CommunicationService communicationService) {
+    public CommunicationController(CommunicationService communicationService,
+                                   UserService userService,
+                                   CommunicationMapper communicationMapper) {
         this.communicationService = communicationService;
+        this.userService = userService;
+        this.communicationMapper = communicationMapper;
     }
 
     /**
@@ -101,6 +111,148 @@ public class CommunicationController {
         }
     }
 
+    /**
+     * Sends an in-app message from the authenticated user to another user.
+     *
+     * @param request DTO containing the receiver ID, message text and message type
+     * @return ResponseEntity with the saved CommunicationDto or ErrorResponseDto on failure
+     */
+    @PostMapping("/messages")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> sendMessage(@Valid @RequestBody MessageRequestDto request) {
+        UserView sender = currentUser();
+        if (sender == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        try {
+            Communication message = new Communication();
+            message.setMessage(request.getMessage());
+            message.setType(request.getType() != null
+                    ? Communication.MessageType.valueOf(request.getType().toUpperCase())
+                    : Communication.MessageType.SMS);
+            Communication saved = communicationService.sendMessage(sender.id(), request.getReceiverId(), message);
+            return ResponseEntity.status(HttpStatus.CREATED).body(communicationMapper.toDto(saved));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid message from userId={}: {}", sender.id(), e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to send message from userId={}: {}", sender.id(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponseDto("Message delivery failed", e.getMessage()));
+        }
+    }
+
+    /**
+     * Lists the authenticated user's conversation threads with the last message of each.
+     *
+     * @param page Zero-based page number
+     * @param size Page size, at most 100
+     * @return ResponseEntity with a list of ConversationSummaryDto or ErrorResponseDto on failure
+     */
+    @GetMapping("/conversations")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getConversations(@RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size) {
+        UserView user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        try {
+            return ResponseEntity.ok(communicationService.getConversations(user.id(), page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid request", e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns a page of the message history between the authenticated user and another user, newest first.
+     *
+     * @param otherUserId ID of the other participant
+     * @param cursor      Cursor returned by the previous page; omit for the first page
+     * @param size        Page size, at most 100
+     * @return ResponseEntity with a MessagePageDto or ErrorResponseDto on failure
+     */
+    @GetMapping("/conversations/{otherUserId}/messages")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getConversationHistory(@PathVariable Long otherUserId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "30") int size) {
+        UserView user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        try {
+            return ResponseEntity.ok(communicationService.getConversationHistory(user.id(), otherUserId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid request", e.getMessage()));
+        }
+    }
+
+    /**
+     * Returns a page of messages received by the authenticated user, newest first.
+     *
+     * @param cursor Cursor returned by the previous page; omit for the first page
+     * @param size   Page size, at most 100
+     * @return ResponseEntity with a MessagePageDto or ErrorResponseDto on failure
+     */
+    @GetMapping("/messages/received")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getReceivedMessages(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "30") int size) {
+        UserView user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        try {
+            return ResponseEntity.ok(communicationService.getReceivedMessages(user.id(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid request", e.getMessage()));
+        }
+    }
+
+    private UserView currentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userService.findViewByEmail(email).orElse(null);
+    }
+
+    /**
+     * DTO for in-app message requests
+     */
+    public static class MessageRequestDto {
+        private Long receiverId;
+        private String message;
+        private String type;
+
+        // Getters and setters
+        public Long getReceiverId() {
+            return receiverId;
+        }
+
+        public void setReceiverId(Long receiverId) {
+            this.receiverId = receiverId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+    }
+
     /**
      * DTO for email requests
      */
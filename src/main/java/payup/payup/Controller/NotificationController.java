@@ -9,7 +9,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import payup.payup.dto.*;
 import payup.payup.exception.UserNotFoundException;
@@ -18,6 +20,9 @@ import payup.payup.model.*;
 import payup.payup.service.*;
 import payup.repository.TenantRepository;
 
+import java.util.List;
+import java.util.Map;
+
 
     @RestController
     @RequestMapping("/api/notifications")
@@ -26,13 +31,19 @@ import payup.repository.TenantRepository;
         private final TenantRepository tenantRepository;
         private final UserService userService;
         private final TenantService tenantService;
+        private final NotificationStreamService notificationStreamService;
+        private final NotificationStateService notificationStateService;
+        private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
 
         @Autowired
-        public NotificationController(NotificationService notificationService, TenantRepository tenantRepository, UserService userService, TenantService tenantService) {
+        public NotificationController(NotificationService notificationService, TenantRepository tenantRepository, UserService userService, TenantService tenantService,
+                                      NotificationStreamService notificationStreamService, NotificationStateService notificationStateService) {
             this.notificationService = notificationService;
             this.tenantRepository = tenantRepository;
             this.userService = userService;
             this.tenantService = tenantService;
+            this.notificationStreamService = notificationStreamService;
+            this.notificationStateService = notificationStateService;
         }
 
         @PostMapping("/tenant/{tenantId}")
@@ -45,6 +56,125 @@ import payup.repository.TenantRepository;
             return ResponseEntity.ok(new NotificationResponseDto(notification.getId(), notification.getMessage()));
         }
 
+        /**
+         * Opens a Server-Sent Events stream pushing new notifications to the authenticated tenant,
+         * replacing the need to poll the notification endpoints.
+         *
+         * @return The SseEmitter for the stream, 404 if no tenant matches the caller, or 429 if too many streams are open.
+         */
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        @PreAuthorize("hasRole('TENANT')")
+        public ResponseEntity<?> stream() {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            Tenant tenant = tenantService.findByEmail(email);
+            if (tenant == null) {
+                logger.warn("Notification stream requested by unknown tenant: {}", email);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(new ErrorResponseDto("Tenant not found", "No tenant found for email: " + email));
+            }
+            try {
+                return ResponseEntity.ok(notificationStreamService.subscribe(tenant.getId()));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(new ErrorResponseDto("Stream limit reached", e.getMessage()));
+            }
+        }
+
+        /**
+         * Returns the authenticated tenant's unread notification count for the header badge.
+         * Served from the cached counter, so it does not query the notifications table.
+         *
+         * @return The unread count, or 404 if no tenant matches the caller.
+         */
+        @GetMapping("/unread-count")
+        @PreAuthorize("hasRole('TENANT')")
+        public ResponseEntity<?> getUnreadCount() {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            return notificationStateService.resolveTenantId(email)
+                    .<ResponseEntity<?>>map(tenantId -> ResponseEntity.ok(Map.of("unread", notificationStateService.getUnreadCount(tenantId))))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new ErrorResponseDto("Tenant not found", "No tenant found for email: " + email)));
+        }
+
+        /**
+         * Marks a batch of the authenticated tenant's notifications as read in a single statement.
+         *
+         * @param request The IDs of the notifications to mark as read.
+         * @return The number of notifications updated and the new unread count.
+         */
+        @PutMapping("/read")
+        @PreAuthorize("hasRole('TENANT')")
+        public ResponseEntity<?> markAsRead(@RequestBody MarkReadRequestDto request) {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            Long tenantId = notificationStateService.resolveTenantId(email).orElse(null);
+            if (tenantId == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponseDto("Tenant not found", "No tenant found for email: " + email));
+            }
+            try {
+                int updated = notificationStateService.markAsRead(tenantId, request.getIds());
+                return ResponseEntity.ok(Map.of("updated", updated, "unread", notificationStateService.getUnreadCount(tenantId)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid request", e.getMessage()));
+            }
+        }
+
+        /**
+         * Marks all of the authenticated tenant's notifications as read.
+         *
+         * @return The number of notifications updated.
+         */
+        @PutMapping("/read-all")
+        @PreAuthorize("hasRole('TENANT')")
+        public ResponseEntity<?> markAllAsRead() {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            return notificationStateService.resolveTenantId(email)
+                    .<ResponseEntity<?>>map(tenantId -> ResponseEntity.ok(Map.of("updated", notificationStateService.markAllAsRead(tenantId), "unread", 0)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new ErrorResponseDto("Tenant not found", "No tenant found for email: " + email)));
+        }
+
+        /**
+         * Returns one page of the authenticated tenant's notification inbox, newest first.
+         * Uses cursor (seek) pagination: pass the nextCursor of a page to get the following one.
+         *
+         * @param status Optional status filter (READ, UNREAD).
+         * @param type   Optional type filter (GENERAL, RENT_DUE, MAINTENANCE, URGENT).
+         * @param cursor Cursor returned by the previous page; omit for the first page.
+         * @param size   Page size, at most 100.
+         * @return The feed page, 400 for invalid filters or cursor, or 404 if no tenant matches the caller.
+         */
+        @GetMapping("/feed")
+        @PreAuthorize("hasRole('TENANT')")
+        public ResponseEntity<?> getFeed(@RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            Long tenantId = notificationStateService.resolveTenantId(email).orElse(null);
+            if (tenantId == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponseDto("Tenant not found", "No tenant found for email: " + email));
+            }
+            try {
+                Notification.NotificationStatus statusFilter = status != null ? Notification.NotificationStatus.valueOf(status.toUpperCase()) : null;
+                Notification.NotificationType typeFilter = type != null ? Notification.NotificationType.valueOf(type.toUpperCase()) : null;
+                return ResponseEntity.ok(notificationService.getFeed(tenantId, statusFilter, typeFilter, cursor, size));
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid feed request from tenantId={}: {}", tenantId, e.getMessage());
+                return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid feed request", e.getMessage()));
+            }
+        }
+
+        public static class MarkReadRequestDto {
+            private List<Long> ids;
+            // Getters and setters
+            public List<Long> getIds() { return ids; }
+            public void setIds(List<Long> ids) { this.ids = ids; }
+        }
+
         public static class NotificationRequestDto {
             private String message;
             // Getters and setters
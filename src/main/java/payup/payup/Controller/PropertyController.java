@@ -4,16 +4,20 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import payup.payup.dto.*;
 import payup.payup.mapper.PropertyMapper;
 import payup.payup.model.Property;
 import payup.payup.service.PropertyService;
+import payup.payup.service.PropertySnapshotService;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -28,11 +32,14 @@ public class PropertyController {
 
     private final PropertyService propertyService;
     private final PropertyMapper propertyMapper;
+    private final PropertySnapshotService propertySnapshotService;
 
     @Autowired
-    public PropertyController(PropertyService propertyService, PropertyMapper propertyMapper) {
+    public PropertyController(PropertyService propertyService, PropertyMapper propertyMapper,
+                              PropertySnapshotService propertySnapshotService) {
         this.propertyService = propertyService;
         this.propertyMapper = propertyMapper;
+        this.propertySnapshotService = propertySnapshotService;
     }
 
     /**
@@ -49,7 +56,9 @@ public class PropertyController {
             Property createdProperty = propertyService.createProperty(
                     propertyMapper.toEntity(request),
                     request.getLandlordId(),
-                    request.getNumberOfFloors()
+                    request.getNumberOfFloors(),
+                    request.getRoomsPerFloor(),
+                    request.getRentAmount()
             );
 
             PropertyDto responseDto = propertyMapper.toDto(createdProperty);
@@ -114,6 +123,38 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Gets a property with all of its floors, rooms and tenants.
+     * Responses carry an ETag; a request whose If-None-Match still matches is answered 304 after reading
+     * only the property's version.
+     * @param propertyId ID of property
+     * @param request The request, for If-None-Match
+     * @return ResponseEntity with PropertySnapshotDto, 304 Not Modified, or ErrorResponseDto
+     */
+    @GetMapping("/{propertyId}/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPropertySnapshot(@PathVariable Long propertyId, WebRequest request) {
+        Optional<String> etag = propertySnapshotService.getEtag(propertyId);
+        if (etag.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponseDto("Property not found", "Property not found with ID: " + propertyId));
+        }
+        if (request.checkNotModified(etag.get())) {
+            return null; // 304 with the ETag already set
+        }
+        try {
+            PropertySnapshotDto snapshot = propertySnapshotService.getSnapshot(propertyId);
+            return ResponseEntity.ok()
+                    .eTag(PropertySnapshotService.etag(snapshot.getId(), snapshot.getUpdatedAt()))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(snapshot);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Property {} disappeared while loading its snapshot", propertyId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponseDto("Property not found", e.getMessage()));
+        }
+    }
+
     /**
      * Gets all properties for a specific landlord
      * @param landlordId ID of landlord
@@ -0,0 +1,98 @@
+package payup.payup.Controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import payup.payup.dto.ErrorResponseDto;
+import payup.payup.dto.UserView;
+import payup.payup.model.User;
+import payup.payup.service.TypeaheadService;
+import payup.payup.service.UserService;
+import payup.payup.service.VacancyService;
+
+/**
+ * REST controller for search-as-you-type over tenants, properties and rooms, and for vacant-room search.
+ * Admins search everything; landlords only their own properties and the rooms and tenants in them.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    private final TypeaheadService typeaheadService;
+    private final VacancyService vacancyService;
+    private final UserService userService;
+
+    @Autowired
+    public SearchController(TypeaheadService typeaheadService, VacancyService vacancyService, UserService userService) {
+        this.typeaheadService = typeaheadService;
+        this.vacancyService = vacancyService;
+        this.userService = userService;
+    }
+
+    /**
+     * Returns typeahead suggestions for the text typed so far.
+     *
+     * @param q     The text typed so far
+     * @param limit Maximum number of suggestions
+     * @return ResponseEntity with a list of SuggestionDto or ErrorResponseDto if the user is unknown
+     */
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LANDLORD')")
+    public ResponseEntity<?> typeahead(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        UserView user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        Long scope = user.role() == User.UserRole.ADMIN ? null : user.id();
+        logger.debug("Typeahead query={} scope={}", q, scope);
+        return ResponseEntity.ok(typeaheadService.suggest(q, scope, limit));
+    }
+
+    /**
+     * Finds vacant rooms across the portfolio, cheapest first.
+     *
+     * @param minRent  Lowest rent, inclusive
+     * @param maxRent  Highest rent, inclusive
+     * @param type     Property type, e.g. "apartment"
+     * @param location Text the property location must contain
+     * @param limit    Maximum number of rooms
+     * @return ResponseEntity with a list of VacancyDto or ErrorResponseDto on invalid input
+     */
+    @GetMapping("/vacancies")
+    @PreAuthorize("hasAnyRole('ADMIN', 'LANDLORD')")
+    public ResponseEntity<?> vacancies(@RequestParam(required = false) Double minRent,
+                                       @RequestParam(required = false) Double maxRent,
+                                       @RequestParam(required = false) String type,
+                                       @RequestParam(required = false) String location,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        UserView user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponseDto("Unknown user", "Authenticated user not found"));
+        }
+        Long scope = user.role() == User.UserRole.ADMIN ? null : user.id();
+        logger.debug("Vacancy search rent={}..{} type={} location={} scope={}", minRent, maxRent, type, location, scope);
+        try {
+            return ResponseEntity.ok(vacancyService.search(minRent, maxRent, type, location, scope, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid vacancy search", e.getMessage()));
+        }
+    }
+
+    private UserView currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findViewByEmail(auth.getName()).orElse(null);
+    }
+}
@@ -16,6 +16,8 @@ import payup.payup.mapper.*;
 import payup.payup.model.*;
 import payup.payup.service.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -40,10 +42,11 @@ public class AdminController {
 
     // Mappers
     @Autowired private UserMapper userMapper;
+    @Autowired private TenantQueryService tenantQueryService;
     @Autowired private PropertyMapper propertyMapper;
-    @Autowired private TenantMapper tenantMapper;
     @Autowired private RentMapper rentMapper;
     @Autowired private NotificationMapper notificationMapper;
+    @Autowired private RentRollService rentRollService;
 
     /**
      * Retrieves a paginated list of all users in the system.
@@ -55,7 +58,7 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<UserDto>> getAllUsers(Pageable pageable) {
         logger.info("Fetching all users with pagination: {}", pageable);
-        Page<User> users = userService.findAll(pageable);
+        Page<UserView> users = userService.findAll(pageable);
         Page<UserDto> userDtos = users.map(userMapper::toDto);
         return ResponseEntity.ok(userDtos);
     }
@@ -73,7 +76,7 @@ public class AdminController {
         logger.info("Fetching users by role: {}", role);
         try {
             User.UserRole userRole = User.UserRole.valueOf(role.toUpperCase());
-            Page<User> users = userService.findByRole(userRole, pageable);
+            Page<UserView> users = userService.findByRole(userRole, pageable);
             Page<UserDto> userDtos = users.map(userMapper::toDto);
             return ResponseEntity.ok(userDtos);
         } catch (IllegalArgumentException e) {
@@ -97,7 +100,7 @@ public class AdminController {
             logger.warn("Empty search query received");
             return ResponseEntity.badRequest().body(Map.of("error", "Search query cannot be empty"));
         }
-        Page<User> users = userService.searchUsers(query, pageable);
+        Page<UserView> users = userService.searchUsers(query, pageable);
         Page<UserDto> userDtos = users.map(userMapper::toDto);
         return ResponseEntity.ok(userDtos);
     }
@@ -179,19 +182,20 @@ public class AdminController {
     }
 
     /**
-     * Retrieves all tenants in the system.
+     * Retrieves tenants one page at a time.
      *
-     * @return ResponseEntity containing List of TenantDto objects
+     * @param view "summary" for flat TenantSummaryDto rows, anything else for full TenantDto objects
+     * @param pageable Pagination and sorting parameters
+     * @return ResponseEntity containing a Page of tenants
      */
     @GetMapping("/tenants")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TenantDto>> getAllTenants() {
-        logger.info("Fetching all tenants");
-        List<Tenant> tenants = tenantService.findAll();
-        List<TenantDto> tenantDtos = tenants.stream()
-                .map(tenantMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(tenantDtos);
+    public ResponseEntity<?> getAllTenants(@RequestParam(defaultValue = "full") String view, Pageable pageable) {
+        logger.info("Fetching tenants: view={}, {}", view, pageable);
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(tenantQueryService.getSummaries(null, pageable));
+        }
+        return ResponseEntity.ok(tenantQueryService.getDetails(pageable));
     }
 
     /**
@@ -216,6 +220,30 @@ public class AdminController {
         }
     }
 
+    /**
+     * Runs the rent roll for a billing month now, e.g. to backfill a month or retry failed partitions.
+     * Rents that already exist for the month are left alone.
+     *
+     * @param period The billing month as yyyy-MM; defaults to the current month
+     * @return ResponseEntity containing the RentRollReportDto, 400 for a malformed month, or 409 if a run is in progress
+     */
+    @PostMapping("/rent-roll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> runRentRoll(@RequestParam(required = false) String period) {
+        YearMonth month;
+        try {
+            month = period == null || period.isBlank() ? rentRollService.currentPeriod() : YearMonth.parse(period.trim());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid period, expected yyyy-MM: " + period));
+        }
+        logger.info("Running rent roll for {}", month);
+        try {
+            return ResponseEntity.ok(rentRollService.run(month));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Sends a notification to a specific tenant.
      *
@@ -3,20 +3,25 @@ package payup.payup.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import payup.payup.dto.ErrorResponseDto;
 import payup.payup.dto.PropertyDto;
+import payup.payup.dto.PropertySnapshotDto;
 import payup.payup.dto.TenantDto;
+import payup.payup.dto.UserView;
 import payup.payup.mapper.PropertyMapper;
-import payup.payup.mapper.TenantMapper;
 import payup.payup.model.*;
 import payup.payup.service.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -30,11 +35,11 @@ public class LandlordController {
     private static final Logger logger = LoggerFactory.getLogger(LandlordController.class);
 
     @Autowired private PropertyService propertyService;
-    @Autowired private TenantService tenantService;
     @Autowired private RentService rentService;
     @Autowired private UserService userService;
     @Autowired private PropertyMapper propertyMapper;
-    @Autowired private TenantMapper tenantMapper;
+    @Autowired private TenantQueryService tenantQueryService;
+    @Autowired private PropertySnapshotService propertySnapshotService;
 
     /**
      * Retrieves all properties owned by the authenticated landlord.
@@ -47,16 +52,16 @@ public class LandlordController {
         logger.info("Fetching properties for authenticated landlord");
         try {
             String email = SecurityContextHolder.getContext().getAuthentication().getName();
-            User landlord = userService.findByEmail(email).orElse(null);
+            UserView landlord = userService.findViewByEmail(email).orElse(null);
             if (landlord == null) {
                 logger.warn("Landlord not found for email: {}", email);
                 return ResponseEntity.notFound().build();
             }
-            List<Property> properties = propertyService.getPropertiesByLandlord(landlord.getId());
+            List<Property> properties = propertyService.getPropertiesByLandlord(landlord.id());
             List<PropertyDto> propertyDtos = properties.stream()
                     .map(propertyMapper::toDto)
                     .collect(Collectors.toList());
-            logger.info("Returning {} properties for landlordId={}", propertyDtos.size(), landlord.getId());
+            logger.info("Returning {} properties for landlordId={}", propertyDtos.size(), landlord.id());
             return ResponseEntity.ok(propertyDtos);
         } catch (Exception e) {
             logger.error("Error fetching properties: {}", e.getMessage(), e);
@@ -68,51 +73,53 @@ public class LandlordController {
      * Retrieves all tenants for a specific property owned by the authenticated landlord.
      *
      * @param propertyId The ID of the property.
-     * @return ResponseEntity containing a List of Tenant objects or 403/404 if unauthorized or not found.
+     * @return ResponseEntity containing a List of Tenant objects, or 403 if the landlord does not own the property.
      */
     @GetMapping("/properties/{propertyId}/tenants")
-    @PreAuthorize("hasRole('LANDLORD')")
+    @PreAuthorize("hasRole('LANDLORD') and @ownership.ownsProperty(authentication, #propertyId)")
     public ResponseEntity<?> getTenantsByProperty(@PathVariable Long propertyId) {
         logger.info("Fetching tenants for propertyId={}", propertyId);
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User landlord = userService.findByEmail(email).orElse(null);
-        if (landlord == null) {
-            logger.warn("Landlord not found for email: {}", email);
-            return ResponseEntity.notFound().build();
-        }
-        if (!propertyService.isPropertyOwner(propertyId, landlord.getId())) {
-            logger.warn("Unauthorized access to propertyId={} by landlordId={}", propertyId, landlord.getId());
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Unauthorized access to property"));
-        }
-        List<Tenant> tenants = tenantService.getTenantsByProperty(propertyId);
-        List<TenantDto> tenantDtos = tenants.stream()
-                .map(tenantMapper::toDto) // Use TenantMapper to convert to DTO
-                .collect(Collectors.toList());
+        List<TenantDto> tenantDtos = tenantQueryService.getDetailsByProperty(propertyId);
         logger.info("Returning {} tenants for propertyId={}", tenantDtos.size(), propertyId);
         return ResponseEntity.ok(tenantDtos); // Return DTOs instead of raw entities
     }
 
+    /**
+     * Retrieves a property owned by the authenticated landlord with all of its floors, rooms and tenants.
+     * A request whose If-None-Match still matches the property's version is answered 304 Not Modified.
+     *
+     * @param propertyId The ID of the property.
+     * @param request    The request, for If-None-Match.
+     * @return ResponseEntity containing the PropertySnapshotDto, 304 if unchanged, or 403 if the landlord does not own the property.
+     */
+    @GetMapping("/properties/{propertyId}/snapshot")
+    @PreAuthorize("hasRole('LANDLORD') and @ownership.ownsProperty(authentication, #propertyId)")
+    public ResponseEntity<?> getPropertySnapshot(@PathVariable Long propertyId, WebRequest request) {
+        Optional<String> etag = propertySnapshotService.getEtag(propertyId);
+        if (etag.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponseDto("Property not found", "Property not found with ID: " + propertyId));
+        }
+        if (request.checkNotModified(etag.get())) {
+            return null; // 304 with the ETag already set
+        }
+        PropertySnapshotDto snapshot = propertySnapshotService.getSnapshot(propertyId);
+        return ResponseEntity.ok()
+                .eTag(PropertySnapshotService.etag(snapshot.getId(), snapshot.getUpdatedAt()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(snapshot);
+    }
+
     /**
      * Retrieves rent details for a specific tenant under a property owned by the authenticated landlord.
      *
      * @param tenantId The ID of the tenant.
-     * @return ResponseEntity containing a List of Rent objects or 404 if not found or unauthorized.
+     * @return ResponseEntity containing a List of Rent objects, or 403 if the tenant is not in the landlord's properties.
      */
     @GetMapping("/tenants/{tenantId}/rents")
-    @PreAuthorize("hasRole('LANDLORD')")
+    @PreAuthorize("hasRole('LANDLORD') and @ownership.ownsTenant(authentication, #tenantId)")
     public ResponseEntity<?> getRentsByTenant(@PathVariable Long tenantId) {
         logger.info("Fetching rents for tenantId={}", tenantId);
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User landlord = userService.findByEmail(email).orElse(null);
-        if (landlord == null) {
-            logger.warn("Landlord not found for email: {}", email);
-            return ResponseEntity.notFound().build();
-        }
-        Tenant tenant = tenantService.getTenantById(tenantId);
-        if (tenant == null || !propertyService.isPropertyOwner(tenant.getProperty().getId(), landlord.getId())) {
-            logger.warn("Tenant not found or unauthorized: tenantId={}", tenantId);
-            return ResponseEntity.notFound().build();
-        }
         List<Rent> rents = rentService.getRentsByTenant(tenantId);
         return ResponseEntity.ok(rents);
     }
@@ -4,20 +4,24 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import payup.payup.dto.*;
 import payup.payup.exception.ResourceNotFoundException;
+import payup.payup.exception.RoomOccupiedException;
 import payup.payup.mapper.RentMapper;
 import payup.payup.mapper.TenantMapper;
 import payup.payup.model.*;
 import payup.payup.service.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -42,7 +46,8 @@ public class TenantController {
     private final RentService rentService;
     private final NotificationService notificationService;
     private final RentMapper rentMapper;
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final TenantQueryService tenantQueryService;
+    private final TenantImportService tenantImportService;
 
     /**
      * Constructs a TenantController with required service and mapper dependencies.
@@ -55,6 +60,8 @@ public class TenantController {
      * @param rentService The service for rent operations.
      * @param notificationService The service for notification operations.
      * @param rentMapper The mapper for converting between Rent entities and DTOs.
+     * @param tenantQueryService The read model for paged tenant listings.
+     * @param tenantImportService The service for bulk tenant onboarding.
      */
     @Autowired
     public TenantController(TenantService tenantService,
@@ -64,8 +71,9 @@ public class TenantController {
                             TenantMapper tenantMapper,
                             RentService rentService,
                             NotificationService notificationService,
-                            PasswordEncoder passwordEncoder,
-                            RentMapper rentMapper) {
+                            RentMapper rentMapper,
+                            TenantQueryService tenantQueryService,
+                            TenantImportService tenantImportService) {
         this.tenantService = tenantService;
         this.userService = userService;
         this.propertyService = propertyService;
@@ -74,11 +82,15 @@ public class TenantController {
         this.rentService = rentService;
         this.notificationService = notificationService;
         this.rentMapper = rentMapper;
-        this.passwordEncoder = (BCryptPasswordEncoder) passwordEncoder;
+        this.tenantQueryService = tenantQueryService;
+        this.tenantImportService = tenantImportService;
     }
 
     /**
      * Creates a new tenant in the system. Requires ADMIN role.
+     * The room is claimed atomically before anything else is written; if another request assigned it first
+     * the response is 409 Conflict and the client can retry with another room. The claim is released again
+     * if creating the tenant fails afterwards.
      *
      * @param tenantCreateDto The DTO containing tenant creation data.
      * @return ResponseEntity with the created TenantDto or an error response.
@@ -88,7 +100,14 @@ public class TenantController {
     public ResponseEntity<?> createTenant(@Valid @RequestBody TenantCreateDto tenantCreateDto) {
         logger.info("Creating new tenant: {}", tenantCreateDto.getEmail());
         logger.debug("Request DTO: {}", tenantCreateDto);
+        Room room = null;
         try {
+            Property property = propertyService.getPropertyById(tenantCreateDto.getPropertyId());
+            if (property == null) {
+                throw new ResourceNotFoundException("Property not found with ID: " + tenantCreateDto.getPropertyId());
+            }
+            room = roomService.claimRoom(tenantCreateDto.getRoomId(), property.getId());
+
             User user;
             if (tenantCreateDto.getUserId() != null) {
                 user = userService.findById(tenantCreateDto.getUserId())
@@ -109,21 +128,11 @@ public class TenantController {
             Tenant tenant = tenantMapper.toEntity(tenantCreateDto);
             logger.debug("Tenant after mapping: {}", tenant);
 
-            Property property = propertyService.getPropertyById(tenantCreateDto.getPropertyId());
-            if (property == null) {
-                throw new ResourceNotFoundException("Property not found with ID: " + tenantCreateDto.getPropertyId());
-            }
             tenant.setProperty(property);
             logger.debug("Tenant after setting property: {}", tenant);
 
-            Room room = roomService.getRoomById(tenantCreateDto.getRoomId());
-            if (room == null) {
-                throw new ResourceNotFoundException("Room not found with ID: " + tenantCreateDto.getRoomId());
-            }
-            room.setOccupied(true);
-            roomService.updateRoom(room);
-            tenant.setRoomId(room.getId().intValue()); // Set roomId instead of Room
-            logger.debug("Tenant after setting roomId: {}", tenant);
+            tenant.setRoom(room);
+            logger.debug("Tenant after setting room: {}", tenant);
 
             tenant.setUser(user);
             logger.debug("Tenant before save: {}", tenant);
@@ -141,13 +150,82 @@ public class TenantController {
 
             logger.info("Tenant created successfully: id={}", createdTenant.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+        } catch (RoomOccupiedException e) {
+            logger.warn("Room already occupied: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponseDto("Tenant creation failed", e.getMessage()));
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            releaseClaim(room);
+            logger.warn("Invalid tenant creation request: {}", e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                    .body(new ErrorResponseDto("Tenant creation failed", e.getMessage()));
         } catch (Exception e) {
+            releaseClaim(room);
             logger.error("Unexpected error creating tenant: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ErrorResponseDto("Tenant creation failed", "An unexpected error occurred"));
         }
     }
 
+    /**
+     * Creates many tenants from a JSON array in one request. Requires ADMIN role.
+     * Every row is validated on its own; valid rows are imported together and invalid ones are reported.
+     *
+     * @param rows The tenants to create, in the same shape as a single create request.
+     * @return ResponseEntity with a per-row TenantImportReportDto or an error response.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importTenants(@RequestBody List<TenantCreateDto> rows) {
+        logger.info("Bulk tenant import of {} rows", rows != null ? rows.size() : 0);
+        return runImport(rows);
+    }
+
+    /**
+     * Creates many tenants from a CSV upload with a header line. Requires ADMIN role.
+     *
+     * @param file The CSV file (columns name, email, phone, balance, floor, propertyId, roomId, userId, password).
+     * @return ResponseEntity with a per-row TenantImportReportDto or an error response.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importTenantsCsv(@RequestParam("file") MultipartFile file) {
+        logger.info("Bulk tenant import from CSV: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try {
+            return runImport(tenantImportService.parseCsv(file.getInputStream()));
+        } catch (IOException e) {
+            logger.error("Could not read tenant CSV: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Tenant import failed", "Could not read the uploaded file"));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid tenant CSV: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Tenant import failed", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> runImport(List<TenantCreateDto> rows) {
+        try {
+            return ResponseEntity.ok(tenantImportService.importTenants(rows));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Tenant import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Tenant import failed", e.getMessage()));
+        } catch (RoomOccupiedException e) {
+            logger.warn("Tenant import conflicted: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponseDto("Tenant import failed", e.getMessage()));
+        }
+    }
+
+    private void releaseClaim(Room room) {
+        if (room == null) {
+            return;
+        }
+        try {
+            roomService.releaseRoom(room.getId());
+        } catch (Exception e) {
+            logger.error("Failed to release room {} after tenant creation failed: {}", room.getId(), e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a tenant by their ID. Open to authenticated users with appropriate permissions.
      *
@@ -372,26 +450,47 @@ public class TenantController {
     }
 
     /**
-     * Retrieves all tenants in the system. Requires ADMIN role.
+     * Retrieves tenants one page at a time. Requires ADMIN role.
      *
-     * @return ResponseEntity with a list of TenantDtos.
+     * @param view     "summary" for flat TenantSummaryDtos, anything else for full TenantDtos.
+     * @param pageable Page number, size and sort.
+     * @return ResponseEntity with a page of tenants.
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<TenantDto>> getAllTenants() {
-        logger.info("Retrieving all tenants");
+    public ResponseEntity<?> getAllTenants(@RequestParam(defaultValue = "full") String view, Pageable pageable) {
+        logger.info("Retrieving tenants: view={}, {}", view, pageable);
         try {
-            List<Tenant> tenants = tenantService.findAll();
-            List<TenantDto> tenantDtos = tenants.stream()
-                    .map(tenantMapper::toDto)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(tenantDtos);
+            if ("summary".equalsIgnoreCase(view)) {
+                return ResponseEntity.ok(tenantQueryService.getSummaries(null, pageable));
+            }
+            return ResponseEntity.ok(tenantQueryService.getDetails(pageable));
         } catch (Exception e) {
             logger.error("Error retrieving all tenants: {}", e.getMessage());
             throw new RuntimeException("Failed to retrieve tenants", e); // Handled by global exception handler if present
         }
     }
 
+    /**
+     * Searches tenants by name, email or phone, best matches first. Requires ADMIN role.
+     *
+     * @param query    The search term.
+     * @param pageable Page number and size.
+     * @return ResponseEntity with a page of TenantDtos or an error response.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> searchTenants(@RequestParam String query, Pageable pageable) {
+        logger.info("Searching tenants with query: {}", query);
+        try {
+            Page<Tenant> tenants = tenantService.searchTenants(query, pageable);
+            return ResponseEntity.ok(tenants.map(tenantMapper::toDto));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid tenant search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponseDto("Invalid search", e.getMessage()));
+        }
+    }
+
     /**
      * Data transfer object for error responses.
      */
@@ -0,0 +1,47 @@
+package payup.payup.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the claims of a verified JWT. Produced once per token by {@link JwtTokenVerifier}
+ * so callers never need to re-parse the token to read the subject, roles or expiry.
+ *
+ * @param subject      The username (email) the token was issued to.
+ * @param roles        The authorities granted at issue time.
+ * @param jti          The unique token ID.
+ * @param issuedAt     When the token was issued.
+ * @param expiresAt    When the token expires.
+ * @param userId       The ID of the user, or null for tokens issued before it was embedded.
+ * @param tokenVersion The user's token version at issue time, or null for older tokens.
+ * @param tokenType    "access" or "refresh"; null for tokens issued before refresh tokens existed.
+ */
+public record JwtClaims(String subject, List<String> roles, String jti, Instant issuedAt, Instant expiresAt,
+                        Long userId, Integer tokenVersion, String tokenType) {
+
+    public JwtClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * @param now The instant to compare against.
+     * @return true if the token is no longer valid at the given instant.
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+
+    /**
+     * @return true if the token carries enough identity to be trusted without loading the user.
+     */
+    public boolean isSelfContained() {
+        return subject != null && userId != null && tokenVersion != null;
+    }
+
+    /**
+     * @return true if this is a refresh token, which must never authenticate an API request.
+     */
+    public boolean isRefreshToken() {
+        return JwtTokenUtil.TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+}
@@ -0,0 +1,133 @@
+package payup.payup.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies JWTs with a single parse per token. The signing key and parser are built once, and verified
+ * tokens are cached by their SHA-256 hash until they expire (or a configurable maximum TTL passes),
+ * so repeated requests with the same token skip signature checking and JSON parsing entirely.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenVerifier.class);
+    private static final String ALLOWED_ALGORITHM = SignatureAlgorithm.HS512.getValue();
+
+    private final JwtParser parser;
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtTokenVerifier(JwtTokenUtil jwtTokenUtil,
+                            @Value("${jwt.cache.max-size:10000}") long maxSize,
+                            @Value("${jwt.cache.max-ttl-ms:300000}") long maxTtlMs) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(jwtTokenUtil.getSigningKey())
+                .build();
+        long maxTtlNanos = Duration.ofMillis(maxTtlMs).toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, JwtClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+                        long untilExpiry = Duration.between(Instant.now(), claims.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies a token's signature, algorithm and expiry, returning its claims.
+     *
+     * @param token The compact JWT string.
+     * @return The verified claims.
+     * @throws JwtException             if the token is expired, malformed, badly signed or uses another algorithm.
+     * @throws IllegalArgumentException if the token is null or empty.
+     */
+    public JwtClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token must not be empty");
+        }
+        String cacheKey = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpiredAt(Instant.now())) {
+            return cached;
+        }
+
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        if (!ALLOWED_ALGORITHM.equals(jws.getHeader().getAlgorithm())) {
+            throw new UnsupportedJwtException("Invalid signing algorithm");
+        }
+        JwtClaims claims = toClaims(jws.getBody());
+        if (claims.expiresAt() != null) {
+            verifiedTokens.put(cacheKey, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Drops a token from the verified cache, e.g. once it has been revoked.
+     *
+     * @param token The compact JWT string.
+     */
+    public void evict(String token) {
+        verifiedTokens.invalidate(hash(token));
+    }
+
+    private JwtClaims toClaims(Claims body) {
+        List<?> roles = body.get("roles", List.class);
+        Number userId = body.get(JwtTokenUtil.CLAIM_USER_ID, Number.class);
+        Number tokenVersion = body.get(JwtTokenUtil.CLAIM_TOKEN_VERSION, Number.class);
+        return new JwtClaims(
+                body.getSubject(),
+                roles != null ? roles.stream().map(Object::toString).collect(Collectors.toList()) : null,
+                body.getId(),
+                body.getIssuedAt() != null ? body.getIssuedAt().toInstant() : null,
+                body.getExpiration() != null ? body.getExpiration().toInstant() : null,
+                userId != null ? userId.longValue() : null,
+                tokenVersion != null ? tokenVersion.intValue() : null,
+                body.get(JwtTokenUtil.CLAIM_TOKEN_TYPE, String.class));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every JVM
+            logger.error("SHA-256 unavailable: {}", e.getMessage());
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package payup.payup.jwt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import payup.payup.event.TokenRevokedEvent;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Replicates token revocations between instances over Redis pub/sub. Only active when
+ * jwt.revocation.redis.enabled is true; otherwise each instance keeps its own revocation list.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation.redis.enabled", havingValue = "true")
+public class RedisRevocationRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRevocationRelay.class);
+    private static final String CHANNEL = "payup:jwt:revoked";
+
+    private final StringRedisTemplate redisTemplate;
+    private final TokenRevocationService tokenRevocationService;
+    private final RedisMessageListenerContainer container;
+
+    public RedisRevocationRelay(StringRedisTemplate redisTemplate,
+                                RedisConnectionFactory connectionFactory,
+                                TokenRevocationService tokenRevocationService) {
+        this.redisTemplate = redisTemplate;
+        this.tokenRevocationService = tokenRevocationService;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+    }
+
+    @PostConstruct
+    public void start() {
+        container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        logger.info("Token revocations replicated over Redis channel {}", CHANNEL);
+    }
+
+    /**
+     * Publishes a local revocation to the other instances.
+     *
+     * @param event The revocation to relay.
+     */
+    @EventListener
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.getJti() + ":" + event.getExpiresAtMillis());
+        } catch (Exception e) {
+            // Local revocation already applied; other instances catch up when the token expires
+            logger.error("Failed to relay revocation of jti={}: {}", event.getJti(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.stop();
+        container.destroy();
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            logger.warn("Ignoring malformed revocation message: {}", body);
+            return;
+        }
+        try {
+            tokenRevocationService.applyRemote(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package payup.payup.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import payup.payup.event.TokenRevokedEvent;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory revocation list of token IDs (jti). A Bloom filter answers the common "not revoked" case
+ * without touching the exact set; only possible hits are confirmed against the exact map of revoked IDs,
+ * which holds each entry until the token it revokes would have expired anyway.
+ * Local revocations are published as {@link TokenRevokedEvent} so they can be relayed to other instances.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile JtiBloomFilter filter;
+
+    public TokenRevocationService(ApplicationEventPublisher eventPublisher,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.eventPublisher = eventPublisher;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new JtiBloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a token and announces it to other instances.
+     *
+     * @param jti       The token ID.
+     * @param expiresAt When the token expires; revocation is kept until then.
+     * @return true if this call revoked the token, false if it was already revoked, has expired or has no ID.
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return false;
+        }
+        long expiresAtMillis = expiresAt.toEpochMilli();
+        if (!add(jti, expiresAtMillis)) {
+            return false;
+        }
+        eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiresAtMillis));
+        logger.debug("Revoked token jti={}", jti);
+        return true;
+    }
+
+    /**
+     * Applies a revocation received from another instance without re-publishing it.
+     *
+     * @param jti             The token ID.
+     * @param expiresAtMillis When the token expires, in epoch milliseconds.
+     */
+    public void applyRemote(String jti, long expiresAtMillis) {
+        if (jti != null) {
+            add(jti, expiresAtMillis);
+        }
+    }
+
+    /**
+     * @param jti The token ID, may be null for tokens issued without one.
+     * @return true if the token has been revoked.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    /**
+     * Drops revocations of tokens that have expired and rebuilds the Bloom filter from what remains,
+     * so it does not saturate over time.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public void prune() {
+        long now = System.currentTimeMillis();
+        synchronized (writeLock) {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            if (revoked.size() == before) {
+                return;
+            }
+            JtiBloomFilter rebuilt = new JtiBloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+            logger.info("Pruned {} expired revocations, {} remain", before - revoked.size(), revoked.size());
+        }
+    }
+
+    /**
+     * @return The number of revocations currently held.
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private boolean add(String jti, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return false;
+        }
+        // Revocations are rare; the lock only keeps them from racing a filter rebuild
+        synchronized (writeLock) {
+            if (revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+                return false;
+            }
+            filter.add(jti);
+            return true;
+        }
+    }
+}
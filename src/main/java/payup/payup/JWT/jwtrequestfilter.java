@@ -1,26 +1,24 @@
 package payup.payup.jwt;
 
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
-import io.jsonwebtoken.security.SignatureException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import payup.payup.service.TokenVersionService;
 import payup.payup.service.UserService;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.lang.NonNull;
@@ -31,56 +29,83 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
     @Autowired
     private UserService userService;
 
-    private static final List<String> ALLOWED_ALGORITHMS = Arrays.asList("HS512");
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.trusted-claims.enabled:true}")
+    private boolean trustedClaimsEnabled;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwtToken = null;
+        JwtClaims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwtToken = authHeader.substring(7);
+            String jwtToken = authHeader.substring(7);
             try {
-                String alg = Jwts.parserBuilder()
-                        .setSigningKey(jwtTokenUtil.getSigningKey())
-                        .build()
-                        .parseClaimsJws(jwtToken)
-                        .getHeader()
-                        .getAlgorithm();
-
-                if (!ALLOWED_ALGORITHMS.contains(alg)) {
-                    throw new IllegalArgumentException("Invalid signing algorithm");
+                // Single parse: signature, algorithm and expiry are checked once and the claims reused below
+                claims = jwtTokenVerifier.verify(jwtToken);
+                if (claims.isRefreshToken()) {
+                    logger.warn("Refresh token presented as access token");
+                    claims = null;
+                } else if (tokenRevocationService.isRevoked(claims.jti())) {
+                    logger.warn("Revoked JWT presented for " + claims.subject());
+                    claims = null;
                 }
-
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException | ExpiredJwtException | MalformedJwtException |
-                     UnsupportedJwtException | SignatureException e) {
+            } catch (IllegalArgumentException | JwtException e) {
                 logger.warn("JWT validation failed: " + e.getMessage());
             }
         } else {
             logger.debug("JWT Token does not begin with Bearer String");
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userService.loadUserByUsername(username);
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
-                // Extract roles from token instead of relying solely on UserDetails
-                List<String> roles = jwtTokenUtil.getRolesFromToken(jwtToken);
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+        if (claims != null && claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = claims.subject();
+            // Extract roles from token instead of relying solely on UserDetails
+            List<SimpleGrantedAuthority> authorities = claims.roles().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList());
+
+            UserDetails userDetails = null;
+            if (trustedClaimsEnabled && claims.isSelfContained()) {
+                // Trusted claims: the signature vouches for identity and roles, the cached token
+                // version catches deleted users and changed credentials without a user query
+                if (tokenVersionService.isCurrent(claims.userId(), claims.tokenVersion())) {
+                    userDetails = new org.springframework.security.core.userdetails.User(username, "", authorities);
+                } else {
+                    logger.warn("JWT for " + username + " has been superseded or the user no longer exists");
+                }
+            } else {
+                try {
+                    UserDetails loaded = this.userService.loadUserByUsername(username);
+                    if (jwtTokenUtil.validateToken(claims, loaded)) {
+                        userDetails = loaded;
+                    }
+                } catch (UsernameNotFoundException e) {
+                    logger.warn("JWT subject no longer exists: " + username);
+                }
+            }
+
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, authorities
                 );
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                logger.info("Authenticated user: " + username + " with roles: " + roles);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Authenticated user: " + username + " with roles: " + claims.roles());
+                }
             }
         }
 
@@ -2,12 +2,15 @@ package payup.payup.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.logging.Logger;
@@ -17,33 +20,101 @@ import java.util.stream.Collectors;
 public class JwtTokenUtil {
     private static final Logger LOGGER = Logger.getLogger(JwtTokenUtil.class.getName());
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    private static final int MIN_SECRET_BYTES = 64; // Tokens are signed with HS512, which needs a key of at least 512 bits
+
     @Value("${jwt.secret}")
     private String secret; // Changed from static to instance field
 
     @Value("${jwt.expiration}")
     private long jwtExpiration; // Changed from static to instance field
 
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Builds the HMAC key and parser once instead of on every sign/parse
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("jwt.secret must be at least " + MIN_SECRET_BYTES + " bytes (512 bits, for HS512) "
+                    + "but is " + keyBytes.length + "; set JWT_SECRET to a longer random value");
+        }
+        signingKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     // Instance method to get the signing key
     Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     public String generateToken(UserDetails userDetails) {
+        return generateToken(userDetails, null, null);
+    }
+
+    /**
+     * Generates a token that also embeds the user ID and token version, so requests can be
+     * authenticated from the claims alone.
+     *
+     * @param userDetails  The authenticated user.
+     * @param userId       The ID of the user, or null to omit.
+     * @param tokenVersion The user's current token version, or null to omit.
+     * @return The signed token.
+     */
+    public String generateToken(UserDetails userDetails, Long userId, Integer tokenVersion) {
+        return buildToken(userDetails, userId, tokenVersion, TOKEN_TYPE_ACCESS, jwtExpiration);
+    }
+
+    /**
+     * Generates a long-lived refresh token, only accepted by the refresh endpoint.
+     *
+     * @param userDetails  The authenticated user.
+     * @param userId       The ID of the user.
+     * @param tokenVersion The user's current token version.
+     * @return The signed refresh token.
+     */
+    public String generateRefreshToken(UserDetails userDetails, Long userId, Integer tokenVersion) {
+        return buildToken(userDetails, userId, tokenVersion, TOKEN_TYPE_REFRESH, refreshExpiration);
+    }
+
+    public long getAccessTokenExpiration() {
+        return jwtExpiration;
+    }
+
+    public long getRefreshTokenExpiration() {
+        return refreshExpiration;
+    }
+
+    private String buildToken(UserDetails userDetails, Long userId, Integer tokenVersion, String tokenType, long ttl) {
         try {
             Map<String, Object> claims = new HashMap<>();
+            if (userId != null && tokenVersion != null) {
+                claims.put(CLAIM_USER_ID, userId);
+                claims.put(CLAIM_TOKEN_VERSION, tokenVersion);
+            }
+            claims.put(CLAIM_TOKEN_TYPE, tokenType);
             claims.put("jti", UUID.randomUUID().toString());
             // Add roles to the token claims
             claims.put("roles", userDetails.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList()));
 
-            LOGGER.info("Generating token for user: " + userDetails.getUsername() + " with roles: " + claims.get("roles"));
+            LOGGER.info("Generating " + tokenType + " token for user: " + userDetails.getUsername() + " with roles: " + claims.get("roles"));
 
             String token = Jwts.builder()
                     .setClaims(claims)
                     .setSubject(userDetails.getUsername())
                     .setIssuedAt(new Date(System.currentTimeMillis()))
-                    .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                    .setExpiration(new Date(System.currentTimeMillis() + ttl))
                     .signWith(getSigningKey(), SignatureAlgorithm.HS512)
                     .compact();
 
@@ -76,11 +147,26 @@ public class JwtTokenUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Checks already-verified claims against the loaded user without re-parsing the token.
+     *
+     * @param claims      Claims returned by {@link JwtTokenVerifier#verify(String)}.
+     * @param userDetails The user the token claims to belong to.
+     * @return true if the subject matches, the token is unexpired and it carries all of the user's roles.
+     */
+    public boolean validateToken(JwtClaims claims, UserDetails userDetails) {
+        boolean rolesMatch = claims.roles().containsAll(
+                userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList())
+        );
+        return claims.subject() != null
+                && claims.subject().equals(userDetails.getUsername())
+                && !claims.isExpiredAt(Instant.now())
+                && rolesMatch;
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
  * Entity representing a bill in the system.
  */
 @Entity
-@Table(name = "bill")
+@Table(name = "bill", indexes = @Index(name = "idx_bill_status_due", columnList = "status, dueDate"))
 public class Bill {
 
     public enum BillStatus { PENDING, PAID, OVERDUE }
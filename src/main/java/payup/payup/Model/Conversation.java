@@ -0,0 +1,59 @@
+package payup.payup.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message thread between two users. There is exactly one row per unordered user pair,
+ * stored with the lower user ID first, and it carries a summary of the latest message so
+ * inbox listings never have to scan message history.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "conversations",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_low_id", "user_high_id"}),
+        indexes = {
+                @Index(name = "idx_conversations_low_last", columnList = "user_low_id, last_message_at"),
+                @Index(name = "idx_conversations_high_last", columnList = "user_high_id, last_message_at")
+        })
+public class Conversation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_low_id", nullable = false)
+    private User userLow;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_high_id", nullable = false)
+    private User userHigh;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_sender_id")
+    private Long lastSenderId;
+
+    @Column(name = "last_message_preview")
+    private String lastMessagePreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "message_count", nullable = false)
+    private long messageCount;
+
+    public Conversation() {
+    }
+
+    public Conversation(User userLow, User userHigh) {
+        this.userLow = userLow;
+        this.userHigh = userHigh;
+    }
+}
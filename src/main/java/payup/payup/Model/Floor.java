@@ -15,8 +15,9 @@ import java.util.List;
 public class Floor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Unique identifier for the floor
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "floors_seq")
+    @SequenceGenerator(name = "floors_seq", sequenceName = "floors_seq", allocationSize = 50)
+    private Long id; // Unique identifier for the floor; pooled sequence so floors can be batch-inserted
 
     @Column(nullable = false)
     @NotNull(message = "Floor name cannot be null")
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
  * mapped to the "notifications" table in the database.
  */
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_tenant_created", columnList = "tenant_id, created_at, id"),
+        @Index(name = "idx_notifications_tenant_status_created", columnList = "tenant_id, status, created_at, id"),
+        @Index(name = "idx_notifications_tenant_type_created", columnList = "tenant_id, type, created_at, id")
+})
 public class Notification {
     
     /**
@@ -30,6 +30,11 @@ public class Property {
     private String location;
     private int units;
 
+    // Highest room number handed out in this property, bumped atomically by PropertyRepository.reserveRoomNumbers.
+    // Null on properties created before the counter existed.
+    @Column(name = "last_room_number")
+    private Integer lastRoomNumber;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     @JsonBackReference(value = "user-properties") // Prevents infinite loop from User to Property
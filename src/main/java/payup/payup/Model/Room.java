@@ -7,8 +7,10 @@ import lombok.Data;
 @Entity
 @Table(name = "rooms", uniqueConstraints = @UniqueConstraint(columnNames = {"property_id", "roomNumber"}))
 public class Room {
+    // Pooled sequence IDs, so rooms generated for a new property can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "rooms_seq")
+    @SequenceGenerator(name = "rooms_seq", sequenceName = "rooms_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
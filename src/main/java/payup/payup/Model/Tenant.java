@@ -8,7 +8,7 @@ import java.util.List;
  * Entity representing a tenant in the system.
  */
 @Entity
-@Table(name = "tenant")
+@Table(name = "tenant", indexes = @Index(name = "idx_tenant_room", columnList = "roomId"))
 public class Tenant {
 
     @Id
@@ -25,7 +25,9 @@ public class Tenant {
 
     private String floor;
 
-    private Integer roomId;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "roomId") // The column the former Integer roomId field mapped to
+    private Room room;
 
     private Double balance;
 
@@ -45,8 +47,9 @@ public class Tenant {
     public void setProperty(Property property) { this.property = property; }
     public String getFloor() { return floor; }
     public void setFloor(String floor) { this.floor = floor; }
-    public Integer getRoomId() { return roomId; }
-    public void setRoomId(Integer roomId) { this.roomId = roomId; }
+    public Room getRoom() { return room; }
+    public void setRoom(Room room) { this.room = room; }
+    public Long getRoomId() { return room != null ? room.getId() : null; } // Reading the ID does not initialize the proxy
     public Double getBalance() { return balance; }
     public void setBalance(Double balance) { this.balance = balance; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -63,7 +66,6 @@ public class Tenant {
     public void setEmail(String email) { if (user != null) user.setEmail(email); }
     public String getPhone() { return user != null ? user.getPhone() : null; }
     public void setPhone(String phone) { if (user != null) user.setPhone(phone); }
-    public Room getRoom() { return null; } // Adjust if Room relationship exists
 
     // Access bills via User
     public List<Bill> getBills() { return user != null ? user.getBills() : null; }
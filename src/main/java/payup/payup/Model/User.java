@@ -60,6 +60,10 @@ public class User {
 
     private String firstName;
 
+    // Bumped whenever previously issued tokens must stop working (delete, email or password change)
+    @Column(name = "token_version")
+    private Integer tokenVersion = 0;
+
     public User() {
         this.properties = new ArrayList<>();
         this.bills = new ArrayList<>();
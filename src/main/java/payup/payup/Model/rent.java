@@ -7,9 +7,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
@@ -18,7 +21,9 @@ import java.time.LocalDate;
  * mapped to the "rents" table in the database.
  */
 @Entity
-@Table(name = "rents")
+@Table(name = "rents", uniqueConstraints = @UniqueConstraint(name = "uk_rent_tenant_period",
+        columnNames = {"tenant_id", "billing_period"}),
+        indexes = @Index(name = "idx_rent_overdue_due", columnList = "is_paid, is_overdue, due_date"))
 public class Rent {
     
     /**
@@ -46,6 +51,14 @@ public class Rent {
     @Column(name = "is_paid", nullable = false)
     private boolean paid;
 
+    /**
+     * Set by the overdue sweeper once an unpaid rent is past its due date, so overdue rents can be
+     * queried in SQL. Cleared when the rent is paid.
+     */
+    @Column(name = "is_overdue", nullable = false)
+    @ColumnDefault("false")
+    private boolean overdue;
+
     /**
      * The tenant associated with this rent payment. 
      * This establishes a many-to-one relationship with the Tenant entity.
@@ -60,6 +73,13 @@ public class Rent {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    /**
+     * The first day of the month this rent was generated for by the rent roll, or null for rents
+     * entered by hand. At most one rent per tenant and billing period.
+     */
+    @Column(name = "billing_period")
+    private LocalDate billingPeriod;
+
     // Constructors
 
     /**
@@ -132,6 +152,14 @@ public class Rent {
         this.notes = notes;
     }
 
+    public LocalDate getBillingPeriod() {
+        return billingPeriod;
+    }
+
+    public void setBillingPeriod(LocalDate billingPeriod) {
+        this.billingPeriod = billingPeriod;
+    }
+
     // Custom methods
 
     /**
@@ -139,6 +167,7 @@ public class Rent {
      */
     public void markAsPaid() {
         this.paid = true;
+        this.overdue = false;
     }
 
     /**
@@ -147,7 +176,11 @@ public class Rent {
      * @return true if the rent is overdue, false otherwise.
      */
     public boolean isOverdue() {
-        return !this.paid && LocalDate.now().isAfter(this.dueDate);
+        return !this.paid && (this.overdue || LocalDate.now().isAfter(this.dueDate));
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
     }
 
     // Override toString for better logging and debugging
@@ -0,0 +1,52 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for API admission control, populated from the "admission" application properties.
+ * Lane limits may also be changed at runtime through the admission actuator endpoint.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "admission")
+@Data
+public class AdmissionControlConfig {
+    private boolean enabled = true;
+    private int maxConcurrent = 200;             // Requests in flight across all lanes
+    private List<String> unmeteredPaths = new ArrayList<>(List.of("/api/payments/mpesa/callback"));
+    // Long-lived streams: admitted like any request, but their slot is returned once the stream is open
+    private List<String> streamingPaths = new ArrayList<>(List.of("/api/notifications/stream"));
+    private Map<String, Double> roleMultipliers = new HashMap<>(Map.of(
+            "ADMIN", 4.0, "LANDLORD", 2.0, "TENANT", 1.0, "ANONYMOUS", 0.5));
+    private Lane payments = new Lane(List.of("/api/payments/**"), 20, 40, 1.0);
+    private Lane standard = new Lane(List.of(), 10, 30, 0.8);
+    private Lane bulk = new Lane(List.of("/api/reports/**", "/api/admin/users/**", "/api/admin/tenants", "/api/tenants/bulk", "/api/admin/rent-roll"), 1, 5, 0.3);
+
+    /**
+     * Limits for one priority lane. A lane only admits requests while total in-flight requests are below
+     * its share of maxConcurrent, so lower lanes are shed first as load rises.
+     */
+    @Data
+    public static class Lane {
+        private List<String> paths = new ArrayList<>();  // Ant patterns routed to this lane
+        private volatile double ratePerSecond;           // Token refill per client, before role multiplier
+        private volatile int burst;                      // Bucket capacity per client, before role multiplier
+        private volatile double concurrencyShare;        // Fraction of maxConcurrent this lane may fill
+
+        public Lane() {
+        }
+
+        public Lane(List<String> paths, double ratePerSecond, int burst, double concurrencyShare) {
+            this.paths = new ArrayList<>(paths);
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.concurrencyShare = concurrencyShare;
+        }
+    }
+}
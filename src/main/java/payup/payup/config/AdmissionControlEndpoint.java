@@ -0,0 +1,54 @@
+package payup.payup.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import payup.payup.service.AdmissionControlService;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint (/actuator/admission) showing admission limits and in-flight requests per lane,
+ * and changing a lane's limits at runtime with POST /actuator/admission/{lane}.
+ */
+@Component
+@Endpoint(id = "admission")
+public class AdmissionControlEndpoint {
+
+    private final AdmissionControlService admissionControlService;
+
+    public AdmissionControlEndpoint(AdmissionControlService admissionControlService) {
+        this.admissionControlService = admissionControlService;
+    }
+
+    /**
+     * @return Current limits and in-flight counts.
+     */
+    @ReadOperation
+    public Map<String, Object> admission() {
+        return admissionControlService.snapshot();
+    }
+
+    /**
+     * Updates one lane's limits; omitted values are left unchanged.
+     *
+     * @param lane             payments, standard or bulk.
+     * @param ratePerSecond    Token refill rate per client.
+     * @param burst            Bucket capacity per client.
+     * @param concurrencyShare Fraction of the concurrency budget the lane may fill.
+     * @return The limits after the update.
+     */
+    @WriteOperation
+    public Map<String, Object> updateLane(@Selector String lane,
+                                          @Nullable Double ratePerSecond,
+                                          @Nullable Integer burst,
+                                          @Nullable Double concurrencyShare) {
+        admissionControlService.updateLane(AdmissionControlService.Lane.valueOf(lane.toUpperCase(Locale.ROOT)),
+                ratePerSecond, burst, concurrencyShare);
+        return admissionControlService.snapshot();
+    }
+}
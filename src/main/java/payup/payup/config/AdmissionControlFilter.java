@@ -0,0 +1,140 @@
+package payup.payup.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import payup.payup.dto.ErrorResponseDto;
+import payup.payup.service.AdmissionControlService;
+
+import java.io.IOException;
+
+/**
+ * Admission control for the API. Runs in the security filter chain right after JWT authentication,
+ * so limits can be keyed by user and role; anonymous callers are keyed by IP.
+ * Rejected requests get 429 with a Retry-After header. Async requests (e.g. deferred logins) hold their slot
+ * until the async work completes, not just until the request thread returns. Streaming paths (SSE) are the
+ * exception: they could stay open for half an hour and starve their lane, so their slot is returned as soon
+ * as the stream has been opened; the streams themselves are capped per tenant where they are served.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final AdmissionControlService admissionControlService;
+    private final AdmissionControlConfig config;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionControlFilter(AdmissionControlService admissionControlService,
+                                  AdmissionControlConfig config,
+                                  ObjectMapper objectMapper) {
+        this.admissionControlService = admissionControlService;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !config.isEnabled()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        String path = path(request);
+        AdmissionControlService.Lane lane = admissionControlService.classify(path);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String clientKey;
+        String role;
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            clientKey = authentication.getName();
+            role = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith("ROLE_"))
+                    .map(authority -> authority.substring(5))
+                    .findFirst()
+                    .orElse("ANONYMOUS");
+        } else {
+            clientKey = "ip:" + request.getRemoteAddr();
+            role = "ANONYMOUS";
+        }
+
+        AdmissionControlService.Decision decision = admissionControlService.tryAcquire(lane, path, clientKey, role);
+        if (!decision.admitted()) {
+            logger.debug("Rejected {} {} for {} in lane {}: {}", request.getMethod(), path, clientKey, lane, decision.reason());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponseDto("Too many requests",
+                    "shed".equals(decision.reason()) ? "Server is busy, please retry" : "Rate limit exceeded, please retry"));
+            return;
+        }
+        boolean releaseLater = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted() && !admissionControlService.isStreaming(path)) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(lane));
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) {
+                admissionControlService.release(lane);
+            }
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Releases an async request's slot once the container completes it, after a timeout or error too.
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final AdmissionControlService.Lane lane;
+
+        private ReleaseOnComplete(AdmissionControlService.Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionControlService.release(lane);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async restarted from an async dispatch; stay registered so the slot is still released
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
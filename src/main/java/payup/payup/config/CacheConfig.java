@@ -0,0 +1,55 @@
+package payup.payup.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Enables Spring caching and bounds the user caches. Locally (spring.cache.type=caffeine) each cache gets
+ * its own size and TTL; with Redis (production) the same TTLs are applied per cache so eviction is shared
+ * by every instance. Whichever cache type is active, only the matching customizer is applied.
+ */
+@Configuration
+@EnableCaching
+@ConfigurationProperties(prefix = "cache.users")
+@Data
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String USER_PAGES = "userPages";
+
+    private long maxSize = 10000; // Views per cache (by ID and by email)
+    private Duration ttl = Duration.ofMinutes(10); // Upper bound on staleness for writes that bypass UserService
+    private long pageMaxSize = 500; // Cached admin listing/search pages
+    private Duration pageTtl = Duration.ofSeconds(60);
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userCaffeineCacheCustomizer() {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+                    .maximumSize(maxSize).expireAfterWrite(ttl).build());
+            cacheManager.registerCustomCache(USERS_BY_EMAIL, Caffeine.newBuilder()
+                    .maximumSize(maxSize).expireAfterWrite(ttl).build());
+            cacheManager.registerCustomCache(USER_PAGES, Caffeine.newBuilder()
+                    .maximumSize(pageMaxSize).expireAfterWrite(pageTtl).build());
+        };
+    }
+
+    @Bean
+    public RedisCacheManagerBuilderCustomizer userRedisCacheCustomizer() {
+        return builder -> builder
+                .withCacheConfiguration(USERS, RedisCacheConfiguration.defaultCacheConfig().entryTtl(ttl))
+                .withCacheConfiguration(USERS_BY_EMAIL, RedisCacheConfiguration.defaultCacheConfig().entryTtl(ttl))
+                .withCacheConfiguration(USER_PAGES, RedisCacheConfiguration.defaultCacheConfig().entryTtl(pageTtl));
+    }
+}
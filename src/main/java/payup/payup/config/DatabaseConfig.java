@@ -1,5 +1,6 @@
 package payup.payup.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,6 +18,13 @@ import java.util.Properties;
 @EnableJpaRepositories(basePackages = "payup.repository")
 public class DatabaseConfig {
 
+    // This class builds its own EntityManagerFactory, so spring.jpa.properties.* must be passed on explicitly
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}")
+    private String defaultBatchFetchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private String jdbcBatchSize;
+
     /**
      * Configures a data source for development environment using H2.
      * 
@@ -77,6 +85,11 @@ public class DatabaseConfig {
         properties.setProperty("hibernate.hbm2ddl.auto", "update"); // Change to 'update' for development
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect"); // or H2Dialect
         properties.setProperty("hibernate.encrypt.enabled", "true");
+        properties.setProperty("hibernate.default_batch_fetch_size", defaultBatchFetchSize);
+        // Group inserts/updates of sequence-keyed entities (floors, rooms) into JDBC batches
+        properties.setProperty("hibernate.jdbc.batch_size", jdbcBatchSize);
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
         return properties;
     }
 
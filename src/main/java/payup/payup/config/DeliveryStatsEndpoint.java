@@ -0,0 +1,38 @@
+package payup.payup.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import payup.payup.dto.DeliveryStatsDto;
+import payup.payup.service.DeliveryMetricsService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint (/actuator/deliveries) summarizing recent email and SMS delivery success rates
+ * and latencies per provider. Full time series are available from /actuator/metrics/payup.delivery.
+ */
+@Component
+@Endpoint(id = "deliveries")
+public class DeliveryStatsEndpoint {
+
+    private final DeliveryMetricsService deliveryMetricsService;
+
+    public DeliveryStatsEndpoint(DeliveryMetricsService deliveryMetricsService) {
+        this.deliveryMetricsService = deliveryMetricsService;
+    }
+
+    /**
+     * @return Per-provider delivery stats and the number of broadcast deliveries still pending.
+     */
+    @ReadOperation
+    public Map<String, Object> deliveries() {
+        List<DeliveryStatsDto> providers = deliveryMetricsService.getRecentStats();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("providers", providers);
+        summary.put("pendingBroadcastDeliveries", deliveryMetricsService.getPendingBroadcastDeliveries());
+        return summary;
+    }
+}
@@ -0,0 +1,23 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for failed-login throttling, populated from the "security.login-throttle" application properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+@Data
+public class LoginThrottleConfig {
+    private boolean enabled = true;
+    private long windowSeconds = 300;            // Sliding window over which failures are counted
+    private int maxFailuresPerIp = 20;
+    private int maxFailuresPerAccount = 5;
+    private long baseLockoutSeconds = 30;        // First lockout; doubles with each further lockout
+    private long maxLockoutSeconds = 900;
+    private long maxTrackedKeys = 100000;        // In-memory store only
+    private boolean trustForwardedFor = false;   // Use X-Forwarded-For when behind a trusted proxy
+    private boolean redisEnabled = false;        // Share counters between instances through Redis
+}
@@ -0,0 +1,20 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the Server-Sent Events notification stream, populated from
+ * the "notifications.stream" application properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "notifications.stream")
+@Data
+public class NotificationStreamConfig {
+    private int queueCapacity = 64;               // Pending events kept per subscriber before the oldest is dropped
+    private int maxSubscribersPerTenant = 5;      // Open tabs/devices allowed per tenant
+    private long emitterTimeoutMs = 30 * 60 * 1000L;
+    private long heartbeatIntervalMs = 15000L;
+    private int dispatcherThreads = 4;
+}
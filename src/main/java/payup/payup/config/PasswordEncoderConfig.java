@@ -0,0 +1,49 @@
+package payup.payup.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Provides the single password encoder used for registration, login and password changes.
+ * Kept apart from SecurityConfig so services can depend on it without a cycle through UserService.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+    private static final String CALIBRATION_PASSWORD = "calibration-Passw0rd!";
+
+    /**
+     * Creates the BCrypt encoder, calibrating its work factor unless one is configured.
+     *
+     * @param config Password hashing settings.
+     * @return The shared BCryptPasswordEncoder.
+     */
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(PasswordHashingConfig config) {
+        int strength = config.getStrength() > 0 ? config.getStrength() : calibrate(config);
+        logger.info("Using BCrypt strength {}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Times a hash at the minimum strength and picks the highest strength whose hash stays within
+     * the latency target. Each extra round doubles the cost, so one measurement is enough.
+     */
+    private int calibrate(PasswordHashingConfig config) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(config.getMinStrength());
+        probe.encode(CALIBRATION_PASSWORD); // Warm-up, excludes JIT and class loading from the measurement
+        long start = System.nanoTime();
+        probe.encode(CALIBRATION_PASSWORD);
+        double elapsedMillis = Math.max(0.1, (System.nanoTime() - start) / 1_000_000.0);
+
+        int extraRounds = (int) Math.floor(Math.log(config.getTargetMillis() / elapsedMillis) / Math.log(2));
+        int strength = Math.max(config.getMinStrength(), Math.min(config.getMaxStrength(), config.getMinStrength() + extraRounds));
+        logger.info("Calibrated BCrypt: {} ms at strength {}, target {} ms -> strength {}",
+                String.format("%.1f", elapsedMillis), config.getMinStrength(), config.getTargetMillis(), strength);
+        return strength;
+    }
+}
@@ -0,0 +1,23 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for password hashing, populated from the "security.password-hashing" application properties.
+ * When strength is 0 the BCrypt work factor is calibrated at startup so one hash takes about targetMillis.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+@Data
+public class PasswordHashingConfig {
+    private int strength = 0;                 // Fixed BCrypt log rounds; 0 = calibrate at startup
+    private long targetMillis = 250;          // Calibration target for a single hash
+    private int minStrength = 10;
+    private int maxStrength = 14;
+    private int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private int bulkParallelism = 0;          // Hashes a bulk job keeps in flight; 0 = half the pool
+    private int queueCapacity = 64;           // Hashes allowed to wait before logins are turned away
+    private long timeoutMs = 5000;            // Longest a request waits for its hash
+}
@@ -0,0 +1,17 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defaults for the floors and rooms generated when a property is created, populated from the
+ * "property.scaffold" application properties. A create request may still set its own layout and rent.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "property.scaffold")
+@Data
+public class PropertyScaffoldConfig {
+    private double defaultRent = 1000.0;      // Rent of generated rooms when the request does not set one
+    private int maxUnits = 5000;              // Largest property that can be scaffolded in one request
+}
@@ -0,0 +1,20 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the monthly rent roll, populated from the "rent.roll" application properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rent.roll")
+@Data
+public class RentRollConfig {
+    private boolean enabled = true;           // Run on the schedule below; manual runs work either way
+    private String cron = "0 0 2 1 * *";      // Spring cron for the scheduled run (default 02:00 on the 1st)
+    private String zone = "UTC";              // Time zone of the cron and of "this month"
+    private int dueDay = 5;                   // Day of the month rents fall due, capped at the month's length
+    private int workers = 4;                  // Partitions inserted in parallel
+    private int propertiesPerPartition = 50;  // Properties per INSERT ... SELECT statement and transaction
+}
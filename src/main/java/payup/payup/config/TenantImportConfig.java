@@ -0,0 +1,16 @@
+package payup.payup.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for bulk tenant onboarding, populated from the "tenants.import" application properties.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "tenants.import")
+@Data
+public class TenantImportConfig {
+    private int maxRows = 1000;               // Largest upload accepted in one request
+    private int batchSize = 200;              // Rows sent per JDBC batch
+}
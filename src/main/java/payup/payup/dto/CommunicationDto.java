@@ -1,6 +1,8 @@
 package payup.payup.dto;
 
 import lombok.Data;
+import payup.payup.model.Communication;
+
 import java.time.LocalDateTime;
 
 @Data
@@ -8,6 +10,23 @@ public class CommunicationDto {
     private Long id;
     private Long senderId;
 
+    public CommunicationDto() {
+    }
+
+    /**
+     * Projection constructor used by JPQL constructor expressions, so history queries
+     * read message columns without loading the sender and receiver users.
+     */
+    public CommunicationDto(Long id, Long senderId, Long receiverId, String message,
+                            Communication.MessageType type, LocalDateTime sentAt) {
+        this.id = id;
+        this.senderId = senderId;
+        this.receiverId = receiverId;
+        this.message = message;
+        this.type = type != null ? type.name() : null;
+        this.sentAt = sentAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,30 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbox entry for one conversation, seen from the requesting user's side.
+ */
+@Data
+public class ConversationSummaryDto {
+    private Long conversationId;
+    private Long otherUserId;
+    private String otherUserName;
+    private Long lastSenderId;
+    private String lastMessage;
+    private LocalDateTime lastMessageAt;
+    private long messageCount;
+
+    public ConversationSummaryDto(Long conversationId, Long otherUserId, String otherUserFirstName, String otherUserLastName,
+                                  Long lastSenderId, String lastMessage, LocalDateTime lastMessageAt, long messageCount) {
+        this.conversationId = conversationId;
+        this.otherUserId = otherUserId;
+        this.otherUserName = otherUserFirstName + " " + otherUserLastName;
+        this.lastSenderId = lastSenderId;
+        this.lastMessage = lastMessage;
+        this.lastMessageAt = lastMessageAt;
+        this.messageCount = messageCount;
+    }
+}
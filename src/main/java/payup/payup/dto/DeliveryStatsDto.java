@@ -0,0 +1,24 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recent delivery health of one channel/provider pair, computed over the last N sends.
+ * Totals count every send since startup.
+ */
+@Data
+public class DeliveryStatsDto {
+    private String channel;
+    private String provider;
+    private int recentAttempts;
+    private int recentFailures;
+    private double successRate;
+    private double averageLatencyMs;
+    private double p95LatencyMs;
+    private long totalAttempts;
+    private long totalFailures;
+    private LocalDateTime lastFailureAt;
+    private String lastError;
+}
@@ -0,0 +1,22 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of message history, newest first. Pass nextCursor back to fetch older messages;
+ * it is null once the start of the history has been reached.
+ */
+@Data
+public class MessagePageDto {
+    private List<CommunicationDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public MessagePageDto(List<CommunicationDto> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
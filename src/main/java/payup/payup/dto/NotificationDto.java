@@ -1,6 +1,8 @@
 package payup.payup.dto;
 
 import lombok.Data;
+import payup.payup.model.Notification;
+
 import java.time.LocalDateTime;
 
 @Data
@@ -11,6 +13,23 @@ public class NotificationDto {
     private Long tenantId;
     private String status;
 
+    public NotificationDto() {
+    }
+
+    /**
+     * Projection constructor used by JPQL constructor expressions, so feed queries
+     * can read notification columns without loading the Notification or its Tenant.
+     */
+    public NotificationDto(Long id, String message, LocalDateTime createdAt, Long tenantId,
+                           Notification.NotificationStatus status, Notification.NotificationType type) {
+        this.id = id;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.tenantId = tenantId;
+        this.status = status != null ? status.name() : null;
+        this.type = type != null ? type.name() : null;
+    }
+
     public Long getId() {
         return id;
     }
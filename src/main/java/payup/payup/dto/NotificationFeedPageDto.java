@@ -0,0 +1,22 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a tenant's notification feed. Pass nextCursor back to fetch the following page;
+ * it is null once the end of the feed has been reached.
+ */
+@Data
+public class NotificationFeedPageDto {
+    private List<NotificationDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public NotificationFeedPageDto(List<NotificationDto> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
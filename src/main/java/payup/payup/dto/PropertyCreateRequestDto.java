@@ -3,6 +3,9 @@ package payup.payup.dto;
 import lombok.Data;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
 
 @Data
 public class PropertyCreateRequestDto {
@@ -19,4 +22,7 @@ public class PropertyCreateRequestDto {
     private Long landlordId;
     @NotNull(message = "Number of floors is mandatory")
     private Integer numberOfFloors;
+    private List<Integer> roomsPerFloor; // Optional - rooms on each floor from the ground up; units are spread evenly if null
+    @Positive(message = "Rent amount must be positive")
+    private Double rentAmount; // Optional - rent of every generated room; the configured default if null
 }
\ No newline at end of file
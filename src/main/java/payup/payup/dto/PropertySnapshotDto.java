@@ -0,0 +1,53 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A property with its whole floor, room and tenant tree, as returned by the snapshot endpoints.
+ * The version is the property's updatedAt, which every floor, room and tenant change bumps.
+ */
+@Data
+public class PropertySnapshotDto {
+    private Long id;
+    private String name;
+    private String type;
+    private String location;
+    private int units;
+    private Long ownerId;
+    private String ownerName;
+    private LocalDateTime updatedAt;
+    private int roomCount;
+    private int occupiedCount;
+    private List<FloorNode> floors = new ArrayList<>();
+    private List<TenantNode> unassignedTenants = new ArrayList<>(); // Tenants of the property without a room
+
+    @Data
+    public static class FloorNode {
+        private Long id;
+        private Integer floorNumber;
+        private String floorName;
+        private List<RoomNode> rooms = new ArrayList<>();
+    }
+
+    @Data
+    public static class RoomNode {
+        private Long id;
+        private int roomNumber;
+        private double rentAmount;
+        private boolean occupied;
+        private List<TenantNode> tenants = new ArrayList<>();
+    }
+
+    @Data
+    public static class TenantNode {
+        private Long id;
+        private Long userId;
+        private String name;
+        private String email;
+        private String phone;
+    }
+}
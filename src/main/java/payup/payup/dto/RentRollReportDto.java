@@ -0,0 +1,23 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one rent roll run. Rents that already existed for the period are not counted as created,
+ * so a repeated run reports 0 created rows.
+ */
+@Data
+public class RentRollReportDto {
+    private String period;                    // The billing month, e.g. "2026-10"
+    private LocalDate dueDate;
+    private LocalDateTime startedAt;
+    private int properties;
+    private int partitions;
+    private int failedPartitions;
+    private long rentsCreated;
+    private long elapsedMs;
+    private double rowsPerSecond;
+}
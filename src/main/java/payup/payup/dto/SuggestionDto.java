@@ -0,0 +1,23 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+/**
+ * One typeahead suggestion: a tenant, property or room with a display label and a secondary line.
+ */
+@Data
+public class SuggestionDto {
+    private String type;
+    private Long id;
+    private String label;
+    private String detail;
+    private Long propertyId;
+
+    public SuggestionDto(String type, Long id, String label, String detail, Long propertyId) {
+        this.type = type;
+        this.id = id;
+        this.label = label;
+        this.detail = detail;
+        this.propertyId = propertyId;
+    }
+}
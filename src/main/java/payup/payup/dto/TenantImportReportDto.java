@@ -0,0 +1,17 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Per-row report returned by the bulk tenant import.
+ */
+@Data
+public class TenantImportReportDto {
+    private int totalRows;
+    private int imported;
+    private int rejected;
+    private long elapsedMs;
+    private List<TenantImportResultDto> rows;
+}
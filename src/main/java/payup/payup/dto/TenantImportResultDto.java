@@ -0,0 +1,22 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one row of a bulk tenant import. Row numbers start at 1 and follow the order of the upload.
+ */
+@Data
+public class TenantImportResultDto {
+    public static final String IMPORTED = "IMPORTED";
+    public static final String REJECTED = "REJECTED";
+
+    private int row;
+    private String email;
+    private String status = REJECTED;
+    private Long userId;
+    private Long tenantId;
+    private List<String> errors = new ArrayList<>();
+}
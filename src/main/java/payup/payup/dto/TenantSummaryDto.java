@@ -0,0 +1,46 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat listing row of a tenant: contact details, where they live and how many rents they have,
+ * without the nested room, property, rent and bill objects of {@link TenantDto}.
+ */
+@Data
+public class TenantSummaryDto {
+    private Long id;
+    private Long userId;
+    private String name;
+    private String email;
+    private String phone;
+    private Double balance;
+    private String floor;
+    private Long propertyId;
+    private String propertyName;
+    private Long roomId;
+    private Integer roomNumber;
+    private long rentCount;
+    private long unpaidRentCount;
+    private LocalDateTime createdAt;
+
+    public TenantSummaryDto(Long id, Long userId, String firstName, String lastName, String email, String phone,
+                            Double balance, String floor, Long propertyId, String propertyName, Long roomId,
+                            Integer roomNumber, Long rentCount, Long unpaidRentCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.name = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        this.email = email;
+        this.phone = phone;
+        this.balance = balance;
+        this.floor = floor;
+        this.propertyId = propertyId;
+        this.propertyName = propertyName;
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.rentCount = rentCount != null ? rentCount : 0;
+        this.unpaidRentCount = unpaidRentCount != null ? unpaidRentCount : 0;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,29 @@
+package payup.payup.dto;
+
+import payup.payup.model.User;
+
+import java.io.Serializable;
+
+/**
+ * Immutable, detached snapshot of a user's public fields. This is what the user caches hold instead of
+ * JPA entities, so cached values cannot carry lazy associations, password hashes or later in-place edits.
+ */
+public record UserView(Long id, String email, String firstName, String lastName, String phone,
+                       User.UserRole role) implements Serializable {
+
+    /**
+     * @param user The user entity to copy.
+     * @return A view of the entity, or null if the entity is null.
+     */
+    public static UserView of(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserView(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getPhone(), user.getRole());
+    }
+
+    public String name() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,30 @@
+package payup.payup.dto;
+
+import lombok.Data;
+
+/**
+ * One vacant room found by the vacancy search, with the property it belongs to.
+ */
+@Data
+public class VacancyDto {
+    private Long roomId;
+    private int roomNumber;
+    private String floor;
+    private double rentAmount;
+    private Long propertyId;
+    private String propertyName;
+    private String propertyType;
+    private String location;
+
+    public VacancyDto(Long roomId, int roomNumber, String floor, double rentAmount,
+                      Long propertyId, String propertyName, String propertyType, String location) {
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.floor = floor;
+        this.rentAmount = rentAmount;
+        this.propertyId = propertyId;
+        this.propertyName = propertyName;
+        this.propertyType = propertyType;
+        this.location = location;
+    }
+}
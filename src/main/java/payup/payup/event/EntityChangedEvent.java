@@ -0,0 +1,40 @@
+package payup.payup.event;
+
+/**
+ * Published when a property, room or tenant is created, updated or deleted, so in-memory indexes
+ * can reload it once the transaction commits. Carries only the ID; listeners read the current state.
+ * Rooms and tenants may also carry the ID of their property, which listeners need once the row is deleted.
+ */
+public class EntityChangedEvent {
+
+    public enum Kind { PROPERTY, ROOM, TENANT }
+
+    private final Kind kind;
+    private final Long id;
+    private final Long propertyId;
+
+    public EntityChangedEvent(Kind kind, Long id) {
+        this(kind, id, null);
+    }
+
+    public EntityChangedEvent(Kind kind, Long id, Long propertyId) {
+        this.kind = kind;
+        this.id = id;
+        this.propertyId = propertyId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return The property of the changed room or tenant, or null if the publisher did not know it.
+     */
+    public Long getPropertyId() {
+        return propertyId;
+    }
+}
@@ -0,0 +1,26 @@
+package payup.payup.event;
+
+import payup.payup.dto.NotificationDto;
+
+/**
+ * Application event published by NotificationService whenever a notification row is saved.
+ * Listeners that react to it after commit (e.g. the SSE stream) only ever see persisted notifications.
+ */
+public class NotificationCreatedEvent {
+
+    private final Long tenantId;
+    private final NotificationDto notification;
+
+    public NotificationCreatedEvent(Long tenantId, NotificationDto notification) {
+        this.tenantId = tenantId;
+        this.notification = notification;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public NotificationDto getNotification() {
+        return notification;
+    }
+}
@@ -0,0 +1,40 @@
+package payup.payup.event;
+
+import java.util.List;
+
+/**
+ * Published by the overdue sweeper for every chunk of bills or rents it marks overdue, with the tenants
+ * they belong to. Listeners that react after commit only ever see persisted OVERDUE statuses.
+ */
+public class OverdueMarkedEvent {
+
+    public enum Kind { BILL, RENT }
+
+    private final Kind kind;
+    private final int count;
+    private final List<Long> tenantIds;
+
+    public OverdueMarkedEvent(Kind kind, int count, List<Long> tenantIds) {
+        this.kind = kind;
+        this.count = count;
+        this.tenantIds = List.copyOf(tenantIds);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return The number of bills or rents marked overdue in the chunk.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return The IDs of the tenants owning them, without duplicates.
+     */
+    public List<Long> getTenantIds() {
+        return tenantIds;
+    }
+}
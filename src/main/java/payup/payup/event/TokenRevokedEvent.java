@@ -0,0 +1,23 @@
+package payup.payup.event;
+
+/**
+ * Published when a token ID is revoked locally, so it can be relayed to other instances.
+ */
+public class TokenRevokedEvent {
+
+    private final String jti;
+    private final long expiresAtMillis;
+
+    public TokenRevokedEvent(String jti, long expiresAtMillis) {
+        this.jti = jti;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
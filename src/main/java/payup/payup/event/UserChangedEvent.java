@@ -0,0 +1,33 @@
+package payup.payup.event;
+
+import payup.payup.dto.UserView;
+
+/**
+ * Published when a user is created, updated or deleted, so in-memory indexes can follow the change
+ * once the transaction commits.
+ */
+public class UserChangedEvent {
+
+    private final Long userId;
+    private final UserView user;
+
+    public UserChangedEvent(Long userId, UserView user) {
+        this.userId = userId;
+        this.user = user;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return The user after the change, or null if the user was deleted.
+     */
+    public UserView getUser() {
+        return user;
+    }
+
+    public boolean isDeleted() {
+        return user == null;
+    }
+}
@@ -0,0 +1,11 @@
+package payup.payup.exception;
+
+/**
+ * Thrown when a room cannot be claimed because it is already occupied, typically because a concurrent
+ * request claimed it first. Callers may retry with fresh data.
+ */
+public class RoomOccupiedException extends RuntimeException {
+    public RoomOccupiedException(String message) {
+        super(message);
+    }
+}
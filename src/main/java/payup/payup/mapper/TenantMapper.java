@@ -5,10 +5,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import payup.payup.dto.*;
+import payup.payup.model.Bill;
+import payup.payup.model.Rent;
 import payup.payup.model.Tenant;
-import payup.payup.service.RoomService;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -24,21 +26,18 @@ public class TenantMapper {
     private final UserMapper userMapper;
     private final RentMapper rentMapper;
     private final BillMapper billMapper;
-    private final RoomService roomService;
 
     @Autowired
     public TenantMapper(PropertyMapper propertyMapper,
                         RoomMapper roomMapper,
                         UserMapper userMapper,
                         RentMapper rentMapper,
-                        BillMapper billMapper,
-                        RoomService roomService) {
+                        BillMapper billMapper) {
         this.propertyMapper = propertyMapper;
         this.roomMapper = roomMapper;
         this.userMapper = userMapper;
         this.rentMapper = rentMapper;
         this.billMapper = billMapper;
-        this.roomService = roomService;
     }
 
     public TenantDto toDto(Tenant tenant) {
@@ -50,17 +49,10 @@ public class TenantMapper {
         dto.setBalance(tenant.getBalance());
         dto.setFloor(tenant.getFloor());
         dto.setProperty(propertyMapper.toDto(tenant.getProperty()));
-        // Fetch Room by roomId instead of using tenant.getRoom()
-        RoomDto roomDto = null;
-        if (tenant.getRoomId() != null) {
-            try {
-                roomDto = roomMapper.toDto(roomService.getRoomById(tenant.getRoomId().longValue()));
-                if (roomDto != null) {
-                    roomDto.setTenant(dto);
-                }
-            } catch (IllegalArgumentException e) {
-                logger.warn("Room not found for tenant ID {} with roomId: {}", tenant.getId(), tenant.getRoomId());
-            }
+        // Lazy rooms of a mapped collection are loaded in batches (hibernate.default_batch_fetch_size)
+        RoomDto roomDto = roomMapper.toDto(tenant.getRoom());
+        if (roomDto != null) {
+            roomDto.setTenant(dto);
         }
         dto.setRoom(roomDto);
         dto.setUser(userMapper.toDto(tenant.getUser()));
@@ -80,6 +72,37 @@ public class TenantMapper {
         return dto;
     }
 
+    /**
+     * Maps a tenant whose room, rents and bills were already loaded in bulk, so no lazy loading happens here.
+     *
+     * @param tenant The tenant, with user, property and room fetched.
+     * @param rents  The tenant's rents.
+     * @param bills  The bills addressed to the tenant's user.
+     * @return The full tenant DTO.
+     */
+    public TenantDto toDto(Tenant tenant, List<Rent> rents, List<Bill> bills) {
+        TenantDto dto = new TenantDto();
+        dto.setId(tenant.getId());
+        dto.setBalance(tenant.getBalance());
+        dto.setFloor(tenant.getFloor());
+        dto.setProperty(propertyMapper.toDto(tenant.getProperty()));
+        RoomDto roomDto = roomMapper.toDto(tenant.getRoom());
+        if (roomDto != null) {
+            roomDto.setTenant(dto);
+        }
+        dto.setRoom(roomDto);
+        dto.setUser(userMapper.toDto(tenant.getUser()));
+        dto.setRents(rents.stream().map(rent -> {
+            RentDto rentDto = rentMapper.toDto(rent);
+            rentDto.setTenant(dto);
+            return rentDto;
+        }).collect(Collectors.toList()));
+        dto.setBills(bills.stream().map(billMapper::toDto).collect(Collectors.toList()));
+        dto.setCreatedAt(tenant.getCreatedAt());
+        dto.setUpdatedAt(tenant.getUpdatedAt());
+        return dto;
+    }
+
     public Tenant toEntity(TenantCreateDto dto) {
         if (dto == null) {
             return null;
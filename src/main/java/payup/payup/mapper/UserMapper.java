@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import payup.payup.dto.UserDto;
+import payup.payup.dto.UserView;
 import payup.payup.model.User;
 
 @Component
@@ -26,6 +27,22 @@ public class UserMapper {
         return dto;
     }
 
+    public UserDto toDto(UserView view) {
+        if (view == null) {
+            return null;
+        }
+
+        UserDto dto = new UserDto();
+        dto.setId(view.id());
+        dto.setName(view.name());
+        dto.setFirstName(view.firstName());
+        dto.setLastName(view.lastName());
+        dto.setEmail(view.email());
+        dto.setPhone(view.phone());
+        dto.setRole(view.role() != null ? view.role().name() : null);
+        return dto;
+    }
+
     public User toEntity(UserDto dto) {
         if (dto == null) {
             return null;
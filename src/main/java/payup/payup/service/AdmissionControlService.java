@@ -0,0 +1,249 @@
+package payup.payup.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import payup.payup.config.AdmissionControlConfig;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decides whether an API request may run. Each client gets a token bucket per lane, scaled by role,
+ * and all lanes share one concurrency budget in which lower-priority lanes may only fill a fraction,
+ * so report exports and bulk listings are shed long before payments and M-Pesa callbacks.
+ */
+@Service
+public class AdmissionControlService {
+
+    /**
+     * Priority lanes, highest first.
+     */
+    public enum Lane {
+        PAYMENTS, STANDARD, BULK
+    }
+
+    /**
+     * Outcome of an admission check.
+     *
+     * @param admitted          Whether the request may proceed; if so, {@link #release(Lane)} must follow.
+     * @param lane              The lane the request was routed to.
+     * @param retryAfterSeconds Suggested wait for rejected requests.
+     * @param reason            "rate_limited" or "shed" for rejected requests, null otherwise.
+     */
+    public record Decision(boolean admitted, Lane lane, long retryAfterSeconds, String reason) {
+    }
+
+    private static final String OUTCOME_ADMITTED = "admitted";
+    private static final String OUTCOME_RATE_LIMITED = "rate_limited";
+    private static final String OUTCOME_SHED = "shed";
+
+    private final AdmissionControlConfig config;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+    private final Map<Lane, AtomicInteger> laneInFlight = new EnumMap<>(Lane.class);
+    private final Map<Lane, Map<String, Counter>> counters = new EnumMap<>(Lane.class);
+    private final Cache<String, AtomicReference<Bucket>> buckets;
+
+    public AdmissionControlService(AdmissionControlConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        for (Lane lane : Lane.values()) {
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            AtomicInteger inFlight = new AtomicInteger();
+            laneInFlight.put(lane, inFlight);
+            Gauge.builder("payup.admission.inflight", inFlight, AtomicInteger::get)
+                    .description("Requests currently running, by lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Map<String, Counter> laneCounters = new LinkedHashMap<>();
+            for (String outcome : new String[]{OUTCOME_ADMITTED, OUTCOME_RATE_LIMITED, OUTCOME_SHED}) {
+                laneCounters.put(outcome, Counter.builder("payup.admission.requests")
+                        .description("Admission decisions, by lane and outcome")
+                        .tag("lane", tag)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+            counters.put(lane, laneCounters);
+        }
+    }
+
+    /**
+     * Routes a request path to its lane using the configured path patterns.
+     *
+     * @param path The request path, without context path.
+     * @return The lane; STANDARD if no pattern matches.
+     */
+    public Lane classify(String path) {
+        if (matchesAny(config.getPayments().getPaths(), path)) {
+            return Lane.PAYMENTS;
+        }
+        if (matchesAny(config.getBulk().getPaths(), path)) {
+            return Lane.BULK;
+        }
+        return Lane.STANDARD;
+    }
+
+    /**
+     * @param path The request path, without context path.
+     * @return true if the path serves a long-lived stream, whose slot is not held for the stream's lifetime.
+     */
+    public boolean isStreaming(String path) {
+        return matchesAny(config.getStreamingPaths(), path);
+    }
+
+    /**
+     * Applies the client's token bucket and the lane's concurrency limit.
+     *
+     * @param lane      The lane of the request.
+     * @param path      The request path, checked against the unmetered paths.
+     * @param clientKey The authenticated username, or the client IP for anonymous requests.
+     * @param role      The client's role (ADMIN, LANDLORD, TENANT or ANONYMOUS).
+     * @return The admission decision.
+     */
+    public Decision tryAcquire(Lane lane, String path, String clientKey, String role) {
+        AdmissionControlConfig.Lane limits = limits(lane);
+        if (!matchesAny(config.getUnmeteredPaths(), path)) {
+            double multiplier = config.getRoleMultipliers().getOrDefault(role, 1.0);
+            double rate = limits.getRatePerSecond() * multiplier;
+            double capacity = Math.max(1.0, limits.getBurst() * multiplier);
+            long waitNanos = consumeToken(lane.name() + ':' + clientKey, rate, capacity);
+            if (waitNanos > 0) {
+                counters.get(lane).get(OUTCOME_RATE_LIMITED).increment();
+                return new Decision(false, lane, Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L), OUTCOME_RATE_LIMITED);
+            }
+        }
+
+        int laneCap = (int) Math.ceil(config.getMaxConcurrent() * limits.getConcurrencyShare());
+        while (true) {
+            int current = totalInFlight.get();
+            if (current >= laneCap) {
+                counters.get(lane).get(OUTCOME_SHED).increment();
+                return new Decision(false, lane, 1, OUTCOME_SHED);
+            }
+            if (totalInFlight.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        laneInFlight.get(lane).incrementAndGet();
+        counters.get(lane).get(OUTCOME_ADMITTED).increment();
+        return new Decision(true, lane, 0, null);
+    }
+
+    /**
+     * Returns the concurrency slot of an admitted request.
+     *
+     * @param lane The lane the request was admitted to.
+     */
+    public void release(Lane lane) {
+        laneInFlight.get(lane).decrementAndGet();
+        totalInFlight.decrementAndGet();
+    }
+
+    /**
+     * @return Current limits and in-flight counts per lane, for the admission actuator endpoint.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> lanes = new LinkedHashMap<>();
+        for (Lane lane : Lane.values()) {
+            AdmissionControlConfig.Lane limits = limits(lane);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("paths", limits.getPaths());
+            entry.put("ratePerSecond", limits.getRatePerSecond());
+            entry.put("burst", limits.getBurst());
+            entry.put("concurrencyShare", limits.getConcurrencyShare());
+            entry.put("inFlight", laneInFlight.get(lane).get());
+            lanes.put(lane.name().toLowerCase(Locale.ROOT), entry);
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", config.isEnabled());
+        snapshot.put("maxConcurrent", config.getMaxConcurrent());
+        snapshot.put("inFlight", totalInFlight.get());
+        snapshot.put("lanes", lanes);
+        return snapshot;
+    }
+
+    /**
+     * Changes a lane's limits at runtime. Null arguments leave the current value unchanged.
+     *
+     * @param lane             The lane to change.
+     * @param ratePerSecond    New token refill rate per client.
+     * @param burst            New bucket capacity per client.
+     * @param concurrencyShare New fraction of maxConcurrent, between 0 and 1.
+     * @throws IllegalArgumentException if a value is out of range.
+     */
+    public void updateLane(Lane lane, Double ratePerSecond, Integer burst, Double concurrencyShare) {
+        AdmissionControlConfig.Lane limits = limits(lane);
+        if (ratePerSecond != null) {
+            if (ratePerSecond <= 0) {
+                throw new IllegalArgumentException("ratePerSecond must be positive");
+            }
+            limits.setRatePerSecond(ratePerSecond);
+        }
+        if (burst != null) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be at least 1");
+            }
+            limits.setBurst(burst);
+        }
+        if (concurrencyShare != null) {
+            if (concurrencyShare <= 0 || concurrencyShare > 1) {
+                throw new IllegalArgumentException("concurrencyShare must be in (0, 1]");
+            }
+            limits.setConcurrencyShare(concurrencyShare);
+        }
+    }
+
+    private AdmissionControlConfig.Lane limits(Lane lane) {
+        return switch (lane) {
+            case PAYMENTS -> config.getPayments();
+            case STANDARD -> config.getStandard();
+            case BULK -> config.getBulk();
+        };
+    }
+
+    private boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes one token from the client's bucket.
+     *
+     * @return 0 if a token was taken, otherwise nanoseconds until one becomes available.
+     */
+    private long consumeToken(String key, double ratePerSecond, double capacity) {
+        AtomicReference<Bucket> ref = buckets.get(key, k -> new AtomicReference<>(new Bucket(capacity, System.nanoTime())));
+        while (true) {
+            long now = System.nanoTime();
+            Bucket current = ref.get();
+            double tokens = Math.min(capacity, current.tokens + (now - current.refilledAtNanos) / 1e9 * ratePerSecond);
+            if (tokens < 1.0) {
+                return (long) Math.ceil((1.0 - tokens) / ratePerSecond * 1e9);
+            }
+            if (ref.compareAndSet(current, new Bucket(tokens - 1.0, now))) {
+                return 0;
+            }
+        }
+    }
+
+    private record Bucket(double tokens, long refilledAtNanos) {
+    }
+}
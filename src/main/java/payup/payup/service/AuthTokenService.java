@@ -0,0 +1,126 @@
+package payup.payup.service;
+
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import payup.payup.jwt.JwtClaims;
+import payup.payup.jwt.JwtTokenUtil;
+import payup.payup.jwt.JwtTokenVerifier;
+import payup.payup.jwt.TokenRevocationService;
+import payup.payup.model.User;
+
+import java.util.stream.Collectors;
+
+/**
+ * Issues, rotates and revokes access/refresh token pairs. Access tokens are short-lived and verified
+ * without database calls; refresh tokens are exchanged once for a new pair and revoked on use or logout.
+ */
+@Service
+public class AuthTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenService.class);
+
+    private final JwtTokenUtil jwtTokenUtil;
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenVersionService tokenVersionService;
+
+    public AuthTokenService(JwtTokenUtil jwtTokenUtil,
+                            JwtTokenVerifier jwtTokenVerifier,
+                            TokenRevocationService tokenRevocationService,
+                            TokenVersionService tokenVersionService) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.jwtTokenVerifier = jwtTokenVerifier;
+        this.tokenRevocationService = tokenRevocationService;
+        this.tokenVersionService = tokenVersionService;
+    }
+
+    /**
+     * A freshly issued access/refresh token pair.
+     *
+     * @param accessToken          Short-lived token for API calls.
+     * @param refreshToken         Long-lived token accepted only by the refresh endpoint.
+     * @param accessTokenExpiresIn Access token lifetime in milliseconds.
+     */
+    public record TokenPair(String accessToken, String refreshToken, long accessTokenExpiresIn) {
+    }
+
+    /**
+     * Issues a token pair for an authenticated user.
+     *
+     * @param userDetails The authenticated user's details.
+     * @param user        The user entity, for its ID and token version.
+     * @return The new token pair.
+     */
+    public TokenPair issue(UserDetails userDetails, User user) {
+        int version = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
+        return issue(userDetails, user.getId(), version);
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. The presented refresh token is revoked, so each one
+     * can be used only once; of two concurrent refreshes with the same token, only the one whose
+     * revocation lands first succeeds.
+     *
+     * @param refreshToken The refresh token.
+     * @return The new token pair.
+     * @throws BadCredentialsException if the token is invalid, expired, revoked or superseded.
+     */
+    public TokenPair refresh(String refreshToken) {
+        JwtClaims claims;
+        try {
+            claims = jwtTokenVerifier.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Refresh rejected: {}", e.getMessage());
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (!claims.isRefreshToken() || !claims.isSelfContained()) {
+            throw new BadCredentialsException("Not a refresh token");
+        }
+        if (!tokenVersionService.isCurrent(claims.userId(), claims.tokenVersion())) {
+            throw new BadCredentialsException("Refresh token has been superseded");
+        }
+        // Revoking is the claim: it fails if the token was already revoked, including by a concurrent refresh
+        if (!tokenRevocationService.revoke(claims.jti(), claims.expiresAt())) {
+            logger.warn("Revoked refresh token presented for {}", claims.subject());
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        jwtTokenVerifier.evict(refreshToken);
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
+                claims.subject(), "",
+                claims.roles().stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+        logger.info("Refreshed tokens for userId={}", claims.userId());
+        return issue(userDetails, claims.userId(), claims.tokenVersion());
+    }
+
+    /**
+     * Revokes whichever of the given tokens are valid. Invalid or missing tokens are ignored.
+     *
+     * @param tokens Access and/or refresh tokens to revoke.
+     */
+    public void revoke(String... tokens) {
+        for (String token : tokens) {
+            if (token == null || token.isBlank()) {
+                continue;
+            }
+            try {
+                JwtClaims claims = jwtTokenVerifier.verify(token);
+                tokenRevocationService.revoke(claims.jti(), claims.expiresAt());
+                jwtTokenVerifier.evict(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("Skipping revocation of invalid token: {}", e.getMessage());
+            }
+        }
+    }
+
+    private TokenPair issue(UserDetails userDetails, Long userId, int tokenVersion) {
+        return new TokenPair(
+                jwtTokenUtil.generateToken(userDetails, userId, tokenVersion),
+                jwtTokenUtil.generateRefreshToken(userDetails, userId, tokenVersion),
+                jwtTokenUtil.getAccessTokenExpiration());
+    }
+}
@@ -6,30 +6,51 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.dto.CommunicationDto;
+import payup.payup.dto.ConversationSummaryDto;
+import payup.payup.dto.MessagePageDto;
 import payup.payup.model.Communication;
+import payup.payup.model.Conversation;
 import payup.payup.model.User;
 import payup.repository.CommunicationRepository;
+import payup.repository.ConversationRepository;
 import payup.repository.UserRepository;
 
 @Service
 public class CommunicationService {
 
     private static final Logger logger = LoggerFactory.getLogger(CommunicationService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PREVIEW_LENGTH = 140;
+
+    // One conversation per user pair without one, summarising its newest message (highest ID)
+    private static final String BACKFILL_CONVERSATIONS = "INSERT INTO conversations " +
+            "(user_low_id, user_high_id, message_count, last_message_id, last_sender_id, last_message_preview, last_message_at) " +
+            "SELECT p.low_id, p.high_id, p.message_count, m.id, m.sender_id, SUBSTRING(m.message, 1, " + PREVIEW_LENGTH + "), m.sent_at " +
+            "FROM (SELECT LEAST(sender_id, receiver_id) AS low_id, GREATEST(sender_id, receiver_id) AS high_id, " +
+            "COUNT(*) AS message_count, MAX(id) AS last_id FROM messages " +
+            "GROUP BY LEAST(sender_id, receiver_id), GREATEST(sender_id, receiver_id)) p " +
+            "JOIN messages m ON m.id = p.last_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM conversations c WHERE c.user_low_id = p.low_id AND c.user_high_id = p.high_id)";
 
     @Autowired
-    private JavaMailSender javaMailSender;
+    private EmailService emailService; // Sends email and records delivery metrics
 
     // Send an email to a tenant
     public void sendEmail(String to, String subject, String text) {
-        if (to == null || subject == null || text == null) throw new IllegalArgumentException("Email fields must not be null");
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(text);
-        javaMailSender.send(message);
+        emailService.sendEmail(to, subject, text);
     }
 
     @Autowired
@@ -38,7 +59,6 @@ public class CommunicationService {
     // Send an SMS to a tenant (requires integration with an SMS API like Twilio)
     public void sendSms(String to, String message) {
         smsService.sendSms(to, message);
-        System.out.println("Sending SMS to " + to + ": " + message);
     }
     @Autowired
     private CommunicationRepository messageRepository; // Injects MessageRepository for message operations
@@ -46,8 +66,48 @@ public class CommunicationService {
     @Autowired
     private UserRepository userRepository; // Injects UserRepository to validate sender/receiver
 
-    // Sends a message from one user to another
+    @Autowired
+    private ConversationRepository conversationRepository; // Keeps per-thread last-message summaries
+
+    @Autowired
+    private PlatformTransactionManager transactionManager; // Creates conversations in their own transaction
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Backfills conversations for message history that predates them
+
+    @Value("${messaging.conversations.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * Creates the conversations missing for message history sent before conversations were tracked,
+     * so those threads show up in conversation listings. Pairs that already have one are left alone,
+     * so running it again only fills in what is missing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillConversations() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            int created = jdbcTemplate.update(BACKFILL_CONVERSATIONS);
+            if (created > 0) {
+                logger.info("Backfilled {} conversations from message history", created);
+            }
+        } catch (DataAccessException e) {
+            // Typically a message raced the backfill and created its conversation first; the next start retries
+            logger.warn("Conversation backfill failed: {}", e.getMessage());
+        }
+    }
+
+    // Sends a message from one user to another and records it on their conversation thread
+    @Transactional
     public Communication sendMessage(Long senderId, Long receiverId, Communication message) {
+        if (senderId == null || receiverId == null || senderId.equals(receiverId)) {
+            throw new IllegalArgumentException("Sender and receiver must be two different users");
+        }
+        if (message.getMessage() == null || message.getMessage().isBlank()) {
+            throw new IllegalArgumentException("Message must not be empty");
+        }
 
         User sender = userRepository.findById(senderId)
                 .orElseThrow(() -> new RuntimeException("Sender not found"));
@@ -59,15 +119,123 @@ public class CommunicationService {
         message.setReceiver(receiver);
         message.setSentAt(LocalDateTime.now());
         // Save the message (SMS/Email delivery would be handled externally)
-        return messageRepository.save(message);
+        Communication saved = messageRepository.save(message);
+
+        Conversation conversation = findOrCreateConversation(sender, receiver);
+        String preview = saved.getMessage().length() > PREVIEW_LENGTH
+                ? saved.getMessage().substring(0, PREVIEW_LENGTH)
+                : saved.getMessage();
+        if (conversationRepository.recordLastMessage(conversation.getId(), saved.getId(), senderId, preview, saved.getSentAt()) == 0) {
+            // A newer message already holds the summary; just count this one
+            conversationRepository.incrementMessageCount(conversation.getId());
+        }
+        return saved;
     }
 
-    // Retrieves all messages received by a user
+    // Retrieves all messages received by a user, newest first (prefer getReceivedMessages for paging)
+    @Transactional(readOnly = true)
     public List<Communication> getMessagesForUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        // Query messages where the user is the receiver, without loading the user itself
+        return messageRepository.findByReceiverIdOrderBySentAtDesc(userId);
+    }
+
+    /**
+     * Retrieves a page of messages received by a user, newest first, using seek pagination.
+     *
+     * @param userId The ID of the receiving user.
+     * @param cursor Cursor from the previous page, or null for the first page.
+     * @param size   Requested page size, capped at 100.
+     * @return The page of messages and the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor is malformed or the size is not positive.
+     */
+    @Transactional(readOnly = true)
+    public MessagePageDto getReceivedMessages(Long userId, String cursor, int size) {
+        int limit = validatePageSize(size);
+        SeekCursor position = SeekCursor.decode(cursor);
+        List<CommunicationDto> rows = messageRepository.findReceivedPage(
+                userId, position.getTimestamp(), position.getId(), PageRequest.of(0, limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Retrieves a page of the message history between two users, newest first, using seek pagination.
+     *
+     * @param userId      The ID of the requesting user.
+     * @param otherUserId The ID of the other participant.
+     * @param cursor      Cursor from the previous page, or null for the first page.
+     * @param size        Requested page size, capped at 100.
+     * @return The page of messages and the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor is malformed or the size is not positive.
+     */
+    @Transactional(readOnly = true)
+    public MessagePageDto getConversationHistory(Long userId, Long otherUserId, String cursor, int size) {
+        int limit = validatePageSize(size);
+        SeekCursor position = SeekCursor.decode(cursor);
+        List<CommunicationDto> rows = messageRepository.findConversationPage(
+                userId, otherUserId, position.getTimestamp(), position.getId(), PageRequest.of(0, limit + 1));
+        logger.debug("Loaded {} messages between userId={} and userId={}", rows.size(), userId, otherUserId);
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Lists a user's conversation threads with the last message of each, most recent first.
+     *
+     * @param userId The ID of the user.
+     * @param page   Zero-based page number.
+     * @param size   Requested page size, capped at 100.
+     * @return The conversation summaries.
+     */
+    @Transactional(readOnly = true)
+    public List<ConversationSummaryDto> getConversations(Long userId, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must be non-negative");
+        }
+        return conversationRepository.findSummariesForUser(userId, PageRequest.of(page, validatePageSize(size)));
+    }
+
+    private Conversation findOrCreateConversation(User a, User b) {
+        Long lowId = Math.min(a.getId(), b.getId());
+        Long highId = Math.max(a.getId(), b.getId());
+        return conversationRepository.findByUserLowIdAndUserHighId(lowId, highId)
+                .orElseGet(() -> createConversation(lowId, highId));
+    }
+
+    /**
+     * Inserts a conversation in its own transaction, so that losing the race against a concurrent first
+     * message (a unique key violation) leaves the caller's transaction usable and the winner's row visible.
+     */
+    private Conversation createConversation(Long lowId, Long highId) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return requiresNew.execute(status -> conversationRepository.save(
+                    new Conversation(userRepository.getReferenceById(lowId), userRepository.getReferenceById(highId))));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Conversation between userId={} and userId={} was created concurrently", lowId, highId);
+            return conversationRepository.findByUserLowIdAndUserHighId(lowId, highId)
+                    .orElseThrow(() -> new IllegalStateException("Conversation vanished after a concurrent create", e));
+        }
+    }
+
+    private int validatePageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        // Query messages where the user is the receiver
-        return messageRepository.findByReceiver(user);
+    private MessagePageDto toPage(List<CommunicationDto> rows, int limit) {
+        // One extra row was fetched to learn whether another page exists without a COUNT query
+        boolean hasMore = rows.size() > limit;
+        List<CommunicationDto> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            CommunicationDto last = items.get(items.size() - 1);
+            nextCursor = new SeekCursor(last.getSentAt(), last.getId()).encode();
+        }
+        return new MessagePageDto(items, nextCursor, hasMore);
     }
 }
\ No newline at end of file
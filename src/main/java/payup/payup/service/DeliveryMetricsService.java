@@ -0,0 +1,215 @@
+package payup.payup.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import payup.payup.dto.DeliveryStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records delivery telemetry for outbound email and SMS. Every send is timed into a Micrometer timer
+ * tagged by channel, provider and outcome, and also kept in a small rolling window per channel/provider
+ * so recent success rates and latencies can be read from the deliveries actuator endpoint.
+ */
+@Service
+public class DeliveryMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryMetricsService.class);
+
+    public static final String CHANNEL_EMAIL = "email";
+    public static final String CHANNEL_SMS = "sms";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+    private final int windowSize;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> notificationCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DeliveryWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong pendingBroadcastDeliveries = new AtomicLong();
+
+    public DeliveryMetricsService(MeterRegistry meterRegistry,
+                                  NotificationStreamService notificationStreamService,
+                                  @Value("${notifications.delivery.stats-window:200}") int windowSize) {
+        this.meterRegistry = meterRegistry;
+        this.windowSize = Math.max(1, windowSize);
+
+        Gauge.builder("payup.notifications.broadcast.pending", pendingBroadcastDeliveries, AtomicLong::get)
+                .description("Tenant deliveries still queued in running broadcasts")
+                .register(meterRegistry);
+        Gauge.builder("payup.notifications.stream.open", notificationStreamService, NotificationStreamService::getOpenStreamCount)
+                .description("Open notification event streams")
+                .register(meterRegistry);
+        FunctionCounter.builder("payup.notifications.stream.dropped", notificationStreamService, NotificationStreamService::getDroppedEventCount)
+                .description("Stream events dropped because a subscriber queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a successful provider call.
+     *
+     * @param channel      The delivery channel, e.g. "email" or "sms".
+     * @param provider     The provider that handled the call, e.g. the SMTP host or "twilio".
+     * @param elapsedNanos Time spent in the provider call.
+     */
+    public void recordSuccess(String channel, String provider, long elapsedNanos) {
+        record(channel, provider, OUTCOME_SUCCESS, elapsedNanos, null);
+    }
+
+    /**
+     * Records a failed provider call.
+     *
+     * @param channel      The delivery channel, e.g. "email" or "sms".
+     * @param provider     The provider that handled the call.
+     * @param elapsedNanos Time spent before the call failed.
+     * @param error        The failure raised by the provider.
+     */
+    public void recordFailure(String channel, String provider, long elapsedNanos, Throwable error) {
+        record(channel, provider, OUTCOME_FAILURE, elapsedNanos, error);
+    }
+
+    /**
+     * Counts a notification attempt at the business level (one notification may fan out to several channels).
+     *
+     * @param audience Who was notified: "admin" or "tenant".
+     * @param success  Whether every channel of the notification was delivered.
+     */
+    public void recordNotification(String audience, boolean success) {
+        String outcome = success ? OUTCOME_SUCCESS : OUTCOME_FAILURE;
+        notificationCounters.computeIfAbsent(audience + ':' + outcome, key -> Counter.builder("payup.notifications.sent")
+                .description("Notifications sent, by audience and outcome")
+                .tag("audience", audience)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * Adds deliveries to the pending broadcast gauge when a broadcast is queued.
+     *
+     * @param count The number of tenants the broadcast will notify.
+     */
+    public void broadcastQueued(int count) {
+        pendingBroadcastDeliveries.addAndGet(count);
+    }
+
+    /**
+     * Removes one delivery from the pending broadcast gauge once a tenant has been processed.
+     */
+    public void broadcastDeliveryDone() {
+        pendingBroadcastDeliveries.updateAndGet(value -> Math.max(0, value - 1));
+    }
+
+    /**
+     * Summarizes the rolling window of recent deliveries for every channel/provider seen so far.
+     *
+     * @return One entry per channel and provider, sorted by channel.
+     */
+    public List<DeliveryStatsDto> getRecentStats() {
+        List<DeliveryStatsDto> stats = new ArrayList<>();
+        windows.values().forEach(window -> stats.add(window.snapshot()));
+        stats.sort((a, b) -> (a.getChannel() + a.getProvider()).compareTo(b.getChannel() + b.getProvider()));
+        return stats;
+    }
+
+    /**
+     * @return The number of tenant deliveries still queued in running broadcasts.
+     */
+    public long getPendingBroadcastDeliveries() {
+        return pendingBroadcastDeliveries.get();
+    }
+
+    private void record(String channel, String provider, String outcome, long elapsedNanos, Throwable error) {
+        String key = channel + ':' + provider;
+        timers.computeIfAbsent(key + ':' + outcome, k -> Timer.builder("payup.delivery")
+                .description("Outbound provider calls, by channel, provider and outcome")
+                .tag("channel", channel)
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        windows.computeIfAbsent(key, k -> new DeliveryWindow(channel, provider, windowSize))
+                .add(error == null, elapsedNanos, error);
+        if (error != null) {
+            logger.debug("Recorded {} failure via {} after {} ms", channel, provider,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    /**
+     * Fixed-size ring of the most recent outcomes and latencies for one channel/provider.
+     * Writes are short and rare compared to the provider call itself, so a monitor is enough.
+     */
+    private static final class DeliveryWindow {
+        private final String channel;
+        private final String provider;
+        private final boolean[] outcomes;
+        private final long[] latencies;
+        private int next;
+        private int size;
+        private long totalAttempts;
+        private long totalFailures;
+        private LocalDateTime lastFailureAt;
+        private String lastError;
+
+        private DeliveryWindow(String channel, String provider, int capacity) {
+            this.channel = channel;
+            this.provider = provider;
+            this.outcomes = new boolean[capacity];
+            this.latencies = new long[capacity];
+        }
+
+        private synchronized void add(boolean success, long elapsedNanos, Throwable error) {
+            outcomes[next] = success;
+            latencies[next] = elapsedNanos;
+            next = (next + 1) % outcomes.length;
+            size = Math.min(size + 1, outcomes.length);
+            totalAttempts++;
+            if (!success) {
+                totalFailures++;
+                lastFailureAt = LocalDateTime.now();
+                lastError = error != null ? error.getClass().getSimpleName() + ": " + error.getMessage() : null;
+            }
+        }
+
+        private synchronized DeliveryStatsDto snapshot() {
+            int successes = 0;
+            long latencySum = 0;
+            long[] sorted = Arrays.copyOf(latencies, size);
+            for (int i = 0; i < size; i++) {
+                if (outcomes[i]) {
+                    successes++;
+                }
+                latencySum += latencies[i];
+            }
+            Arrays.sort(sorted);
+
+            DeliveryStatsDto dto = new DeliveryStatsDto();
+            dto.setChannel(channel);
+            dto.setProvider(provider);
+            dto.setRecentAttempts(size);
+            dto.setRecentFailures(size - successes);
+            dto.setSuccessRate(size == 0 ? 1.0 : (double) successes / size);
+            dto.setAverageLatencyMs(size == 0 ? 0.0 : latencySum / (double) size / 1_000_000);
+            dto.setP95LatencyMs(size == 0 ? 0.0 : sorted[(int) Math.ceil(size * 0.95) - 1] / 1_000_000.0);
+            dto.setTotalAttempts(totalAttempts);
+            dto.setTotalFailures(totalFailures);
+            dto.setLastFailureAt(lastFailureAt);
+            dto.setLastError(lastError);
+            return dto;
+        }
+    }
+}
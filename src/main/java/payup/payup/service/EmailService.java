@@ -1,6 +1,7 @@
 package payup.payup.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.MailException;
@@ -15,6 +16,12 @@ public class EmailService {
     @Autowired
     private JavaMailSender javaMailSender;
 
+    @Autowired
+    private DeliveryMetricsService deliveryMetricsService;
+
+    @Value("${spring.mail.host:smtp}")
+    private String mailProvider;
+
     /**
      * Sends a simple email.
      *
@@ -27,14 +34,17 @@ public class EmailService {
             logger.error("Invalid email parameters: to={}, subject={}, text={}", to, subject, text);
             throw new IllegalArgumentException("Email parameters must not be null");
         }
+        long start = System.nanoTime();
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setTo(to);
             message.setSubject(subject);
             message.setText(text);
             javaMailSender.send(message);
+            deliveryMetricsService.recordSuccess(DeliveryMetricsService.CHANNEL_EMAIL, mailProvider, System.nanoTime() - start);
             logger.info("Email sent to: {}", to);
         } catch (MailException e) {
+            deliveryMetricsService.recordFailure(DeliveryMetricsService.CHANNEL_EMAIL, mailProvider, System.nanoTime() - start, e);
             logger.error("Failed to send email to {}: {}", to, e.getMessage());
             throw new RuntimeException("Email sending failed", e);
         }
@@ -0,0 +1,94 @@
+package payup.payup.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import payup.payup.config.LoginThrottleConfig;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single-instance login attempt store. Each key holds an immutable state swapped by compare-and-set,
+ * so counting a failure never takes a lock. The sliding window is approximated from the current and
+ * previous fixed buckets, weighted by how far into the current bucket we are.
+ */
+@Component
+@ConditionalOnProperty(name = "security.login-throttle.redis-enabled", havingValue = "false", matchIfMissing = true)
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final LoginThrottleConfig config;
+    private final Cache<String, AtomicReference<AttemptState>> states;
+
+    public InMemoryLoginAttemptStore(LoginThrottleConfig config) {
+        this.config = config;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(config.getMaxTrackedKeys())
+                .expireAfterAccess(Duration.ofSeconds(Math.max(config.getWindowSeconds(), config.getMaxLockoutSeconds()) * 2))
+                .build();
+    }
+
+    @Override
+    public long lockedForSeconds(String key) {
+        AtomicReference<AttemptState> ref = states.getIfPresent(key);
+        if (ref == null) {
+            return 0;
+        }
+        long remainingMillis = ref.get().lockedUntilMillis - System.currentTimeMillis();
+        return remainingMillis > 0 ? TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999) : 0;
+    }
+
+    @Override
+    public long recordFailure(String key, int maxFailures) {
+        AtomicReference<AttemptState> ref = states.get(key, k -> new AtomicReference<>(AttemptState.EMPTY));
+        long windowMillis = TimeUnit.SECONDS.toMillis(config.getWindowSeconds());
+        while (true) {
+            long now = System.currentTimeMillis();
+            AttemptState current = ref.get();
+            AttemptState next = current.withFailure(now, windowMillis);
+            long lockoutSeconds = 0;
+            if (next.estimate(now, windowMillis) >= maxFailures) {
+                int strikes = next.strikes + 1;
+                lockoutSeconds = lockoutSeconds(strikes);
+                next = new AttemptState(next.bucket, 0, 0, strikes, now + TimeUnit.SECONDS.toMillis(lockoutSeconds));
+            }
+            if (ref.compareAndSet(current, next)) {
+                return lockoutSeconds;
+            }
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        states.invalidate(key);
+    }
+
+    private long lockoutSeconds(int strikes) {
+        long lockout = config.getBaseLockoutSeconds() << Math.min(strikes - 1, 30);
+        return Math.min(lockout, config.getMaxLockoutSeconds());
+    }
+
+    /**
+     * Failure counts for the current and previous window buckets, the backoff level and the lockout deadline.
+     */
+    private record AttemptState(long bucket, int current, int previous, int strikes, long lockedUntilMillis) {
+
+        private static final AttemptState EMPTY = new AttemptState(0, 0, 0, 0, 0);
+
+        private AttemptState withFailure(long now, long windowMillis) {
+            long nowBucket = now / windowMillis;
+            if (nowBucket == bucket) {
+                return new AttemptState(bucket, current + 1, previous, strikes, lockedUntilMillis);
+            }
+            int carried = nowBucket == bucket + 1 ? current : 0;
+            return new AttemptState(nowBucket, 1, carried, strikes, lockedUntilMillis);
+        }
+
+        private double estimate(long now, long windowMillis) {
+            double elapsed = (double) (now % windowMillis) / windowMillis;
+            return current + previous * (1.0 - elapsed);
+        }
+    }
+}
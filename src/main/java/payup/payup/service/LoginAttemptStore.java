@@ -0,0 +1,31 @@
+package payup.payup.service;
+
+/**
+ * Storage for failed-login counters and lockouts, keyed by client IP or account.
+ * Implementations count failures in a sliding window and apply a lockout that doubles with each
+ * consecutive lockout of the same key.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * @param key The throttle key, e.g. "ip:10.0.0.1" or "account:user@example.com".
+     * @return Seconds until the key may try again, or 0 if it is not locked out.
+     */
+    long lockedForSeconds(String key);
+
+    /**
+     * Counts a failed login and locks the key out once the window holds maxFailures failures.
+     *
+     * @param key         The throttle key.
+     * @param maxFailures Failures allowed in the window before a lockout.
+     * @return The lockout applied in seconds, or 0 if the key is still under its limit.
+     */
+    long recordFailure(String key, int maxFailures);
+
+    /**
+     * Clears the failures, lockout and backoff level of a key, e.g. after a successful login.
+     *
+     * @param key The throttle key.
+     */
+    void reset(String key);
+}
@@ -0,0 +1,101 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import payup.payup.exception.LoginThrottledException;
+import payup.payup.model.User;
+import payup.repository.UserRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies login credentials with a single user lookup. Throttled IPs and accounts are turned away
+ * before any lookup or hashing, the password check runs on the bounded hashing pool, and hashes made
+ * with an older work factor are transparently upgraded after a successful login.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleService loginThrottleService;
+
+    public LoginService(UserRepository userRepository,
+                        UserService userService,
+                        PasswordHashingService passwordHashingService,
+                        LoginThrottleService loginThrottleService) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
+        this.loginThrottleService = loginThrottleService;
+    }
+
+    /**
+     * Authenticates an email/password pair.
+     *
+     * @param email       The login email.
+     * @param rawPassword The supplied password.
+     * @param clientIp    The caller's IP address, for throttling.
+     * @return A future completing with the authenticated user, or failing with LoginThrottledException
+     *         when the IP or account is locked out, BadCredentialsException for unknown users or wrong
+     *         passwords, RejectedExecutionException when the hashing pool is saturated, or
+     *         TimeoutException when the check takes too long.
+     */
+    public CompletableFuture<User> authenticate(String email, String rawPassword, String clientIp) {
+        long retryAfter = loginThrottleService.retryAfterSeconds(clientIp, email);
+        if (retryAfter > 0) {
+            return CompletableFuture.failedFuture(new LoginThrottledException(retryAfter));
+        }
+        if (email == null || rawPassword == null) {
+            loginThrottleService.recordFailure(clientIp, email);
+            return CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials"));
+        }
+        User user = userRepository.findByEmail(email).orElse(null);
+        String storedHash = user != null ? user.getPassword() : null;
+        try {
+            return passwordHashingService.matchesAsync(rawPassword, storedHash)
+                    .orTimeout(passwordHashingService.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .thenApply(matches -> {
+                        if (!matches) {
+                            loginThrottleService.recordFailure(clientIp, email);
+                            throw new BadCredentialsException("Invalid credentials");
+                        }
+                        loginThrottleService.recordSuccess(email);
+                        upgradeHashIfNeeded(user, rawPassword);
+                        return user;
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing pool saturated, rejecting login for {}", email);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void upgradeHashIfNeeded(User user, String rawPassword) {
+        String oldHash = user.getPassword();
+        if (!passwordHashingService.needsUpgrade(oldHash)) {
+            return;
+        }
+        try {
+            passwordHashingService.encodeAsync(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userService.upgradePasswordHash(user.getId(), oldHash, newHash)) {
+                            logger.info("Upgraded password hash for userId={}", user.getId());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        logger.warn("Password hash upgrade failed for userId={}: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            // Pool is busy; the upgrade is retried on the next login
+            logger.debug("Skipping hash upgrade for userId={}, hashing pool busy", user.getId());
+        }
+    }
+}
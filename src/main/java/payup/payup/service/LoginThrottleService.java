@@ -0,0 +1,93 @@
+package payup.payup.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import payup.payup.config.LoginThrottleConfig;
+
+import java.util.Locale;
+
+/**
+ * Throttles failed logins per client IP and per account. Checks happen before the user lookup and
+ * password hash, so a throttled attempt costs a cache read instead of a BCrypt computation.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private final LoginAttemptStore store;
+    private final LoginThrottleConfig config;
+
+    public LoginThrottleService(LoginAttemptStore store, LoginThrottleConfig config) {
+        this.store = store;
+        this.config = config;
+    }
+
+    /**
+     * @param clientIp The caller's IP address.
+     * @param email    The account being logged into.
+     * @return Seconds the caller must wait before trying again, or 0 if the attempt may proceed.
+     */
+    public long retryAfterSeconds(String clientIp, String email) {
+        if (!config.isEnabled()) {
+            return 0;
+        }
+        return Math.max(store.lockedForSeconds(ipKey(clientIp)), store.lockedForSeconds(accountKey(email)));
+    }
+
+    /**
+     * Counts a failed login against both the IP and the account.
+     *
+     * @param clientIp The caller's IP address.
+     * @param email    The account being logged into.
+     */
+    public void recordFailure(String clientIp, String email) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long ipLockout = store.recordFailure(ipKey(clientIp), config.getMaxFailuresPerIp());
+        long accountLockout = store.recordFailure(accountKey(email), config.getMaxFailuresPerAccount());
+        if (ipLockout > 0 || accountLockout > 0) {
+            logger.warn("Login throttled: ip={} locked {}s, account={} locked {}s", clientIp, ipLockout, email, accountLockout);
+        }
+    }
+
+    /**
+     * Clears the account's failures after a successful login. IP counters are kept, so one valid
+     * login from an address does not reset an attack running from it.
+     *
+     * @param email The account that logged in.
+     */
+    public void recordSuccess(String email) {
+        if (config.isEnabled()) {
+            store.reset(accountKey(email));
+        }
+    }
+
+    /**
+     * Resolves the caller's IP, honouring X-Forwarded-For only when configured to trust the proxy.
+     *
+     * @param request The HTTP request.
+     * @return The client IP address.
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        if (config.isTrustForwardedFor()) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma > 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+}
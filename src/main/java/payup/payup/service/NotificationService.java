@@ -3,9 +3,20 @@ package payup.payup.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.dto.NotificationDto;
+import payup.payup.dto.NotificationFeedPageDto;
+import payup.payup.event.NotificationCreatedEvent;
+import payup.payup.event.OverdueMarkedEvent;
+import payup.payup.mapper.NotificationMapper;
 import payup.payup.model.Notification;
 import payup.payup.model.Tenant;
 import payup.payup.model.User;
@@ -23,6 +34,7 @@ import java.util.concurrent.CompletableFuture;
 public class NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+    private static final int MAX_FEED_PAGE_SIZE = 100;
 
     @Autowired
     private NotificationRepository notificationRepository;
@@ -39,6 +51,18 @@ public class NotificationService {
     @Autowired
     private SmsService smsService; // New SMS service injection
 
+    @Autowired
+    private NotificationMapper notificationMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeliveryMetricsService deliveryMetricsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager; // Saves overdue notices after the sweep has committed
+
     /**
      * Sends a notification from a tenant to an admin via email.
      *
@@ -65,12 +89,14 @@ public class NotificationService {
 
         try {
             emailService.sendEmail(admin.getEmail(), "Tenant Notification", notification.getMessage());
+            deliveryMetricsService.recordNotification("admin", true);
         } catch (Exception e) {
+            deliveryMetricsService.recordNotification("admin", false);
             logger.error("Failed to send email to admin: {}", e.getMessage(), e);
             throw new RuntimeException("Email sending failed", e);
         }
 
-        return notificationRepository.save(notification);
+        return saveAndPublish(notification);
     }
 
     /**
@@ -98,12 +124,14 @@ public class NotificationService {
         try {
             emailService.sendEmail(tenant.getEmail(), "Landlord Notification", message);
             smsService.sendSms(tenant.getPhone(), message); // Send SMS to tenant's registered phone
+            deliveryMetricsService.recordNotification("tenant", true);
         } catch (Exception e) {
+            deliveryMetricsService.recordNotification("tenant", false);
             logger.error("Failed to send notification to tenantId={}: {}", tenant.getId(), e.getMessage(), e);
             throw new RuntimeException("Notification sending failed", e);
         }
 
-        return notificationRepository.save(notification);
+        return saveAndPublish(notification);
     }
 
     /**
@@ -125,16 +153,108 @@ public class NotificationService {
         List<Tenant> allTenants = tenantRepository.findAll();
         logger.info("Broadcasting notification from landlordId={} to {} tenants: {}", sender.getId(), allTenants.size(), message);
 
+        deliveryMetricsService.broadcastQueued(allTenants.size());
         for (Tenant tenant : allTenants) {
             try {
                 sendNotificationToTenant(tenant, message, sender);
             } catch (Exception e) {
                 logger.warn("Failed to notify tenantId={}: {}", tenant.getId(), e.getMessage());
                 // Continue processing despite individual failures
+            } finally {
+                deliveryMetricsService.broadcastDeliveryDone();
             }
         }
 
         logger.info("Broadcast notification completed: {}", message);
         return CompletableFuture.completedFuture(null);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tells the tenants of bills or rents the overdue sweeper just marked overdue, through an in-app notification
+     * that also reaches their live stream and unread count. Each bill or rent is only marked once, so tenants are
+     * told once per newly overdue chunk. Runs after the sweep chunk commits, in its own transaction; a failure
+     * is logged and leaves the persisted overdue state untouched.
+     *
+     * @param event The chunk marked overdue.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOverdueMarked(OverdueMarkedEvent event) {
+        if (event.getTenantIds().isEmpty()) {
+            return;
+        }
+        boolean rent = event.getKind() == OverdueMarkedEvent.Kind.RENT;
+        String message = rent ? "Your rent is now overdue. Please pay it as soon as possible."
+                : "You have a bill that is now overdue. Please pay it as soon as possible.";
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> tenantRepository.findAllById(event.getTenantIds()).forEach(tenant -> {
+                Notification notification = new Notification(message, tenant);
+                notification.setType(rent ? Notification.NotificationType.RENT_DUE : Notification.NotificationType.GENERAL);
+                saveAndPublish(notification);
+            }));
+            logger.debug("Notified {} tenants of overdue {}", event.getTenantIds().size(), event.getKind());
+        } catch (Exception e) {
+            logger.error("Failed to notify tenants of overdue {}: {}", event.getKind(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retrieves one page of a tenant's notification feed using seek pagination on (createdAt, id),
+     * so every page costs the same regardless of how deep the tenant scrolls.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param status   Optional status filter.
+     * @param type     Optional type filter; combined with status when both are given.
+     * @param cursor   Opaque cursor from the previous page, or null for the first page.
+     * @param size     Requested page size, capped at 100.
+     * @return The page of notifications and the cursor for the next one.
+     * @throws IllegalArgumentException if the cursor is malformed or the size is not positive.
+     */
+    @Transactional(readOnly = true)
+    public NotificationFeedPageDto getFeed(Long tenantId, Notification.NotificationStatus status,
+                                           Notification.NotificationType type, String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int limit = Math.min(size, MAX_FEED_PAGE_SIZE);
+        SeekCursor position = SeekCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<NotificationDto> rows;
+        if (status != null && type != null) {
+            rows = notificationRepository.findFeedPageByStatusAndType(tenantId, status, type, position.getTimestamp(),
+                    position.getId(), pageRequest);
+        } else if (status != null) {
+            rows = notificationRepository.findFeedPageByStatus(tenantId, status, position.getTimestamp(), position.getId(), pageRequest);
+        } else if (type != null) {
+            rows = notificationRepository.findFeedPageByType(tenantId, type, position.getTimestamp(), position.getId(), pageRequest);
+        } else {
+            rows = notificationRepository.findFeedPage(tenantId, position.getTimestamp(), position.getId(), pageRequest);
+        }
+
+        boolean hasMore = rows.size() > limit;
+        List<NotificationDto> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDto last = items.get(items.size() - 1);
+            nextCursor = new SeekCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        logger.debug("Feed page for tenantId={}: {} items, hasMore={}", tenantId, items.size(), hasMore);
+        return new NotificationFeedPageDto(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Persists a notification and publishes a NotificationCreatedEvent so listeners
+     * (such as the tenant's live notification stream) are fed once the transaction commits.
+     *
+     * @param notification The notification to save.
+     * @return The saved notification object.
+     */
+    private Notification saveAndPublish(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(saved.getTenant().getId(), notificationMapper.toDto(saved)));
+        return saved;
+    }
+}
@@ -0,0 +1,237 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import payup.payup.event.NotificationCreatedEvent;
+import payup.payup.event.UserChangedEvent;
+import payup.payup.model.Notification;
+import payup.payup.model.Tenant;
+import payup.repository.NotificationRepository;
+import payup.repository.TenantRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks read/unread state of tenant notifications. Keeps a cached unread counter per tenant
+ * that is loaded once from the database, adjusted atomically as notifications are created or read,
+ * and periodically reconciled against the notifications table so drift cannot accumulate.
+ */
+@Service
+public class NotificationStateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStateService.class);
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final TenantRepository tenantRepository;
+    private final ConcurrentMap<Long, AtomicLong> unreadCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TenantRef> tenantsByEmail = new ConcurrentHashMap<>();
+
+    @Value("${notifications.unread.max-cached-tenants:100000}")
+    private int maxCachedTenants;
+
+    public NotificationStateService(NotificationRepository notificationRepository, TenantRepository tenantRepository) {
+        this.notificationRepository = notificationRepository;
+        this.tenantRepository = tenantRepository;
+    }
+
+    /**
+     * Resolves the tenant ID behind an authenticated email, caching the mapping so repeated
+     * badge lookups do not query the tenant table.
+     *
+     * @param email The email of the authenticated user.
+     * @return The tenant ID, or empty if the user is not a tenant.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> resolveTenantId(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        TenantRef cached = tenantsByEmail.get(email);
+        if (cached != null) {
+            return Optional.of(cached.tenantId());
+        }
+        Optional<Tenant> tenant = tenantRepository.findByEmail(email);
+        tenant.ifPresent(found -> {
+            evictIfFull(tenantsByEmail);
+            tenantsByEmail.put(email, new TenantRef(found.getUser().getId(), found.getId()));
+        });
+        return tenant.map(Tenant::getId);
+    }
+
+    /**
+     * Returns the unread notification count of a tenant, served from cache after the first call.
+     *
+     * @param tenantId The ID of the tenant.
+     * @return The number of unread notifications.
+     */
+    @Transactional(readOnly = true)
+    public long getUnreadCount(Long tenantId) {
+        AtomicLong counter = unreadCounters.get(tenantId);
+        if (counter != null) {
+            return counter.get();
+        }
+        long count = notificationRepository.countByTenantIdAndStatus(tenantId, Notification.NotificationStatus.UNREAD);
+        evictIfFull(unreadCounters);
+        // Another thread may have loaded (and since adjusted) the counter meanwhile; keep theirs
+        return unreadCounters.computeIfAbsent(tenantId, id -> new AtomicLong(count)).get();
+    }
+
+    /**
+     * Marks the given notifications of a tenant as read in one UPDATE statement.
+     *
+     * @param tenantId        The ID of the tenant who owns the notifications.
+     * @param notificationIds The IDs to mark as read; IDs of other tenants are ignored.
+     * @return The number of notifications that changed from UNREAD to READ.
+     * @throws IllegalArgumentException if the ID list is null or empty.
+     */
+    @Transactional
+    public int markAsRead(Long tenantId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            logger.error("No notification IDs supplied for tenantId={}", tenantId);
+            throw new IllegalArgumentException("Notification IDs must not be empty");
+        }
+        int updated = notificationRepository.markAsReadForTenant(tenantId, new LinkedHashSet<>(notificationIds));
+        afterCommit(() -> decrement(tenantId, updated));
+        logger.info("Marked {} notifications as read for tenantId={}", updated, tenantId);
+        return updated;
+    }
+
+    /**
+     * Marks every unread notification of a tenant as read.
+     *
+     * @param tenantId The ID of the tenant.
+     * @return The number of notifications updated.
+     */
+    @Transactional
+    public int markAllAsRead(Long tenantId) {
+        int updated = notificationRepository.markAllAsReadForTenant(tenantId);
+        afterCommit(() -> {
+            AtomicLong counter = unreadCounters.get(tenantId);
+            if (counter != null) {
+                counter.set(0);
+            }
+        });
+        logger.info("Marked all {} notifications as read for tenantId={}", updated, tenantId);
+        return updated;
+    }
+
+    /**
+     * Bumps the cached unread counter once a new notification has been committed.
+     * Tenants without a cached counter are skipped; their count is loaded fresh on next read.
+     *
+     * @param event The event carrying the saved notification.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        AtomicLong counter = unreadCounters.get(event.getTenantId());
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+    }
+
+    /**
+     * Re-reads the unread counts of all cached tenants with grouped COUNT queries and overwrites the counters.
+     */
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        List<Long> tenantIds = new ArrayList<>(unreadCounters.keySet());
+        if (tenantIds.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int corrected = 0;
+        for (int from = 0; from < tenantIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = tenantIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, tenantIds.size()));
+            Map<Long, Long> counts = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByTenantIds(batch)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long tenantId : batch) {
+                AtomicLong counter = unreadCounters.get(tenantId);
+                long actual = counts.getOrDefault(tenantId, 0L);
+                if (counter != null && counter.getAndSet(actual) != actual) {
+                    corrected++;
+                }
+            }
+        }
+        logger.info("Reconciled unread counters for {} tenants in {} ms, {} corrected",
+                tenantIds.size(), System.currentTimeMillis() - start, corrected);
+    }
+
+    /**
+     * Drops cached state for a tenant, e.g. after the tenant is deleted.
+     *
+     * @param tenantId The ID of the tenant.
+     */
+    public void evict(Long tenantId) {
+        unreadCounters.remove(tenantId);
+        tenantsByEmail.values().removeIf(ref -> tenantId.equals(ref.tenantId()));
+    }
+
+    /**
+     * Drops the cached email mapping of a changed user, under whatever email it was cached, and any mapping
+     * of the user's current email, so a renamed user and a later owner of the old address both resolve afresh.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        tenantsByEmail.values().removeIf(ref -> event.getUserId().equals(ref.userId()));
+        if (!event.isDeleted() && event.getUser().email() != null) {
+            tenantsByEmail.remove(event.getUser().email());
+        }
+    }
+
+    /**
+     * Runs a counter adjustment once the current transaction commits, so a rollback leaves the counter alone;
+     * without a transaction the change is already durable and the adjustment runs at once.
+     */
+    private void afterCommit(Runnable adjustment) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjustment.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjustment.run();
+            }
+        });
+    }
+
+    private void decrement(Long tenantId, int by) {
+        AtomicLong counter = unreadCounters.get(tenantId);
+        if (counter != null && by > 0) {
+            counter.updateAndGet(value -> Math.max(0, value - by));
+        }
+    }
+
+    /** The tenant an email resolved to, with the user it belongs to so user changes can find the entry. */
+    private record TenantRef(Long userId, Long tenantId) {
+    }
+
+    private void evictIfFull(Map<?, ?> cache) {
+        if (cache.size() >= maxCachedTenants) {
+            logger.warn("Notification state cache reached {} entries, clearing", maxCachedTenants);
+            cache.clear();
+        }
+    }
+}
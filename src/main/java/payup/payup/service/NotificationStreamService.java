@@ -0,0 +1,223 @@
+package payup.payup.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import payup.payup.config.NotificationStreamConfig;
+import payup.payup.dto.NotificationDto;
+import payup.payup.event.NotificationCreatedEvent;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory fan-out hub pushing tenant notifications over Server-Sent Events.
+ * Each subscriber owns a bounded queue drained by a small dispatcher pool, so a slow client
+ * never blocks the publisher: when its queue is full the oldest pending event is dropped.
+ * Notifications are fed in after the saving transaction commits, so clients no longer need to poll.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private final NotificationStreamConfig config;
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    public NotificationStreamService(NotificationStreamConfig config) {
+        this.config = config;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(
+                config.getDispatcherThreads(), config.getDispatcherThreads(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Opens a new event stream for a tenant.
+     *
+     * @param tenantId The ID of the tenant subscribing to their notifications.
+     * @return The SseEmitter to return from the controller.
+     * @throws IllegalStateException if the tenant already has the maximum number of open streams.
+     */
+    public SseEmitter subscribe(Long tenantId) {
+        Set<Subscriber> tenantSubscribers = subscribers.computeIfAbsent(tenantId, id -> ConcurrentHashMap.newKeySet());
+        if (tenantSubscribers.size() >= config.getMaxSubscribersPerTenant()) {
+            logger.warn("Rejecting stream for tenantId={}: {} streams already open", tenantId, tenantSubscribers.size());
+            throw new IllegalStateException("Too many open notification streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(config.getEmitterTimeoutMs());
+        Subscriber subscriber = new Subscriber(tenantId, emitter, config.getQueueCapacity());
+        tenantSubscribers.add(subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscriber.enqueue(SseEmitter.event().name("connected").data("ok"));
+        logger.info("Notification stream opened for tenantId={}, open streams={}", tenantId, tenantSubscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Pushes a notification to every open stream of its tenant once the saving transaction has committed.
+     *
+     * @param event The event carrying the saved notification.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        publish(event.getTenantId(), event.getNotification());
+    }
+
+    /**
+     * Pushes a notification to every open stream of a tenant. Never blocks on slow clients.
+     *
+     * @param tenantId     The ID of the target tenant.
+     * @param notification The notification payload.
+     */
+    public void publish(Long tenantId, NotificationDto notification) {
+        if (tenantId == null || notification == null) {
+            return;
+        }
+        Set<Subscriber> tenantSubscribers = subscribers.get(tenantId);
+        if (tenantSubscribers == null || tenantSubscribers.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : tenantSubscribers) {
+            subscriber.enqueue(SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name("notification")
+                    .data(notification));
+        }
+        logger.debug("Published notificationId={} to {} streams for tenantId={}",
+                notification.getId(), tenantSubscribers.size(), tenantId);
+    }
+
+    /**
+     * Sends a comment line to idle streams so proxies keep the connection open and dead clients are detected.
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(tenantSubscribers -> tenantSubscribers.forEach(subscriber -> {
+            if (subscriber.isIdle()) {
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    /**
+     * @return The number of currently open streams across all tenants.
+     */
+    public int getOpenStreamCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * @return The number of events dropped because a subscriber's queue was full.
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(tenantSubscribers -> tenantSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.tenantId, (id, tenantSubscribers) -> {
+            tenantSubscribers.remove(subscriber);
+            return tenantSubscribers.isEmpty() ? null : tenantSubscribers;
+        });
+        logger.debug("Notification stream closed for tenantId={}", subscriber.tenantId);
+    }
+
+    /**
+     * A single open stream with its own bounded queue. At most one dispatcher task drains a
+     * subscriber at a time, which keeps events ordered without locking the publisher.
+     */
+    private final class Subscriber {
+        private final Long tenantId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private Subscriber(Long tenantId, SseEmitter emitter, int capacity) {
+            this.tenantId = tenantId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean isIdle() {
+            return queue.isEmpty() && !draining.get();
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            while (!queue.offer(event)) {
+                // Backpressure: drop the oldest pending event rather than block or grow without bound
+                if (queue.poll() != null) {
+                    droppedEvents.incrementAndGet();
+                    logger.debug("Dropped oldest pending event for tenantId={}", tenantId);
+                }
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    logger.warn("Dispatcher rejected drain for tenantId={}: {}", tenantId, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Stream for tenantId={} is gone: {}", tenantId, e.getMessage());
+                queue.clear();
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
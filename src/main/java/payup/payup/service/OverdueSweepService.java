@@ -0,0 +1,172 @@
+package payup.payup.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.event.OverdueMarkedEvent;
+import payup.repository.BillRepository;
+import payup.repository.RentRepository;
+import payup.repository.TenantRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persists overdue state so it can be queried in SQL. On a fixed delay, PENDING bills past their due date
+ * are flipped to OVERDUE and unpaid rents past their due date are flagged overdue. Each kind is walked in ID
+ * order in bounded chunks: one indexed read of the next chunk's IDs, then one conditional UPDATE in its own
+ * short transaction, so a large backlog never holds long locks. The UPDATE re-checks the conditions, so
+ * sweeps on several instances or a payment landing mid-sweep are safe. Every chunk publishes an
+ * {@link OverdueMarkedEvent} with the tenants concerned, which {@link NotificationService} turns into
+ * overdue notices once the chunk commits.
+ */
+@Service
+public class OverdueSweepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueSweepService.class);
+
+    private final BillRepository billRepository;
+    private final RentRepository rentRepository;
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final Timer sweepTimer;
+    private final Counter billsCounter;
+    private final Counter rentsCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OverdueSweepService(BillRepository billRepository,
+                               RentRepository rentRepository,
+                               TenantRepository tenantRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry,
+                               @Value("${billing.overdue.enabled:true}") boolean enabled,
+                               @Value("${billing.overdue.chunk-size:500}") int chunkSize) {
+        this.billRepository = billRepository;
+        this.rentRepository = rentRepository;
+        this.tenantRepository = tenantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.sweepTimer = Timer.builder("payup.overdue.sweep")
+                .description("Time taken by overdue sweeps")
+                .register(meterRegistry);
+        this.billsCounter = Counter.builder("payup.overdue.marked")
+                .description("Bills and rents marked overdue, by kind")
+                .tag("kind", "bill")
+                .register(meterRegistry);
+        this.rentsCounter = Counter.builder("payup.overdue.marked")
+                .description("Bills and rents marked overdue, by kind")
+                .tag("kind", "rent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sweeps on the configured fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${billing.overdue.sweep-interval-ms:900000}",
+            initialDelayString = "${billing.overdue.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * Marks every bill and rent that is past due as overdue. Does nothing if a sweep is already running
+     * on this instance.
+     */
+    public void sweep() {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Overdue sweep already running, skipping");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int bills = sweepBills(LocalDateTime.now());
+            int rents = sweepRents(LocalDate.now());
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (bills > 0 || rents > 0) {
+                logger.info("Overdue sweep marked {} bills and {} rents overdue in {} ms", bills, rents, elapsedMs);
+            } else {
+                logger.debug("Overdue sweep found nothing past due in {} ms", elapsedMs);
+            }
+        } catch (Exception e) {
+            logger.error("Overdue sweep failed: {}", e.getMessage(), e);
+        } finally {
+            sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            running.set(false);
+        }
+    }
+
+    private int sweepBills(LocalDateTime now) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = billRepository.findOverdueCandidateIds(now, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            Integer marked = transactionTemplate.execute(status -> {
+                int count = billRepository.markOverdue(ids, now);
+                if (count > 0) {
+                    List<Long> userIds = billRepository.findOverdueUserIdsByIdIn(ids);
+                    List<Long> tenantIds = userIds.isEmpty() ? List.of() : tenantRepository.findIdsByUserIdIn(userIds);
+                    eventPublisher.publishEvent(new OverdueMarkedEvent(OverdueMarkedEvent.Kind.BILL, count, tenantIds));
+                }
+                return count;
+            });
+            int count = marked != null ? marked : 0;
+            billsCounter.increment(count);
+            total += count;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int sweepRents(LocalDate today) {
+        int total = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = rentRepository.findOverdueCandidateIds(today, afterId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            Integer marked = transactionTemplate.execute(status -> {
+                int count = rentRepository.markOverdue(ids, today);
+                if (count > 0) {
+                    eventPublisher.publishEvent(new OverdueMarkedEvent(OverdueMarkedEvent.Kind.RENT, count,
+                            rentRepository.findOverdueTenantIdsByIdIn(ids)));
+                }
+                return count;
+            });
+            int count = marked != null ? marked : 0;
+            rentsCounter.increment(count);
+            total += count;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
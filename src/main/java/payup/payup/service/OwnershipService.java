@@ -0,0 +1,164 @@
+package payup.payup.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payup.payup.dto.UserView;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.model.User;
+import payup.repository.PropertyRepository;
+import payup.repository.TenantRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Answers "does this landlord own that property or tenant" from a per-landlord cache of owned IDs,
+ * held as sorted primitive arrays and loaded with two ID-only queries on first use. Exposed to
+ * method security as {@code @ownership}, e.g.
+ * {@code @PreAuthorize("hasRole('LANDLORD') and @ownership.ownsProperty(authentication, #propertyId)")}.
+ * Entries are dropped when a property or tenant changes hands, on other instances too when
+ * {@link RedisOwnershipRelay} is enabled, and expire after a short TTL as a safety net.
+ */
+@Service("ownership")
+public class OwnershipService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnershipService.class);
+
+    private final PropertyRepository propertyRepository;
+    private final TenantRepository tenantRepository;
+    private final UserService userService;
+    private final Cache<Long, OwnedIds> owned;
+
+    public OwnershipService(PropertyRepository propertyRepository,
+                            TenantRepository tenantRepository,
+                            UserService userService,
+                            @Value("${security.ownership.cache-size:10000}") long cacheSize,
+                            @Value("${security.ownership.cache-ttl-ms:30000}") long cacheTtlMs) {
+        this.propertyRepository = propertyRepository;
+        this.tenantRepository = tenantRepository;
+        this.userService = userService;
+        this.owned = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    /**
+     * @param authentication The current authentication.
+     * @param propertyId     The ID of the property.
+     * @return true if the caller is an admin or the landlord who owns the property.
+     */
+    public boolean ownsProperty(Authentication authentication, Long propertyId) {
+        if (propertyId == null) {
+            return false;
+        }
+        return check(authentication, ids -> Arrays.binarySearch(ids.propertyIds(), propertyId) >= 0);
+    }
+
+    /**
+     * @param authentication The current authentication.
+     * @param tenantId       The ID of the tenant.
+     * @return true if the caller is an admin or the landlord who owns the tenant's property.
+     */
+    public boolean ownsTenant(Authentication authentication, Long tenantId) {
+        if (tenantId == null) {
+            return false;
+        }
+        return check(authentication, ids -> Arrays.binarySearch(ids.tenantIds(), tenantId) >= 0);
+    }
+
+    /**
+     * Resolves the landlord behind an authentication from the user cache.
+     *
+     * @param authentication The current authentication.
+     * @return The landlord's user ID, or empty if the caller is not a known landlord.
+     */
+    public Optional<Long> landlordId(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        return userService.findViewByEmail(authentication.getName())
+                .filter(user -> user.role() == User.UserRole.LANDLORD)
+                .map(UserView::id);
+    }
+
+    /**
+     * Drops cached ownership for landlords affected by a property or tenant change, once it has committed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        invalidate(event.getKind(), event.getId());
+    }
+
+    /**
+     * Drops cached ownership for every landlord this instance holds the property or tenant under,
+     * and for its current owner. Also called for changes relayed from other instances.
+     *
+     * @param kind The kind of entity that changed.
+     * @param id   The ID of the entity.
+     */
+    public void invalidate(EntityChangedEvent.Kind kind, Long id) {
+        if (id == null) {
+            return;
+        }
+        List<Long> affected = new ArrayList<>();
+        switch (kind) {
+            case PROPERTY -> {
+                owned.asMap().forEach((landlordId, ids) -> {
+                    if (Arrays.binarySearch(ids.propertyIds(), id) >= 0) {
+                        affected.add(landlordId);
+                    }
+                });
+                propertyRepository.findOwnerIdById(id).ifPresent(affected::add);
+            }
+            case TENANT -> {
+                owned.asMap().forEach((landlordId, ids) -> {
+                    if (Arrays.binarySearch(ids.tenantIds(), id) >= 0) {
+                        affected.add(landlordId);
+                    }
+                });
+                tenantRepository.findPropertyOwnerIdById(id).ifPresent(affected::add);
+            }
+            default -> {
+                return;
+            }
+        }
+        owned.invalidateAll(affected);
+        logger.debug("Ownership cache invalidated for landlords {} after {} {} changed", affected, kind, id);
+    }
+
+    private boolean check(Authentication authentication, Predicate<OwnedIds> test) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+            return true;
+        }
+        return landlordId(authentication)
+                .map(id -> test.test(owned.get(id, this::load)))
+                .orElse(false);
+    }
+
+    private OwnedIds load(Long landlordId) {
+        long[] propertyIds = propertyRepository.findIdsByOwnerId(landlordId).stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] tenantIds = tenantRepository.findIdsByPropertyOwnerId(landlordId).stream().mapToLong(Long::longValue).sorted().toArray();
+        logger.debug("Loaded ownership for landlordId={}: {} properties, {} tenants", landlordId, propertyIds.length, tenantIds.length);
+        return new OwnedIds(propertyIds, tenantIds);
+    }
+
+    /** Sorted IDs of everything one landlord owns. */
+    private record OwnedIds(long[] propertyIds, long[] tenantIds) {
+    }
+}
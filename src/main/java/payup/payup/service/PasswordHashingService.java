@@ -0,0 +1,161 @@
+package payup.payup.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import payup.payup.config.PasswordHashingConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing on a dedicated, bounded pool so bursts of logins or registrations cannot
+ * occupy every request thread with BCrypt work. When the pool and its queue are full, new work is
+ * rejected with a RejectedExecutionException instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final BCryptPasswordEncoder encoder;
+    private final PasswordHashingConfig config;
+    private final ThreadPoolExecutor executor;
+    private final int bulkParallelism;
+    private final String dummyHash;
+
+    public PasswordHashingService(BCryptPasswordEncoder encoder, PasswordHashingConfig config) {
+        this.encoder = encoder;
+        this.config = config;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                config.getPoolSize(), config.getPoolSize(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // Bulk jobs never take the whole pool, so logins keep threads to run on while an import hashes
+        this.bulkParallelism = config.getBulkParallelism() > 0
+                ? Math.min(config.getBulkParallelism(), config.getPoolSize())
+                : Math.max(1, config.getPoolSize() / 2);
+        // Compared against when the account does not exist, so unknown emails take as long as wrong passwords
+        this.dummyHash = encoder.encode("dummy-password-for-timing");
+    }
+
+    /**
+     * Checks a password on the hashing pool without blocking the caller.
+     *
+     * @param rawPassword     The password supplied by the user.
+     * @param encodedPassword The stored hash, or null if the account does not exist.
+     * @return A future completing with true if the password matches.
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing pool is saturated.
+     */
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+        return CompletableFuture.supplyAsync(
+                () -> encoder.matches(rawPassword, hash) && encodedPassword != null, executor);
+    }
+
+    /**
+     * Hashes a password on the hashing pool and waits for the result.
+     *
+     * @param rawPassword The password to hash.
+     * @return The BCrypt hash.
+     * @throws IllegalStateException if hashing fails or takes longer than the configured timeout.
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing pool is saturated.
+     */
+    public String encode(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor)
+                    .get(config.getTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Password hashing failed: {}", e.getMessage());
+            throw new IllegalStateException("Password hashing failed", e);
+        }
+    }
+
+    /**
+     * Hashes many passwords in parallel on the hashing pool. At most bulkParallelism hashes (half the pool by
+     * default) are in flight at once, so a bulk import leaves pool threads and queue room for logins; if the
+     * pool still rejects work because logins are busy, that password is hashed on the calling thread instead.
+     *
+     * @param rawPasswords The passwords to hash.
+     * @return The BCrypt hashes, in the same order as the input.
+     * @throws IllegalStateException if hashing fails or the caller is interrupted.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        Semaphore inFlight = new Semaphore(bulkParallelism);
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                inFlight.acquire();
+                CompletableFuture<String> future;
+                try {
+                    future = CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+                } catch (RejectedExecutionException e) {
+                    future = CompletableFuture.completedFuture(encoder.encode(rawPassword));
+                }
+                futures.add(future.whenComplete((hash, error) -> inFlight.release()));
+            }
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (CompletableFuture<String> future : futures) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            logger.error("Bulk password hashing failed: {}", e.getMessage());
+            throw new IllegalStateException("Password hashing failed", e);
+        }
+    }
+
+    /**
+     * Re-hashes a password at the current strength on the hashing pool.
+     *
+     * @param rawPassword The password that was just verified.
+     * @return A future completing with the new hash.
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+    }
+
+    /**
+     * @param encodedPassword A stored hash.
+     * @return true if the hash was made with a lower work factor than the current one.
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && encoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * @return How long a caller should wait for a hash before giving up, in milliseconds.
+     */
+    public long getTimeoutMs() {
+        return config.getTimeoutMs();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
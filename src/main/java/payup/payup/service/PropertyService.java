@@ -1,5 +1,7 @@
 package payup.payup.service;
 
+import payup.payup.config.PropertyScaffoldConfig;
+import payup.payup.event.EntityChangedEvent;
 import payup.payup.exception.UserNotFoundException;
 import payup.payup.model.Floor;
 import payup.payup.model.Property;
@@ -10,12 +12,14 @@ import payup.repository.PropertyRepository;
 import payup.repository.RoomRepository;
 import payup.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,18 +45,45 @@ public class PropertyService {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PropertyScaffoldConfig scaffoldConfig;
+
     /**
-     * Creates a new property and assigns it to a specified landlord, including floors and rooms.
+     * Creates a new property and assigns it to a specified landlord, spreading its units evenly over the floors
+     * at the configured default rent.
      *
      * @param property       The Property object containing details such as name, type, location, and units.
      * @param landlordId     The ID of the landlord (User with LANDLORD role) to whom the property will be assigned.
-     * @param numberOfFloors
+     * @param numberOfFloors The number of floors to create.
      * @return The created Property object with an assigned ID, floors, rooms, and updated timestamps.
      * @throws UserNotFoundException    If no landlord exists with the specified ID.
      * @throws IllegalArgumentException If the user with the specified ID is not a landlord.
      */
     @Transactional
     public Property createProperty(Property property, Long landlordId, int numberOfFloors) throws UserNotFoundException {
+        return createProperty(property, landlordId, numberOfFloors, null, null);
+    }
+
+    /**
+     * Creates a new property and assigns it to a specified landlord, including floors and rooms.
+     * Floors and rooms are built in memory and saved together, so with sequence IDs Hibernate sends
+     * them as JDBC batches instead of one insert per room.
+     *
+     * @param property       The Property object containing details such as name, type, location, and units.
+     * @param landlordId     The ID of the landlord (User with LANDLORD role) to whom the property will be assigned.
+     * @param numberOfFloors The number of floors to create.
+     * @param roomsPerFloor  Rooms on each floor from the ground floor up, or null to spread the units evenly.
+     * @param rentAmount     Rent of every generated room, or null for the configured default.
+     * @return The created Property object with an assigned ID, floors, rooms, and updated timestamps.
+     * @throws UserNotFoundException    If no landlord exists with the specified ID.
+     * @throws IllegalArgumentException If the user is not a landlord, or the layout or rent is invalid.
+     */
+    @Transactional
+    public Property createProperty(Property property, Long landlordId, int numberOfFloors,
+                                   List<Integer> roomsPerFloor, Double rentAmount) throws UserNotFoundException {
         logger.info("Creating property with {} floors for landlord ID: {}", numberOfFloors, landlordId);
 
         User landlord = userRepository.findById(landlordId)
@@ -65,34 +96,44 @@ public class PropertyService {
             throw new IllegalArgumentException("Property must have at least 1 floor");
         }
 
-        if (property.getUnits() < numberOfFloors) {
-            throw new IllegalArgumentException("Number of units cannot be less than number of floors");
+        if (property.getUnits() > scaffoldConfig.getMaxUnits()) {
+            throw new IllegalArgumentException("A property can have at most " + scaffoldConfig.getMaxUnits() + " units");
+        }
+
+        List<Integer> layout = resolveLayout(property.getUnits(), numberOfFloors, roomsPerFloor);
+        double rent = rentAmount != null ? rentAmount : scaffoldConfig.getDefaultRent();
+        if (rent <= 0) {
+            throw new IllegalArgumentException("Rent amount must be a positive value");
         }
 
         property.setOwner(landlord);
+        // Room numbers are unique per property, so a new property numbers its rooms from 1 without any lookup
+        property.setLastRoomNumber(layout.stream().mapToInt(Integer::intValue).sum());
         property.setCreatedAt(LocalDateTime.now());
         property.setUpdatedAt(LocalDateTime.now());
         Property savedProperty = propertyRepository.save(property);
 
-        int unitsPerFloor = (int) Math.ceil((double) property.getUnits() / numberOfFloors);
-        int remainingUnits = property.getUnits();
-
-        // Get the highest existing room number globally
-        int maxRoomNumber = roomRepository.findMaxRoomNumber().orElse(0);
-
+        int roomNumber = 0;
+        List<Floor> floors = new ArrayList<>(numberOfFloors);
+        List<Room> rooms = new ArrayList<>(property.getUnits());
         for (int floorNum = 0; floorNum < numberOfFloors; floorNum++) {
-            Floor floor = new Floor();
-            floor.setFloorNumber(floorNum);
-            floor.setFloorName(getFloorName(floorNum));
-            floor.setProperty(savedProperty);
-            Floor savedFloor = floorRepository.save(floor);
-
-            int floorUnits = Math.min(unitsPerFloor, remainingUnits);
-            createRoomsForFloor(savedProperty, savedFloor, floorUnits, floorNum, maxRoomNumber);
-            remainingUnits -= floorUnits;
-            maxRoomNumber += floorUnits;
+            Floor floor = new Floor(savedProperty, getFloorName(floorNum), floorNum);
+            floors.add(floor);
+            for (int i = 0; i < layout.get(floorNum); i++) {
+                Room room = new Room();
+                room.setRoomNumber(++roomNumber);
+                room.setOccupied(false);
+                room.setRentAmount(rent);
+                room.setFloor(floor);
+                room.setProperty(savedProperty);
+                rooms.add(room);
+            }
         }
+        floorRepository.saveAll(floors);
+        roomRepository.saveAll(rooms);
+        logger.info("Scaffolded property ID {} with {} floors and {} rooms", savedProperty.getId(), floors.size(), rooms.size());
 
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.PROPERTY, savedProperty.getId()));
         return savedProperty;
     }
 
@@ -104,16 +145,39 @@ public class PropertyService {
         return floorNumber + "th Floor";
     }
 
-    private void createRoomsForFloor(Property property, Floor floor, int units, int floorNumber, int startingRoomNumber) {
-        for (int i = 0; i < units; i++) {
-            Room room = new Room();
-            room.setRoomNumber(startingRoomNumber + i + 1);
-            room.setOccupied(false);
-            room.setRentAmount(1000.0);
-            room.setFloor(floor);
-            room.setProperty(property);
-            roomRepository.save(room);
+    /**
+     * Returns the number of rooms on each floor: the requested layout after checking it adds up to the units,
+     * or the units spread evenly with any shortfall on the top floors.
+     */
+    private List<Integer> resolveLayout(int units, int numberOfFloors, List<Integer> roomsPerFloor) {
+        if (roomsPerFloor == null || roomsPerFloor.isEmpty()) {
+            if (units < numberOfFloors) {
+                throw new IllegalArgumentException("Number of units cannot be less than number of floors");
+            }
+            int unitsPerFloor = (int) Math.ceil((double) units / numberOfFloors);
+            int remainingUnits = units;
+            List<Integer> layout = new ArrayList<>(numberOfFloors);
+            for (int floorNum = 0; floorNum < numberOfFloors; floorNum++) {
+                int floorUnits = Math.min(unitsPerFloor, remainingUnits);
+                layout.add(floorUnits);
+                remainingUnits -= floorUnits;
+            }
+            return layout;
         }
+        if (roomsPerFloor.size() != numberOfFloors) {
+            throw new IllegalArgumentException("Room layout lists " + roomsPerFloor.size() + " floors but the property has " + numberOfFloors);
+        }
+        int total = 0;
+        for (Integer floorUnits : roomsPerFloor) {
+            if (floorUnits == null || floorUnits < 0) {
+                throw new IllegalArgumentException("Rooms per floor must be zero or more");
+            }
+            total += floorUnits;
+        }
+        if (total != units) {
+            throw new IllegalArgumentException("Room layout adds up to " + total + " rooms but the property has " + units + " units");
+        }
+        return roomsPerFloor;
     }
 
     public Property getPropertyById(Long id) {
@@ -145,7 +209,9 @@ public class PropertyService {
         }
         existingProperty.setUpdatedAt(LocalDateTime.now());
 
-        return propertyRepository.save(existingProperty);
+        Property savedProperty = propertyRepository.save(existingProperty);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.PROPERTY, propertyId));
+        return savedProperty;
     }
 
     /**
@@ -160,6 +226,7 @@ public class PropertyService {
                 throw new IllegalArgumentException("Property not found with ID: " + propertyId);
             }
             propertyRepository.deleteById(propertyId);
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.PROPERTY, propertyId));
     }
 
     /**
@@ -200,8 +267,8 @@ public class PropertyService {
      * @throws IllegalArgumentException If no property exists with the specified ID.
      */
     public boolean isPropertyOwner(Long propertyId, Long landlordId) throws IllegalArgumentException {
-        Property property = propertyRepository.findById(propertyId)
+        Long ownerId = propertyRepository.findOwnerIdById(propertyId)
                 .orElseThrow(() -> new IllegalArgumentException("Property not found with ID: " + propertyId));
-        return property.getOwner() != null && property.getOwner().getId().equals(landlordId);
+        return ownerId.equals(landlordId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.dto.PropertySnapshotDto;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.event.UserChangedEvent;
+import payup.repository.FloorRepository;
+import payup.repository.PropertyRepository;
+import payup.repository.TenantRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds the floor, room and tenant tree of a property with three set-based queries (property, floors joined
+ * to rooms, tenants) instead of walking the lazy collections, and keeps a cheap version for HTTP revalidation.
+ * The version is Property.updatedAt: room, tenant and tenant user changes bump it once per property and
+ * transaction however many rows changed. The bump runs in its own short transaction after the change commits,
+ * so writers such as room claims never lock the property row; a revalidation landing between the commit and
+ * the bump may still see the previous version for those few milliseconds.
+ */
+@Service
+public class PropertySnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertySnapshotService.class);
+
+    private final PropertyRepository propertyRepository;
+    private final FloorRepository floorRepository;
+    private final TenantRepository tenantRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public PropertySnapshotService(PropertyRepository propertyRepository,
+                                   FloorRepository floorRepository,
+                                   TenantRepository tenantRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.propertyRepository = propertyRepository;
+        this.floorRepository = floorRepository;
+        this.tenantRepository = tenantRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reads the current ETag of a property's snapshot without loading the snapshot.
+     *
+     * @param propertyId The ID of the property.
+     * @return The ETag value (unquoted), or empty if the property does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getEtag(Long propertyId) {
+        return propertyRepository.findUpdatedAtById(propertyId).map(updatedAt -> etag(propertyId, updatedAt));
+    }
+
+    /**
+     * Loads a property with its floors, rooms and tenants.
+     * The property row is read first, so a change committed while the tree loads can only make the returned
+     * version older than the data, never newer; the next revalidation then fetches the tree again.
+     *
+     * @param propertyId The ID of the property.
+     * @return The snapshot.
+     * @throws IllegalArgumentException if the property does not exist.
+     */
+    @Transactional(readOnly = true)
+    public PropertySnapshotDto getSnapshot(Long propertyId) {
+        List<Object[]> header = propertyRepository.findSnapshotRowsById(propertyId);
+        if (header.isEmpty()) {
+            throw new IllegalArgumentException("Property not found with ID: " + propertyId);
+        }
+        Object[] row = header.get(0);
+        PropertySnapshotDto snapshot = new PropertySnapshotDto();
+        snapshot.setId((Long) row[0]);
+        snapshot.setName((String) row[1]);
+        snapshot.setType((String) row[2]);
+        snapshot.setLocation((String) row[3]);
+        snapshot.setUnits(row[4] != null ? (Integer) row[4] : 0);
+        snapshot.setOwnerId((Long) row[5]);
+        snapshot.setOwnerName(fullName((String) row[6], (String) row[7]));
+        snapshot.setUpdatedAt((LocalDateTime) row[8]);
+
+        Map<Long, PropertySnapshotDto.FloorNode> floors = new HashMap<>();
+        Map<Long, PropertySnapshotDto.RoomNode> rooms = new HashMap<>();
+        for (Object[] roomRow : floorRepository.findSnapshotRowsByPropertyId(propertyId)) {
+            PropertySnapshotDto.FloorNode floor = floors.computeIfAbsent((Long) roomRow[0], id -> {
+                PropertySnapshotDto.FloorNode node = new PropertySnapshotDto.FloorNode();
+                node.setId(id);
+                node.setFloorNumber((Integer) roomRow[1]);
+                node.setFloorName((String) roomRow[2]);
+                snapshot.getFloors().add(node); // Rows arrive in floor order
+                return node;
+            });
+            if (roomRow[3] == null) {
+                continue;
+            }
+            PropertySnapshotDto.RoomNode room = new PropertySnapshotDto.RoomNode();
+            room.setId((Long) roomRow[3]);
+            room.setRoomNumber((Integer) roomRow[4]);
+            room.setRentAmount((Double) roomRow[5]);
+            room.setOccupied((Boolean) roomRow[6]);
+            floor.getRooms().add(room);
+            rooms.put(room.getId(), room);
+            if (room.isOccupied()) {
+                snapshot.setOccupiedCount(snapshot.getOccupiedCount() + 1);
+            }
+        }
+        snapshot.setRoomCount(rooms.size());
+
+        for (Object[] tenantRow : tenantRepository.findSnapshotRowsByPropertyId(propertyId)) {
+            PropertySnapshotDto.TenantNode tenant = new PropertySnapshotDto.TenantNode();
+            tenant.setId((Long) tenantRow[0]);
+            tenant.setUserId((Long) tenantRow[1]);
+            tenant.setName(fullName((String) tenantRow[2], (String) tenantRow[3]));
+            tenant.setEmail((String) tenantRow[4]);
+            tenant.setPhone((String) tenantRow[5]);
+            PropertySnapshotDto.RoomNode room = tenantRow[6] != null ? rooms.get((Long) tenantRow[6]) : null;
+            if (room != null) {
+                room.getTenants().add(tenant);
+            } else {
+                snapshot.getUnassignedTenants().add(tenant);
+            }
+        }
+        logger.debug("Loaded snapshot of property {}: {} floors, {} rooms", propertyId,
+                snapshot.getFloors().size(), snapshot.getRoomCount());
+        return snapshot;
+    }
+
+    /**
+     * Derives the ETag of a snapshot from its property ID and version.
+     *
+     * @param propertyId The ID of the property.
+     * @param updatedAt  The property's updatedAt.
+     * @return The ETag value (unquoted).
+     */
+    public static String etag(Long propertyId, LocalDateTime updatedAt) {
+        long micros = updatedAt == null ? 0
+                : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return propertyId + "-" + Long.toHexString(micros);
+    }
+
+    /**
+     * Bumps the version of the property a room or tenant belongs to. Property changes set updatedAt themselves.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getKind() == EntityChangedEvent.Kind.PROPERTY || event.getId() == null) {
+            return;
+        }
+        PendingTouches pending = pendingTouches();
+        if (event.getPropertyId() != null) {
+            pending.propertyIds.add(event.getPropertyId());
+        } else if (event.getKind() == EntityChangedEvent.Kind.ROOM) {
+            pending.roomIds.add(event.getId());
+        } else {
+            pending.tenantIds.add(event.getId());
+        }
+        pending.applyIfDetached();
+    }
+
+    /**
+     * Bumps the version of the properties where the changed user is a tenant, since snapshots show tenant
+     * names and contact details.
+     *
+     * @param event The change.
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDeleted()) {
+            return; // Tenants of a deleted user are deleted with their own events
+        }
+        PendingTouches pending = pendingTouches();
+        pending.userIds.add(event.getUserId());
+        pending.applyIfDetached();
+    }
+
+    private PendingTouches pendingTouches() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return new PendingTouches(false);
+        }
+        PendingTouches pending = (PendingTouches) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingTouches(true);
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null) {
+            return lastName;
+        }
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+
+    /**
+     * The properties, rooms, tenants and users changed in one transaction, applied as at most four UPDATEs
+     * in a new transaction once it commits, and dropped if it rolls back. Outside a transaction the change has
+     * already committed, so it is applied at once.
+     */
+    private final class PendingTouches implements TransactionSynchronization {
+        private final boolean bound;
+        private final Set<Long> propertyIds = new LinkedHashSet<>();
+        private final Set<Long> roomIds = new LinkedHashSet<>();
+        private final Set<Long> tenantIds = new LinkedHashSet<>();
+        private final Set<Long> userIds = new LinkedHashSet<>();
+
+        private PendingTouches(boolean bound) {
+            this.bound = bound;
+        }
+
+        void applyIfDetached() {
+            if (!bound) {
+                applyInNewTransaction();
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            applyInNewTransaction();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PropertySnapshotService.this);
+        }
+
+        private void applyInNewTransaction() {
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply());
+            } catch (Exception e) {
+                // The change itself is committed; snapshots revalidate against the old version until the next bump
+                logger.error("Failed to bump snapshot versions: {}", e.getMessage(), e);
+            }
+        }
+
+        private void apply() {
+            LocalDateTime now = LocalDateTime.now();
+            if (!propertyIds.isEmpty()) {
+                propertyRepository.touch(propertyIds, now);
+            }
+            if (!roomIds.isEmpty()) {
+                propertyRepository.touchByRoomIds(roomIds, now);
+            }
+            if (!tenantIds.isEmpty()) {
+                propertyRepository.touchByTenantIds(tenantIds, now);
+            }
+            if (!userIds.isEmpty()) {
+                propertyRepository.touchByTenantUserIds(userIds, now);
+            }
+        }
+    }
+}
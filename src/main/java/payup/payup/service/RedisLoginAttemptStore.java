@@ -0,0 +1,91 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import payup.payup.config.LoginThrottleConfig;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login attempt store shared by all instances through Redis. Uses the same two-bucket sliding window
+ * as the in-memory store, with INCR on per-bucket keys and lockouts held as expiring keys.
+ * If Redis is unreachable the store fails open, so an outage does not lock every user out.
+ */
+@Component
+@ConditionalOnProperty(name = "security.login-throttle.redis-enabled", havingValue = "true")
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisLoginAttemptStore.class);
+    private static final String PREFIX = "payup:login:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final LoginThrottleConfig config;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate, LoginThrottleConfig config) {
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+    }
+
+    @Override
+    public long lockedForSeconds(String key) {
+        try {
+            Long ttl = redisTemplate.getExpire(PREFIX + "lock:" + key, TimeUnit.SECONDS);
+            return ttl != null && ttl > 0 ? ttl : 0;
+        } catch (Exception e) {
+            logger.warn("Login throttle lookup failed, allowing attempt: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public long recordFailure(String key, int maxFailures) {
+        try {
+            long windowMillis = TimeUnit.SECONDS.toMillis(config.getWindowSeconds());
+            long now = System.currentTimeMillis();
+            long bucket = now / windowMillis;
+            String currentKey = PREFIX + "fail:" + key + ":" + bucket;
+            String previousKey = PREFIX + "fail:" + key + ":" + (bucket - 1);
+
+            Long current = redisTemplate.opsForValue().increment(currentKey);
+            redisTemplate.expire(currentKey, Duration.ofMillis(windowMillis * 2));
+            String previous = redisTemplate.opsForValue().get(previousKey);
+
+            double elapsed = (double) (now % windowMillis) / windowMillis;
+            double estimate = (current != null ? current : 0) + (previous != null ? Long.parseLong(previous) : 0) * (1.0 - elapsed);
+            if (estimate < maxFailures) {
+                return 0;
+            }
+
+            String strikesKey = PREFIX + "strikes:" + key;
+            Long strikes = redisTemplate.opsForValue().increment(strikesKey);
+            redisTemplate.expire(strikesKey, Duration.ofSeconds(config.getMaxLockoutSeconds() * 4));
+            long lockout = Math.min(config.getBaseLockoutSeconds() << Math.min((strikes != null ? strikes : 1) - 1, 30),
+                    config.getMaxLockoutSeconds());
+            redisTemplate.opsForValue().set(PREFIX + "lock:" + key, "1", Duration.ofSeconds(lockout));
+            redisTemplate.delete(List.of(currentKey, previousKey));
+            return lockout;
+        } catch (Exception e) {
+            logger.warn("Failed to record login failure in Redis: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            long bucket = System.currentTimeMillis() / TimeUnit.SECONDS.toMillis(config.getWindowSeconds());
+            redisTemplate.delete(List.of(
+                    PREFIX + "lock:" + key,
+                    PREFIX + "strikes:" + key,
+                    PREFIX + "fail:" + key + ":" + bucket,
+                    PREFIX + "fail:" + key + ":" + (bucket - 1)));
+        } catch (Exception e) {
+            logger.warn("Failed to reset login throttle in Redis: {}", e.getMessage());
+        }
+    }
+}
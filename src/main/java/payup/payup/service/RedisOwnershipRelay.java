@@ -0,0 +1,87 @@
+package payup.payup.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payup.payup.event.EntityChangedEvent;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Replicates ownership cache invalidations between instances over Redis pub/sub, so a property or tenant
+ * that changes hands on one instance stops authorizing its previous landlord everywhere. Each instance
+ * works out the affected landlords from its own cache. Only active when security.ownership.redis-enabled
+ * is true; otherwise other instances rely on the cache TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "security.ownership.redis-enabled", havingValue = "true")
+public class RedisOwnershipRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisOwnershipRelay.class);
+    private static final String CHANNEL = "payup:ownership:changed";
+
+    private final StringRedisTemplate redisTemplate;
+    private final OwnershipService ownershipService;
+    private final RedisMessageListenerContainer container;
+
+    public RedisOwnershipRelay(StringRedisTemplate redisTemplate,
+                               RedisConnectionFactory connectionFactory,
+                               OwnershipService ownershipService) {
+        this.redisTemplate = redisTemplate;
+        this.ownershipService = ownershipService;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+    }
+
+    @PostConstruct
+    public void start() {
+        container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        logger.info("Ownership invalidations replicated over Redis channel {}", CHANNEL);
+    }
+
+    /**
+     * Publishes a committed property or tenant change to the other instances.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getKind() == EntityChangedEvent.Kind.ROOM || event.getId() == null) {
+            return; // Rooms do not affect ownership
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event.getKind().name() + ":" + event.getId());
+        } catch (Exception e) {
+            // Local cache already invalidated; other instances catch up when their entries expire
+            logger.error("Failed to relay ownership change of {} {}: {}", event.getKind(), event.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws Exception {
+        container.stop();
+        container.destroy();
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            EntityChangedEvent.Kind kind = EntityChangedEvent.Kind.valueOf(body.substring(0, separator));
+            ownershipService.invalidate(kind, Long.parseLong(body.substring(separator + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            logger.warn("Ignoring malformed ownership message: {}", body);
+        }
+    }
+}
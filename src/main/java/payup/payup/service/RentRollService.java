@@ -0,0 +1,209 @@
+package payup.payup.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.config.RentRollConfig;
+import payup.payup.dto.RentRollReportDto;
+import payup.repository.PropertyRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the monthly rent roll: one unpaid rent per tenant in an occupied room, for the room's rent.
+ * Properties are split into partitions that are inserted in parallel, each with a single INSERT ... SELECT
+ * in its own transaction, so rows never travel through the application. A (tenant, billing period) unique key
+ * plus a NOT EXISTS guard make runs idempotent: rerunning a month, or running it on two nodes at once, only
+ * fills in what is missing.
+ */
+@Service
+public class RentRollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RentRollService.class);
+
+    private static final String INSERT_ROLL = "INSERT INTO rents (amount, due_date, is_paid, tenant_id, billing_period, notes) " +
+            "SELECT CAST(r.rentAmount AS DECIMAL(10, 2)), ?, FALSE, t.id, ?, ? " +
+            "FROM tenant t JOIN rooms r ON r.id = t.roomId " +
+            "WHERE r.property_id IN (%s) AND r.isOccupied = TRUE " +
+            "AND NOT EXISTS (SELECT 1 FROM rents x WHERE x.tenant_id = t.id AND x.billing_period = ?)";
+    private static final int MAX_PARTITION_ATTEMPTS = 3;
+
+    private final RentRollConfig config;
+    private final PropertyRepository propertyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rollTimer;
+    private final Counter rentsCounter;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RentRollService(RentRollConfig config,
+                           PropertyRepository propertyRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.config = config;
+        this.propertyRepository = propertyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollTimer = Timer.builder("payup.rentroll.duration")
+                .description("Time taken by rent roll runs")
+                .register(meterRegistry);
+        this.rentsCounter = Counter.builder("payup.rentroll.rents")
+                .description("Rents created by the rent roll")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rolls the current month on the configured schedule.
+     */
+    @Scheduled(cron = "${rent.roll.cron:0 0 2 1 * *}", zone = "${rent.roll.zone:UTC}")
+    public void scheduledRun() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            run(currentPeriod());
+        } catch (IllegalStateException e) {
+            logger.warn("Skipped scheduled rent roll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return The billing month it currently is in the configured time zone.
+     */
+    public YearMonth currentPeriod() {
+        return YearMonth.now(ZoneId.of(config.getZone()));
+    }
+
+    /**
+     * Creates the missing rents of a billing month.
+     *
+     * @param period The billing month.
+     * @return The run's report, including throughput and any partitions that failed.
+     * @throws IllegalStateException if a rent roll is already running on this instance.
+     */
+    public RentRollReportDto run(YearMonth period) {
+        Objects.requireNonNull(period, "Period must not be null");
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rent roll is already running");
+        }
+        try {
+            return roll(period);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RentRollReportDto roll(YearMonth period) {
+        RentRollReportDto report = new RentRollReportDto();
+        report.setStartedAt(LocalDateTime.now());
+        long start = System.nanoTime();
+
+        LocalDate billingPeriod = period.atDay(1);
+        LocalDate dueDate = period.atDay(Math.min(Math.max(1, config.getDueDay()), period.lengthOfMonth()));
+        String notes = "Rent for " + period;
+        report.setPeriod(period.toString());
+        report.setDueDate(dueDate);
+
+        List<Long> propertyIds = propertyRepository.findAllIds();
+        int partitionSize = Math.max(1, config.getPropertiesPerPartition());
+        List<List<Long>> partitions = new ArrayList<>();
+        for (int i = 0; i < propertyIds.size(); i += partitionSize) {
+            partitions.add(propertyIds.subList(i, Math.min(i + partitionSize, propertyIds.size())));
+        }
+        report.setProperties(propertyIds.size());
+        report.setPartitions(partitions.size());
+
+        long created = 0;
+        int failed = 0;
+        if (!partitions.isEmpty()) {
+            int workers = Math.max(1, Math.min(config.getWorkers(), partitions.size()));
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "rent-roll-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Integer>> results = new ArrayList<>(partitions.size());
+                for (List<Long> partition : partitions) {
+                    results.add(executor.submit(() -> insertPartition(partition, billingPeriod, dueDate, notes)));
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    try {
+                        created += results.get(i).get();
+                    } catch (ExecutionException e) {
+                        failed++;
+                        logger.error("Rent roll {} failed for partition {} of {}: {}", period, i + 1, partitions.size(),
+                                e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running the rent roll", e);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        rollTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rentsCounter.increment(created);
+        report.setRentsCreated(created);
+        report.setFailedPartitions(failed);
+        report.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0.0 : created * 1_000_000_000.0 / elapsedNanos);
+        logger.info("Rent roll {} created {} rents across {} properties in {} ms ({} rows/s, {} of {} partitions failed)",
+                period, created, propertyIds.size(), report.getElapsedMs(), Math.round(report.getRowsPerSecond()),
+                failed, partitions.size());
+        return report;
+    }
+
+    /**
+     * Inserts the missing rents of one partition of properties in one statement and transaction.
+     * A duplicate key means another run inserted some of the same rents first; the retry's NOT EXISTS skips them.
+     */
+    private int insertPartition(List<Long> propertyIds, LocalDate billingPeriod, LocalDate dueDate, String notes) {
+        String sql = String.format(INSERT_ROLL, String.join(", ", Collections.nCopies(propertyIds.size(), "?")));
+        List<Object> params = new ArrayList<>(propertyIds.size() + 4);
+        params.add(dueDate);
+        params.add(billingPeriod);
+        params.add(notes);
+        params.addAll(propertyIds);
+        params.add(billingPeriod);
+        Object[] args = params.toArray();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer inserted = transactionTemplate.execute(status -> jdbcTemplate.update(sql, args));
+                return inserted != null ? inserted : 0;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_PARTITION_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Rent roll partition raced another run (attempt {}), retrying", attempt);
+            }
+        }
+    }
+}
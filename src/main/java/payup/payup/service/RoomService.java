@@ -1,6 +1,12 @@
 package payup.payup.service;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.exception.RoomOccupiedException;
 import payup.payup.model.Property;
 import payup.payup.model.Room;
 import payup.repository.PropertyRepository;
@@ -22,6 +28,10 @@ public class RoomService {
 
     private final RoomRepository roomRepository;
     private final PropertyRepository propertyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int claimMaxAttempts;
+    private final long claimBackoffMillis;
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
 
     /**
@@ -29,23 +39,37 @@ public class RoomService {
      *
      * @param roomRepository The repository for room data access.
      * @param propertyRepository The repository for property data access.
+     * @param eventPublisher Publishes room changes to in-memory indexes.
+     * @param transactionManager Runs each room claim attempt in its own transaction.
+     * @param claimMaxAttempts How many times a claim is tried when the database reports a transient lock failure.
+     * @param claimBackoffMillis Base pause between claim attempts, multiplied by the attempt number.
      */
-    public RoomService(RoomRepository roomRepository, PropertyRepository propertyRepository) {
+    public RoomService(RoomRepository roomRepository, PropertyRepository propertyRepository,
+                       ApplicationEventPublisher eventPublisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${rooms.claim.max-attempts:3}") int claimMaxAttempts,
+                       @Value("${rooms.claim.backoff-ms:25}") long claimBackoffMillis) {
         this.roomRepository = roomRepository;
         this.propertyRepository = propertyRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimMaxAttempts = Math.max(1, claimMaxAttempts);
+        this.claimBackoffMillis = Math.max(0, claimBackoffMillis);
     }
 
     /**
      * Adds a new room to a specified property.
      * Validates the input parameters, associates the room with the provided property,
      * sets the initial occupancy status to unoccupied, and persists the room in the database.
+     * A room number of 0 takes the next free number of the property from its counter.
      *
      * @param propertyId The ID of the property to which the room will be added. Must not be null.
-     * @param room The Room object containing details such as room number and rent amount. Must not be null and must have valid attributes.
+     * @param room The Room object containing details such as room number (0 to allocate) and rent amount. Must not be null and must have valid attributes.
      * @return The persisted Room entity with updated properties.
      * @throws IllegalArgumentException if propertyId or room is null, or if room attributes (e.g., roomNumber, rentAmount) are invalid.
      * @throws RuntimeException if the specified property is not found in the database.
      */
+    @Transactional
     public Room addRoom(Long propertyId, Room room) {
         logger.info("Adding a new room to property with ID: {}", propertyId);
         Objects.requireNonNull(propertyId, "Property ID must not be null");
@@ -53,9 +77,17 @@ public class RoomService {
         validateRoomDetails(room);
         Property property = propertyRepository.findById(propertyId)
                 .orElseThrow(() -> new RuntimeException("Property not found with ID: " + propertyId));
+        if (room.getRoomNumber() == 0) {
+            propertyRepository.reserveRoomNumbers(propertyId, 1);
+            room.setRoomNumber(propertyRepository.findLastRoomNumber(propertyId).orElseThrow());
+        } else {
+            propertyRepository.raiseLastRoomNumber(propertyId, room.getRoomNumber());
+        }
         room.setProperty(property);
         room.setOccupied(false); // Set the initial occupancy status to unoccupied
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.ROOM, savedRoom.getId(), propertyId));
+        return savedRoom;
     }
 
     public Room updateRoom(Room room) {
@@ -65,7 +97,78 @@ public class RoomService {
         if (!roomRepository.existsById(room.getId())) {
             throw new RuntimeException("Room not found with ID: " + room.getId());
         }
-        return roomRepository.save(room); // Updates existing room to occupancy true if a tenant is added
+        Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.ROOM, savedRoom.getId(),
+                savedRoom.getProperty() != null ? savedRoom.getProperty().getId() : null));
+        return savedRoom;
+    }
+
+    /**
+     * Atomically marks a vacant room of a property as occupied. The vacancy check and the write are one
+     * conditional UPDATE, so concurrent assignments of the same room cannot both succeed and no table or
+     * row lock is held beyond that statement. Transient lock failures (lock timeouts, deadlocks with a bulk
+     * import) are retried up to rooms.claim.max-attempts; losing the race is not retried, since the room
+     * will still be occupied on the next attempt.
+     *
+     * @param roomId     The ID of the room to claim. Must not be null.
+     * @param propertyId The property the room must belong to. Must not be null.
+     * @return The claimed room.
+     * @throws IllegalArgumentException if the room does not exist or belongs to another property.
+     * @throws RoomOccupiedException if the room is already occupied.
+     */
+    public Room claimRoom(Long roomId, Long propertyId) {
+        Objects.requireNonNull(roomId, "Room ID must not be null");
+        Objects.requireNonNull(propertyId, "Property ID must not be null");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> claimOnce(roomId, propertyId));
+            } catch (TransientDataAccessException e) {
+                if (attempt >= claimMaxAttempts) {
+                    throw e;
+                }
+                logger.warn("Claim of room {} failed transiently (attempt {} of {}): {}",
+                        roomId, attempt, claimMaxAttempts, e.getMessage());
+                pause(claimBackoffMillis * attempt);
+            }
+        }
+    }
+
+    /**
+     * Marks a claimed room as vacant again, e.g. when the tenant assignment it was claimed for fails.
+     *
+     * @param roomId The ID of the room to release.
+     * @return true if the room was occupied and is now vacant.
+     */
+    @Transactional
+    public boolean releaseRoom(Long roomId) {
+        Objects.requireNonNull(roomId, "Room ID must not be null");
+        boolean released = roomRepository.markVacant(roomId) == 1;
+        if (released) {
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.ROOM, roomId));
+        }
+        return released;
+    }
+
+    private Room claimOnce(Long roomId, Long propertyId) {
+        if (roomRepository.claimIfVacant(roomId, propertyId) == 0) {
+            Room room = getRoomById(roomId);
+            if (!propertyId.equals(room.getProperty().getId())) {
+                throw new IllegalArgumentException("Room " + roomId + " does not belong to property " + propertyId);
+            }
+            throw new RoomOccupiedException("Room " + room.getRoomNumber() + " is already occupied");
+        }
+        logger.info("Claimed room {} of property {}", roomId, propertyId);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.ROOM, roomId, propertyId));
+        return getRoomById(roomId);
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a room claim", e);
+        }
     }
 
 
@@ -73,11 +176,11 @@ public class RoomService {
      * Validates the essential attributes of a Room object.
      *
      * @param room The Room object to validate.
-     * @throws IllegalArgumentException if roomNumber is not positive or rentAmount is not positive.
+     * @throws IllegalArgumentException if roomNumber is negative or rentAmount is not positive.
      */
     private void validateRoomDetails(Room room) {
-        if (room.getRoomNumber() <= 0) {
-            throw new IllegalArgumentException("Room number must be a positive integer");
+        if (room.getRoomNumber() < 0) {
+            throw new IllegalArgumentException("Room number must be a positive integer, or 0 to allocate the next one");
         }
         if (room.getRentAmount() <= 0) {
             throw new IllegalArgumentException("Rent amount must be a positive value");
@@ -0,0 +1,62 @@
+package payup.payup.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for seek (keyset) pagination over rows ordered by (timestamp DESC, id DESC).
+ * Encoded as URL-safe Base64 so clients treat it as a token rather than building it themselves.
+ */
+public final class SeekCursor {
+
+    /**
+     * Position before the newest possible row, used when no cursor is supplied.
+     */
+    public static final SeekCursor START = new SeekCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public SeekCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The token, or null/blank for the first page.
+     * @return The decoded cursor, or {@link #START} when no token is given.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|");
+            return new SeekCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
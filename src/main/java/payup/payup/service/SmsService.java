@@ -3,6 +3,7 @@ package payup.payup.service;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.twilio.Twilio;
@@ -16,6 +17,7 @@ import com.twilio.type.PhoneNumber;
 public class SmsService {
 
     private static final Logger logger = LoggerFactory.getLogger(SmsService.class);
+    private static final String PROVIDER = "twilio";
 
     @Value("${twilio.account.sid}")
     private String accountSid;
@@ -26,6 +28,9 @@ public class SmsService {
     @Value("${twilio.phone.number}")
     private String fromPhoneNumber;
 
+    @Autowired
+    private DeliveryMetricsService deliveryMetricsService;
+
     public SmsService() {
     }
 
@@ -44,14 +49,17 @@ public class SmsService {
      * @throws RuntimeException if SMS sending fails.
      */
     public void sendSms(String toPhoneNumber, String message) {
+        long start = System.nanoTime();
         try {
             Message.creator(
                     new PhoneNumber(toPhoneNumber),
                     new PhoneNumber(fromPhoneNumber),
                     message
             ).create();
+            deliveryMetricsService.recordSuccess(DeliveryMetricsService.CHANNEL_SMS, PROVIDER, System.nanoTime() - start);
             logger.info("SMS sent to {}: {}", toPhoneNumber, message);
         } catch (Exception e) {
+            deliveryMetricsService.recordFailure(DeliveryMetricsService.CHANNEL_SMS, PROVIDER, System.nanoTime() - start, e);
             logger.error("Failed to send SMS to {}: {}", toPhoneNumber, e.getMessage(), e);
             throw new RuntimeException("SMS sending failed", e);
         }
@@ -0,0 +1,452 @@
+package payup.payup.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import payup.payup.config.TenantImportConfig;
+import payup.payup.dto.TenantCreateDto;
+import payup.payup.dto.TenantImportReportDto;
+import payup.payup.dto.TenantImportResultDto;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.exception.RoomOccupiedException;
+import payup.payup.model.Property;
+import payup.payup.model.Room;
+import payup.payup.model.User;
+import payup.repository.PropertyRepository;
+import payup.repository.RoomRepository;
+import payup.repository.TenantRepository;
+import payup.repository.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Onboards many tenants in one request. Rows are validated in memory against a handful of set-based
+ * lookups (one IN query each for emails, phones, users, properties and rooms), passwords are hashed in
+ * parallel on the bounded hashing pool, and the accepted rows are written in a single transaction:
+ * one UPDATE claims the rooms, then users and tenants are inserted with JDBC batches.
+ * Invalid rows are reported and skipped; they never block the valid ones.
+ */
+@Service
+public class TenantImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantImportService.class);
+
+    private static final String INSERT_USER = "INSERT INTO users (firstName, lastName, email, phone, password, role, token_version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_TENANT = "INSERT INTO tenant (user_id, property_id, floor, roomId, balance, createdAt, updatedAt) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final TenantImportConfig config;
+    private final Validator validator;
+    private final UserRepository userRepository;
+    private final TenantRepository tenantRepository;
+    private final PropertyRepository propertyRepository;
+    private final RoomRepository roomRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TenantImportService(TenantImportConfig config,
+                               Validator validator,
+                               UserRepository userRepository,
+                               TenantRepository tenantRepository,
+                               PropertyRepository propertyRepository,
+                               RoomRepository roomRepository,
+                               PasswordHashingService passwordHashingService,
+                               UserService userService,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher) {
+        this.config = config;
+        this.validator = validator;
+        this.userRepository = userRepository;
+        this.tenantRepository = tenantRepository;
+        this.propertyRepository = propertyRepository;
+        this.roomRepository = roomRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.userService = userService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports a list of tenants. Each row either creates a new TENANT user (when userId is empty)
+     * or links an existing user, and occupies the given room.
+     *
+     * @param rows The tenants to create, in upload order.
+     * @return A report with the outcome of every row.
+     * @throws IllegalArgumentException if no rows are given or there are more than the configured maximum.
+     * @throws RoomOccupiedException if a room was claimed by another request while the import ran;
+     *                               nothing is imported in that case and the upload can be retried.
+     */
+    public TenantImportReportDto importTenants(List<TenantCreateDto> rows) {
+        if (rows == null || rows.isEmpty()) {
+            logger.error("Tenant import called without rows");
+            throw new IllegalArgumentException("No tenant rows supplied");
+        }
+        if (rows.size() > config.getMaxRows()) {
+            logger.error("Tenant import of {} rows exceeds the limit of {}", rows.size(), config.getMaxRows());
+            throw new IllegalArgumentException("At most " + config.getMaxRows() + " tenants can be imported at once");
+        }
+        long start = System.currentTimeMillis();
+        logger.info("Importing {} tenants", rows.size());
+
+        List<TenantImportResultDto> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TenantImportResultDto result = new TenantImportResultDto();
+            result.setRow(i + 1);
+            result.setEmail(rows.get(i) != null ? rows.get(i).getEmail() : null);
+            results.add(result);
+        }
+        validateFields(rows, results);
+        validateReferences(rows, results);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (results.get(i).getErrors().isEmpty()) {
+                accepted.add(i);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            write(rows, results, accepted);
+        }
+
+        TenantImportReportDto report = new TenantImportReportDto();
+        report.setTotalRows(rows.size());
+        report.setImported(accepted.size());
+        report.setRejected(rows.size() - accepted.size());
+        report.setElapsedMs(System.currentTimeMillis() - start);
+        report.setRows(results);
+        logger.info("Tenant import finished: {} imported, {} rejected in {} ms",
+                report.getImported(), report.getRejected(), report.getElapsedMs());
+        return report;
+    }
+
+    /**
+     * Reads tenant rows from a CSV upload. The first line is a header naming the columns
+     * (name, email, phone, balance, floor, propertyId, roomId, userId, password) in any order;
+     * unknown columns are ignored and fields may be quoted.
+     *
+     * @param input The CSV content, UTF-8 encoded.
+     * @return The parsed rows, in file order.
+     * @throws IOException if the upload cannot be read.
+     * @throws IllegalArgumentException if the header is missing or a numeric field cannot be parsed.
+     */
+    public List<TenantCreateDto> parseCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new IllegalArgumentException("CSV upload is empty or has no header line");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsvLine(headerLine.replace("\uFEFF", ""));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        List<TenantCreateDto> rows = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line);
+            Function<String, String> field = name -> {
+                Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+                if (index == null || index >= fields.size()) {
+                    return null;
+                }
+                String value = fields.get(index).trim();
+                return value.isEmpty() ? null : value;
+            };
+            TenantCreateDto dto = new TenantCreateDto();
+            dto.setName(field.apply("name"));
+            dto.setEmail(field.apply("email"));
+            dto.setPhone(field.apply("phone"));
+            dto.setFloor(field.apply("floor"));
+            dto.setPassword(field.apply("password"));
+            try {
+                String balance = field.apply("balance");
+                dto.setBalance(balance != null ? Double.valueOf(balance) : null);
+                String propertyId = field.apply("propertyId");
+                dto.setPropertyId(propertyId != null ? Long.valueOf(propertyId) : null);
+                String roomId = field.apply("roomId");
+                dto.setRoomId(roomId != null ? Long.valueOf(roomId) : null);
+                String userId = field.apply("userId");
+                dto.setUserId(userId != null ? Long.valueOf(userId) : null);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number on line " + lineNumber + ": " + e.getMessage());
+            }
+            rows.add(dto);
+        }
+        return rows;
+    }
+
+    private void validateFields(List<TenantCreateDto> rows, List<TenantImportResultDto> results) {
+        for (int i = 0; i < rows.size(); i++) {
+            TenantCreateDto row = rows.get(i);
+            List<String> errors = results.get(i).getErrors();
+            if (row == null) {
+                errors.add("Row is empty");
+                continue;
+            }
+            for (ConstraintViolation<TenantCreateDto> violation : validator.validate(row)) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks uniqueness and references of every row with one query per kind of lookup, then walks the rows
+     * in order so that duplicates inside the upload are reported against the first row that used the value.
+     */
+    private void validateReferences(List<TenantCreateDto> rows, List<TenantImportResultDto> results) {
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> propertyIds = new HashSet<>();
+        Set<Long> roomIds = new HashSet<>();
+        for (TenantCreateDto row : rows) {
+            if (row == null) {
+                continue;
+            }
+            if (row.getUserId() != null) {
+                userIds.add(row.getUserId());
+            } else {
+                if (row.getEmail() != null) {
+                    emails.add(row.getEmail());
+                }
+                if (row.getPhone() != null) {
+                    phones.add(row.getPhone());
+                }
+            }
+            if (row.getPropertyId() != null) {
+                propertyIds.add(row.getPropertyId());
+            }
+            if (row.getRoomId() != null) {
+                roomIds.add(row.getRoomId());
+            }
+        }
+
+        Set<String> takenEmails = emails.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingEmails(emails));
+        Set<String> takenPhones = phones.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingPhones(phones));
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : userRepository.findAllById(userIds).stream()
+                .map(User::getId).collect(Collectors.toSet());
+        Set<Long> usersWithTenant = userIds.isEmpty() ? Set.of() : new HashSet<>(tenantRepository.findUserIdsWithTenant(userIds));
+        Set<Long> existingProperties = propertyIds.isEmpty() ? Set.of() : propertyRepository.findAllById(propertyIds).stream()
+                .map(Property::getId).collect(Collectors.toSet());
+        Map<Long, Room> rooms = roomIds.isEmpty() ? Map.of() : roomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        Map<String, Integer> firstRowByEmail = new HashMap<>();
+        Map<String, Integer> firstRowByPhone = new HashMap<>();
+        Map<Long, Integer> firstRowByUser = new HashMap<>();
+        Map<Long, Integer> firstRowByRoom = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            TenantCreateDto row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            List<String> errors = results.get(i).getErrors();
+            int rowNumber = i + 1;
+
+            if (row.getUserId() != null) {
+                if (!existingUsers.contains(row.getUserId())) {
+                    errors.add("User not found with ID: " + row.getUserId());
+                } else if (usersWithTenant.contains(row.getUserId())) {
+                    errors.add("User " + row.getUserId() + " is already a tenant");
+                }
+                checkFirstUse(firstRowByUser, row.getUserId(), rowNumber, "User " + row.getUserId(), errors);
+            } else {
+                if (row.getEmail() != null) {
+                    if (takenEmails.contains(row.getEmail())) {
+                        errors.add("Email is already registered: " + row.getEmail());
+                    }
+                    checkFirstUse(firstRowByEmail, row.getEmail(), rowNumber, "Email", errors);
+                }
+                if (row.getPhone() != null) {
+                    if (takenPhones.contains(row.getPhone())) {
+                        errors.add("Phone is already registered: " + row.getPhone());
+                    }
+                    checkFirstUse(firstRowByPhone, row.getPhone(), rowNumber, "Phone", errors);
+                }
+            }
+
+            if (row.getPropertyId() != null && !existingProperties.contains(row.getPropertyId())) {
+                errors.add("Property not found with ID: " + row.getPropertyId());
+            }
+            if (row.getRoomId() != null) {
+                Room room = rooms.get(row.getRoomId());
+                if (room == null) {
+                    errors.add("Room not found with ID: " + row.getRoomId());
+                } else {
+                    if (room.getProperty() == null || !Objects.equals(room.getProperty().getId(), row.getPropertyId())) {
+                        errors.add("Room " + row.getRoomId() + " does not belong to property " + row.getPropertyId());
+                    }
+                    if (room.isOccupied()) {
+                        errors.add("Room " + row.getRoomId() + " is already occupied");
+                    }
+                }
+                checkFirstUse(firstRowByRoom, row.getRoomId(), rowNumber, "Room " + row.getRoomId(), errors);
+            }
+        }
+    }
+
+    private static <K> void checkFirstUse(Map<K, Integer> firstRows, K key, int rowNumber, String label, List<String> errors) {
+        Integer firstRow = firstRows.putIfAbsent(key, rowNumber);
+        if (firstRow != null) {
+            errors.add(label + " is already used in row " + firstRow);
+        }
+    }
+
+    private void write(List<TenantCreateDto> rows, List<TenantImportResultDto> results, List<Integer> accepted) {
+        // Hash before opening the transaction so no connection is held while BCrypt runs
+        List<Integer> newUserRows = accepted.stream().filter(i -> rows.get(i).getUserId() == null).collect(Collectors.toList());
+        List<String> hashes = passwordHashingService.encodeAll(newUserRows.stream()
+                .map(i -> rows.get(i).getPassword()).collect(Collectors.toList()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> roomIds = accepted.stream().map(i -> rows.get(i).getRoomId()).collect(Collectors.toList());
+            int claimed = roomRepository.markOccupied(roomIds);
+            if (claimed != roomIds.size()) {
+                logger.warn("Tenant import claimed {} of {} rooms; another request took the rest", claimed, roomIds.size());
+                throw new RoomOccupiedException("Some rooms were occupied while the import was running; nothing was imported");
+            }
+
+            List<User> users = new ArrayList<>(newUserRows.size());
+            List<Object[]> userParams = new ArrayList<>(newUserRows.size());
+            for (int n = 0; n < newUserRows.size(); n++) {
+                TenantCreateDto row = rows.get(newUserRows.get(n));
+                User user = new User();
+                user.setName(row.getName());
+                user.setEmail(row.getEmail());
+                user.setPhone(row.getPhone());
+                user.setRole(User.UserRole.TENANT);
+                users.add(user);
+                userParams.add(new Object[]{user.getFirstName(), user.getLastName(), user.getEmail(), user.getPhone(),
+                        hashes.get(n), User.UserRole.TENANT.name()});
+            }
+            List<Long> newUserIds = insertBatched(INSERT_USER, userParams);
+            Map<Integer, Long> userIdByRow = new HashMap<>();
+            for (int n = 0; n < newUserRows.size(); n++) {
+                users.get(n).setId(newUserIds.get(n));
+                userIdByRow.put(newUserRows.get(n), newUserIds.get(n));
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> tenantParams = new ArrayList<>(accepted.size());
+            for (int i : accepted) {
+                TenantCreateDto row = rows.get(i);
+                Long userId = row.getUserId() != null ? row.getUserId() : userIdByRow.get(i);
+                userIdByRow.put(i, userId);
+                tenantParams.add(new Object[]{userId, row.getPropertyId(), row.getFloor(), row.getRoomId(),
+                        row.getBalance() != null ? row.getBalance() : 0.0, now, now});
+            }
+            List<Long> tenantIds = insertBatched(INSERT_TENANT, tenantParams);
+
+            for (int n = 0; n < accepted.size(); n++) {
+                int i = accepted.get(n);
+                TenantImportResultDto result = results.get(i);
+                result.setStatus(TenantImportResultDto.IMPORTED);
+                result.setUserId(userIdByRow.get(i));
+                result.setTenantId(tenantIds.get(n));
+                // Delivered after commit, like the events of single-tenant creation
+                Long propertyId = rows.get(i).getPropertyId();
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.TENANT, tenantIds.get(n), propertyId));
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.ROOM, rows.get(i).getRoomId(), propertyId));
+            }
+            userService.usersImported(users);
+        });
+    }
+
+    /**
+     * Executes an INSERT for every parameter row in JDBC batches of the configured size
+     * and returns the generated IDs in input order.
+     */
+    private List<Long> insertBatched(String sql, List<Object[]> parameterRows) {
+        if (parameterRows.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> ids = new ArrayList<>(parameterRows.size());
+            try (PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"})) {
+                for (int from = 0; from < parameterRows.size(); from += config.getBatchSize()) {
+                    int to = Math.min(from + config.getBatchSize(), parameterRows.size());
+                    for (Object[] parameters : parameterRows.subList(from, to)) {
+                        for (int p = 0; p < parameters.length; p++) {
+                            statement.setObject(p + 1, parameters[p]);
+                        }
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            if (ids.size() != parameterRows.size()) {
+                throw new IllegalStateException("Expected " + parameterRows.size() + " generated IDs but got " + ids.size());
+            }
+            return ids;
+        });
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,108 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import payup.payup.dto.TenantDto;
+import payup.payup.dto.TenantSummaryDto;
+import payup.payup.mapper.TenantMapper;
+import payup.payup.model.Bill;
+import payup.payup.model.Rent;
+import payup.payup.model.Tenant;
+import payup.repository.BillRepository;
+import payup.repository.RentRepository;
+import payup.repository.TenantRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Read model for tenant listings. Summaries come from a single projection query per page; full DTOs
+ * are assembled from a fetch-joined page of tenants and rooms plus one batched query each for rents and bills,
+ * so the number of queries no longer grows with the number of tenants listed.
+ */
+@Service
+public class TenantQueryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantQueryService.class);
+
+    private final TenantRepository tenantRepository;
+    private final RentRepository rentRepository;
+    private final BillRepository billRepository;
+    private final TenantMapper tenantMapper;
+
+    public TenantQueryService(TenantRepository tenantRepository,
+                              RentRepository rentRepository,
+                              BillRepository billRepository,
+                              TenantMapper tenantMapper) {
+        this.tenantRepository = tenantRepository;
+        this.rentRepository = rentRepository;
+        this.billRepository = billRepository;
+        this.tenantMapper = tenantMapper;
+    }
+
+    /**
+     * Lists tenant summaries one page at a time.
+     *
+     * @param propertyId Restrict to the tenants of this property, or null for all tenants.
+     * @param pageable   Pagination and sorting information.
+     * @return A page of tenant summaries.
+     */
+    @Transactional(readOnly = true)
+    public Page<TenantSummaryDto> getSummaries(Long propertyId, Pageable pageable) {
+        Page<TenantSummaryDto> page = propertyId == null
+                ? tenantRepository.findSummaries(pageable)
+                : tenantRepository.findSummariesByPropertyId(propertyId, pageable);
+        logger.debug("Loaded {} tenant summaries (propertyId={})", page.getNumberOfElements(), propertyId);
+        return page;
+    }
+
+    /**
+     * Lists full tenant DTOs one page at a time.
+     *
+     * @param pageable Pagination and sorting information.
+     * @return A page of tenant DTOs with room, property, user, rents and bills.
+     */
+    @Transactional(readOnly = true)
+    public Page<TenantDto> getDetails(Pageable pageable) {
+        Page<Tenant> tenants = tenantRepository.findPageWithUserAndProperty(pageable);
+        return new PageImpl<>(assemble(tenants.getContent()), pageable, tenants.getTotalElements());
+    }
+
+    /**
+     * Lists the full tenant DTOs of one property.
+     *
+     * @param propertyId The ID of the property.
+     * @return The tenant DTOs of the property.
+     */
+    @Transactional(readOnly = true)
+    public List<TenantDto> getDetailsByProperty(Long propertyId) {
+        return assemble(tenantRepository.findWithUserAndPropertyByPropertyId(propertyId));
+    }
+
+    private List<TenantDto> assemble(List<Tenant> tenants) {
+        if (tenants.isEmpty()) {
+            return List.of();
+        }
+        List<Long> tenantIds = tenants.stream().map(Tenant::getId).collect(Collectors.toList());
+        List<Long> userIds = tenants.stream().filter(tenant -> tenant.getUser() != null)
+                .map(tenant -> tenant.getUser().getId()).collect(Collectors.toList());
+
+        Map<Long, List<Rent>> rents = rentRepository.findByTenantIdIn(tenantIds).stream()
+                .collect(Collectors.groupingBy(rent -> rent.getTenant().getId()));
+        Map<Long, List<Bill>> bills = userIds.isEmpty() ? Map.of() : billRepository.findByTenantIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(bill -> bill.getTenant().getId()));
+
+        List<TenantDto> dtos = tenants.stream().map(tenant -> tenantMapper.toDto(tenant,
+                rents.getOrDefault(tenant.getId(), List.of()),
+                tenant.getUser() != null ? bills.getOrDefault(tenant.getUser().getId(), List.of()) : List.of()))
+                .collect(Collectors.toList());
+        logger.debug("Assembled {} tenant DTOs with batched rent and bill queries", dtos.size());
+        return dtos;
+    }
+}
@@ -3,12 +3,23 @@ package payup.payup.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import payup.payup.dto.UserView;
+import payup.payup.event.EntityChangedEvent;
 import payup.payup.model.Tenant;
+import payup.payup.model.User;
 import payup.repository.TenantRepository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing tenant-related operations in the PayUp system.
@@ -23,6 +34,15 @@ public class TenantService {
     @Autowired
     private TenantRepository tenantRepository;
 
+    @Autowired
+    private NotificationStateService notificationStateService;
+
+    @Autowired
+    private UserSearchService userSearchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves a tenant by their email address.
      *
@@ -103,6 +123,14 @@ public class TenantService {
 
         logger.info("Saving tenant: email={}", tenant.getEmail());
         Tenant savedTenant = tenantRepository.save(tenant);
+        Long propertyId = savedTenant.getProperty() != null ? savedTenant.getProperty().getId() : null;
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.TENANT, savedTenant.getId(), propertyId));
+        if (existingTenant != null && existingTenant.getProperty() != null
+                && !existingTenant.getProperty().getId().equals(propertyId)) {
+            // Moved to another property: the one it left changed as well
+            eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.TENANT, savedTenant.getId(),
+                    existingTenant.getProperty().getId()));
+        }
         logger.debug("Tenant saved successfully: id={}", savedTenant.getId());
         return savedTenant;
     }
@@ -123,9 +151,12 @@ public class TenantService {
             logger.warn("Attempted to delete non-existent tenant: id={}", id);
             throw new IllegalArgumentException("Tenant not found with ID: " + id);
         }
+        Long propertyId = tenantRepository.findPropertyIdById(id).orElse(null); // Unreadable once the row is gone
 
         logger.info("Deleting tenant: id={}", id);
         tenantRepository.deleteById(id);
+        notificationStateService.evict(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityChangedEvent.Kind.TENANT, id, propertyId));
         logger.debug("Tenant deleted successfully: id={}", id);
     }
 
@@ -141,6 +172,31 @@ public class TenantService {
         return tenants;
     }
 
+    /**
+     * Searches tenants by name, email or phone using the indexed user search, best matches first.
+     *
+     * @param searchTerm The search term.
+     * @param pageable   The page to return; sorting is by match rank.
+     * @return A page of matching tenants.
+     * @throws IllegalArgumentException if the search term is blank.
+     */
+    public Page<Tenant> searchTenants(String searchTerm, Pageable pageable) {
+        logger.info("Searching tenants with term: {}", searchTerm);
+        Page<UserView> users = userSearchService.search(searchTerm, User.UserRole.TENANT, pageable);
+        List<Long> userIds = users.getContent().stream().map(UserView::id).collect(Collectors.toList());
+        Map<Long, Tenant> byUserId = userIds.isEmpty() ? Map.of() : tenantRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(tenant -> tenant.getUser().getId(), Function.identity()));
+        List<Tenant> tenants = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            Tenant tenant = byUserId.get(userId);
+            if (tenant != null) {
+                tenants.add(tenant);
+            }
+        }
+        logger.debug("Retrieved {} tenants matching search term", tenants.size());
+        return new PageImpl<>(tenants, pageable, users.getTotalElements());
+    }
+
     /**
      * Retrieves all tenants associated with a specific property.
      *
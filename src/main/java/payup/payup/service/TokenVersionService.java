@@ -0,0 +1,76 @@
+package payup.payup.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import payup.repository.UserRepository;
+
+import java.time.Duration;
+
+/**
+ * Caches each user's token version so JWTs can be trusted without loading the user on every request.
+ * Tokens carry the version current at issue time; bumping the version (on delete, email or password
+ * change) invalidates every token issued before it. Other instances pick up a bump within the cache TTL.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionService.class);
+
+    /** Cached for users that no longer exist, so their tokens never match. */
+    private static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${jwt.token-version.cache-size:50000}") long cacheSize,
+                               @Value("${jwt.token-version.cache-ttl-ms:60000}") long cacheTtlMs) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .build();
+    }
+
+    /**
+     * Checks whether a token version is still the user's current one, loading it on a cache miss.
+     *
+     * @param userId       The ID of the user the token was issued to.
+     * @param tokenVersion The version carried by the token.
+     * @return true if the token has not been superseded and the user still exists.
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        Integer current = versions.get(userId, id -> userRepository.findTokenVersionById(id)
+                .map(version -> version != null ? version : 0)
+                .orElse(REVOKED));
+        return current != REVOKED && current.equals(tokenVersion);
+    }
+
+    /**
+     * Drops a user's cached version. When called inside a transaction the entry is dropped again after
+     * commit, so a concurrent request cannot re-cache the old version in between.
+     *
+     * @param userId The ID of the user whose version changed or who was deleted.
+     */
+    public void invalidate(Long userId) {
+        versions.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        }
+        logger.debug("Token version cache invalidated for userId={}", userId);
+    }
+}
@@ -0,0 +1,207 @@
+package payup.payup.service;
+
+import payup.payup.event.EntityChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Sorted term dictionary behind the typeahead. Every token of a document is stored twice, under the
+ * global scope (admins) and under its landlord's scope, as "scope:token" keys in a skip list; a prefix
+ * query is a single range scan over that list that stops as soon as enough documents are found.
+ * Each key points to a sorted array of document keys. Reads are lock-free; writes are serialized and
+ * replace arrays copy-on-write.
+ */
+final class TypeaheadIndex {
+
+    static final long GLOBAL_SCOPE = 0; // Real owner IDs start at 1
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ConcurrentMap<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, long[]> terms = new ConcurrentSkipListMap<>();
+
+    /**
+     * An indexed tenant, property or room.
+     *
+     * @param userId  The tenant's user ID (null for properties and rooms), used to follow user changes.
+     * @param ownerId The landlord who owns the related property, or null if there is none.
+     */
+    record Doc(EntityChangedEvent.Kind kind, long id, String label, String detail, Long propertyId, Long userId,
+               Long ownerId, Set<String> tokens) {
+
+        long key() {
+            return TypeaheadIndex.key(kind, id);
+        }
+    }
+
+    static long key(EntityChangedEvent.Kind kind, long id) {
+        return ((long) kind.ordinal() << 56) | id;
+    }
+
+    /**
+     * Builds an index from a full load, collecting posting arrays in bulk rather than inserting one by one.
+     */
+    static TypeaheadIndex build(Collection<Doc> documents) {
+        TypeaheadIndex index = new TypeaheadIndex();
+        Map<String, List<Long>> collected = new HashMap<>();
+        for (Doc doc : documents) {
+            index.docs.put(doc.key(), doc);
+            for (String term : scopedTerms(doc)) {
+                collected.computeIfAbsent(term, t -> new ArrayList<>()).add(doc.key());
+            }
+        }
+        collected.forEach((term, keys) -> {
+            long[] sorted = keys.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            index.terms.put(term, sorted);
+        });
+        return index;
+    }
+
+    /**
+     * Adds a document or replaces its previous version.
+     */
+    synchronized void put(Doc doc) {
+        remove(doc.key());
+        docs.put(doc.key(), doc);
+        for (String term : scopedTerms(doc)) {
+            terms.compute(term, (t, keys) -> insert(keys == null ? EMPTY : keys, doc.key()));
+        }
+    }
+
+    /**
+     * Drops a document; unknown keys are ignored.
+     */
+    synchronized void remove(long key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (String term : scopedTerms(doc)) {
+            terms.computeIfPresent(term, (t, keys) -> {
+                long[] remaining = delete(keys, key);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    /**
+     * Drops every document matching a condition, e.g. all rooms and tenants of a deleted property.
+     */
+    synchronized void removeIf(Predicate<Doc> condition) {
+        List<Long> keys = new ArrayList<>();
+        docs.values().forEach(doc -> {
+            if (condition.test(doc)) {
+                keys.add(doc.key());
+            }
+        });
+        keys.forEach(this::remove);
+    }
+
+    int size() {
+        return docs.size();
+    }
+
+    /**
+     * Finds documents with a token starting with the prefix, in token order: a token equal to the prefix
+     * first, then the longer ones alphabetically. A document is returned once, under its first matching token.
+     *
+     * @param scope  GLOBAL_SCOPE or a landlord ID.
+     * @param prefix A normalized, non-empty prefix.
+     * @param filter Extra condition a document must meet, e.g. containing the other words of the query.
+     * @param limit  The maximum number of documents to return.
+     * @return Up to limit documents.
+     */
+    List<Doc> query(long scope, String prefix, Predicate<Doc> filter, int limit) {
+        String from = scope + ":" + prefix;
+        Set<Long> seen = new HashSet<>();
+        List<Doc> results = new ArrayList<>(limit);
+        for (long[] keys : terms.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            for (long key : keys) {
+                if (!seen.add(key)) {
+                    continue;
+                }
+                Doc doc = docs.get(key);
+                if (doc != null && filter.test(doc)) {
+                    results.add(doc);
+                    if (results.size() >= limit) {
+                        return results;
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits text into lower-case tokens; emails are also kept whole and phone numbers as digits only.
+     */
+    static Set<String> tokenize(String... values) {
+        Set<String> tokens = new HashSet<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            String lower = value.trim().toLowerCase(Locale.ROOT);
+            if (lower.indexOf('@') > 0) {
+                tokens.add(lower);
+            }
+            String digits = lower.replaceAll("[^0-9+]", "");
+            if (digits.length() >= 3 && digits.length() * 2 > lower.length()) {
+                tokens.add(digits);
+            }
+            for (String word : lower.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    tokens.add(word);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> scopedTerms(Doc doc) {
+        List<String> scoped = new ArrayList<>(doc.tokens().size() * 2);
+        for (String token : doc.tokens()) {
+            scoped.add(GLOBAL_SCOPE + ":" + token);
+            if (doc.ownerId() != null) {
+                scoped.add(doc.ownerId() + ":" + token);
+            }
+        }
+        return scoped;
+    }
+
+    private static long[] insert(long[] keys, long key) {
+        int pos = Arrays.binarySearch(keys, key);
+        if (pos >= 0) {
+            return keys;
+        }
+        pos = -pos - 1;
+        long[] copy = new long[keys.length + 1];
+        System.arraycopy(keys, 0, copy, 0, pos);
+        copy[pos] = key;
+        System.arraycopy(keys, pos, copy, pos + 1, keys.length - pos);
+        return copy;
+    }
+
+    private static long[] delete(long[] keys, long key) {
+        int pos = Arrays.binarySearch(keys, key);
+        if (pos < 0) {
+            return keys;
+        }
+        long[] copy = new long[keys.length - 1];
+        System.arraycopy(keys, 0, copy, 0, pos);
+        System.arraycopy(keys, pos + 1, copy, pos, keys.length - pos - 1);
+        return copy;
+    }
+}
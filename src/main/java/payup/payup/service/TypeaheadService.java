@@ -0,0 +1,215 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payup.payup.dto.SuggestionDto;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.event.UserChangedEvent;
+import payup.repository.PropertyRepository;
+import payup.repository.RoomRepository;
+import payup.repository.TenantRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Instant prefix search over tenants (name, email, phone), properties (name, location) and rooms (number)
+ * for the admin and landlord UIs. Everything is answered from an in-memory {@link TypeaheadIndex} loaded
+ * at startup and kept current from committed entity and user changes, so keystrokes never reach the
+ * database. Landlords only see documents of their own properties.
+ */
+@Service
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+
+    private final TenantRepository tenantRepository;
+    private final PropertyRepository propertyRepository;
+    private final RoomRepository roomRepository;
+    private final int maxResults;
+
+    private volatile TypeaheadIndex index; // null until loaded
+    private final Queue<Object> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    public TypeaheadService(TenantRepository tenantRepository,
+                            PropertyRepository propertyRepository,
+                            RoomRepository roomRepository,
+                            @Value("${typeahead.max-results:20}") int maxResults) {
+        this.tenantRepository = tenantRepository;
+        this.propertyRepository = propertyRepository;
+        this.roomRepository = roomRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Loads the index on a background thread once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(this::rebuild, "typeahead-init");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Reloads the whole index from the database and swaps it in.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<TypeaheadIndex.Doc> docs = new ArrayList<>();
+            propertyRepository.findTypeaheadRows().forEach(row -> docs.add(propertyDoc(row)));
+            roomRepository.findTypeaheadRows().forEach(row -> docs.add(roomDoc(row)));
+            tenantRepository.findTypeaheadRows().forEach(row -> docs.add(tenantDoc(row)));
+            TypeaheadIndex loaded = TypeaheadIndex.build(docs);
+            index = loaded;
+            // Changes committed while loading may or may not be in the snapshot; replaying them is idempotent
+            drainPending(loaded);
+            logger.info("Loaded typeahead index with {} documents in {} ms", loaded.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to load typeahead index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Suggests tenants, properties and rooms whose words start with the query.
+     * With several words, the first one is looked up and the others must also appear in the suggestion.
+     *
+     * @param query      The text typed so far.
+     * @param landlordId Restrict to this landlord's properties, or null for everything (admins).
+     * @param limit      The maximum number of suggestions, capped by typeahead.max-results.
+     * @return Matching suggestions; empty while the index is still loading or if the query is blank.
+     */
+    public List<SuggestionDto> suggest(String query, Long landlordId, int limit) {
+        TypeaheadIndex current = index;
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (current == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] words = normalized.split("\\s+");
+        List<String> others = Arrays.asList(words).subList(1, words.length);
+        Predicate<TypeaheadIndex.Doc> filter = others.isEmpty() ? doc -> true : doc -> {
+            String text = (doc.label() + " " + doc.detail()).toLowerCase(Locale.ROOT);
+            return others.stream().allMatch(text::contains);
+        };
+        long scope = landlordId != null ? landlordId : TypeaheadIndex.GLOBAL_SCOPE;
+        int capped = Math.max(1, Math.min(limit, maxResults));
+
+        List<SuggestionDto> suggestions = new ArrayList<>();
+        for (TypeaheadIndex.Doc doc : current.query(scope, words[0], filter, capped)) {
+            suggestions.add(new SuggestionDto(doc.kind().name(), doc.id(), doc.label(), doc.detail(), doc.propertyId()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Reloads a changed property, room or tenant after its transaction commits.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        applyOrQueue(event);
+    }
+
+    /**
+     * Reloads the tenants of a user whose name, email or phone changed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        applyOrQueue(event);
+    }
+
+    private void applyOrQueue(Object change) {
+        TypeaheadIndex current = index;
+        if (current != null) {
+            applySafely(current, change);
+            return;
+        }
+        pendingChanges.add(change);
+        // The load may have been swapped in and drained the queue between the check and the add
+        current = index;
+        if (current != null) {
+            drainPending(current);
+        }
+    }
+
+    private void drainPending(TypeaheadIndex target) {
+        Object change;
+        while ((change = pendingChanges.poll()) != null) {
+            applySafely(target, change);
+        }
+    }
+
+    private void applySafely(TypeaheadIndex target, Object change) {
+        try {
+            apply(target, change);
+        } catch (Exception e) {
+            logger.warn("Failed to update typeahead index for {}: {}", change, e.getMessage());
+        }
+    }
+
+    private void apply(TypeaheadIndex target, Object change) {
+        if (change instanceof UserChangedEvent userChange) {
+            Long userId = userChange.getUserId();
+            target.removeIf(doc -> userId.equals(doc.userId()));
+            tenantRepository.findTypeaheadRowsByUserId(userId).forEach(row -> target.put(tenantDoc(row)));
+            return;
+        }
+        EntityChangedEvent event = (EntityChangedEvent) change;
+        Long id = event.getId();
+        switch (event.getKind()) {
+            case PROPERTY -> {
+                // Rooms and tenants carry the property's owner, so they are reloaded with it
+                target.removeIf(doc -> id.equals(doc.propertyId()));
+                propertyRepository.findTypeaheadRowsById(id).forEach(row -> target.put(propertyDoc(row)));
+                roomRepository.findTypeaheadRowsByPropertyId(id).forEach(row -> target.put(roomDoc(row)));
+                tenantRepository.findTypeaheadRowsByPropertyId(id).forEach(row -> target.put(tenantDoc(row)));
+            }
+            case ROOM -> {
+                target.remove(TypeaheadIndex.key(EntityChangedEvent.Kind.ROOM, id));
+                roomRepository.findTypeaheadRowsById(id).forEach(row -> target.put(roomDoc(row)));
+            }
+            case TENANT -> {
+                target.remove(TypeaheadIndex.key(EntityChangedEvent.Kind.TENANT, id));
+                tenantRepository.findTypeaheadRowsById(id).forEach(row -> target.put(tenantDoc(row)));
+            }
+        }
+    }
+
+    private static TypeaheadIndex.Doc propertyDoc(Object[] row) {
+        Long id = (Long) row[0];
+        String name = (String) row[1];
+        String location = (String) row[2];
+        return new TypeaheadIndex.Doc(EntityChangedEvent.Kind.PROPERTY, id, name, location, id, null, (Long) row[3],
+                TypeaheadIndex.tokenize(name, location));
+    }
+
+    private static TypeaheadIndex.Doc roomDoc(Object[] row) {
+        String number = String.valueOf(row[1]);
+        return new TypeaheadIndex.Doc(EntityChangedEvent.Kind.ROOM, (Long) row[0], "Room " + number, (String) row[3],
+                (Long) row[2], null, (Long) row[4], TypeaheadIndex.tokenize(number));
+    }
+
+    private static TypeaheadIndex.Doc tenantDoc(Object[] row) {
+        String firstName = (String) row[2];
+        String lastName = (String) row[3];
+        String email = (String) row[4];
+        String phone = (String) row[5];
+        String name = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        return new TypeaheadIndex.Doc(EntityChangedEvent.Kind.TENANT, (Long) row[0], name, email, (Long) row[6],
+                (Long) row[1], (Long) row[7], TypeaheadIndex.tokenize(firstName, lastName, email, phone));
+    }
+}
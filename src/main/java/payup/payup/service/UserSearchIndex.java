@@ -0,0 +1,290 @@
+package payup.payup.service;
+
+import payup.payup.dto.UserView;
+import payup.payup.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory trigram index over user names, emails and phones, used when the database has no trigram support
+ * (the H2 profile). Every trigram maps to a sorted array of user IDs, so a substring query intersects a few
+ * arrays instead of scanning every user; emails and phones also sit in sorted maps for prefix lookups.
+ * Reads are lock-free. Writes are serialized and replace posting arrays copy-on-write, which suits a user
+ * table that is read far more often than it changes.
+ */
+final class UserSearchIndex {
+
+    /** Match ranks, best first: exact email/phone, email/phone prefix, name prefix, anywhere. */
+    static final int RANK_EXACT = 0;
+    static final int RANK_CONTACT_PREFIX = 1;
+    static final int RANK_NAME_PREFIX = 2;
+    static final int RANK_CONTAINS = 3;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, long[]> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Long> emails = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Long> phones = new ConcurrentSkipListMap<>();
+
+    /**
+     * Builds an index from a full load, appending IDs in ascending order instead of inserting one by one.
+     *
+     * @param users Every user, in any order.
+     * @return The populated index.
+     */
+    static UserSearchIndex build(Collection<UserView> users) {
+        UserSearchIndex index = new UserSearchIndex();
+        List<UserView> sorted = new ArrayList<>(users);
+        sorted.sort(Comparator.comparing(UserView::id));
+        Map<Long, long[]> growing = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (UserView user : sorted) {
+            Entry entry = Entry.of(user);
+            index.entries.put(user.id(), entry);
+            index.putContacts(entry);
+            for (long gram : trigrams(entry.text)) {
+                long[] ids = growing.getOrDefault(gram, EMPTY);
+                int size = sizes.getOrDefault(gram, 0);
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+                    growing.put(gram, ids);
+                }
+                ids[size] = user.id();
+                sizes.put(gram, size + 1);
+            }
+        }
+        growing.forEach((gram, ids) -> index.postings.put(gram, Arrays.copyOf(ids, sizes.get(gram))));
+        return index;
+    }
+
+    /**
+     * Adds a user or replaces its previous entry.
+     *
+     * @param user The current state of the user.
+     */
+    synchronized void put(UserView user) {
+        remove(user.id());
+        Entry entry = Entry.of(user);
+        entries.put(user.id(), entry);
+        putContacts(entry);
+        for (long gram : trigrams(entry.text)) {
+            postings.compute(gram, (key, ids) -> insert(ids == null ? EMPTY : ids, user.id()));
+        }
+    }
+
+    /**
+     * Drops a user from the index; unknown IDs are ignored.
+     *
+     * @param userId The ID of the user.
+     */
+    synchronized void remove(Long userId) {
+        Entry entry = entries.remove(userId);
+        if (entry == null) {
+            return;
+        }
+        emails.remove(entry.email, userId);
+        phones.remove(entry.phone, userId);
+        for (long gram : trigrams(entry.text)) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                long[] remaining = delete(ids, userId);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Finds users whose name, email or phone contains the term, best matches first.
+     *
+     * @param term A normalized (trimmed, lower-case) search term.
+     * @param role Only return users with this role, or null for any role.
+     * @return Every match, ranked; callers page the result.
+     */
+    List<UserView> search(String term, User.UserRole role) {
+        List<Entry> matches = new ArrayList<>();
+        if (term.length() < 3) {
+            // Too short to have a trigram: a plain scan, still only string checks in memory
+            for (Entry entry : entries.values()) {
+                if (entry.text.contains(term) && entry.hasRole(role)) {
+                    matches.add(entry);
+                }
+            }
+        } else {
+            for (long id : candidates(term)) {
+                Entry entry = entries.get(id);
+                // Trigram intersection over-approximates; confirm the actual substring
+                if (entry != null && entry.text.contains(term) && entry.hasRole(role)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        return ranked(matches, term);
+    }
+
+    /**
+     * Finds users whose email or phone starts with the term, using only the sorted contact maps.
+     *
+     * @param term A normalized email or phone prefix.
+     * @param role Only return users with this role, or null for any role.
+     * @return Every match, ranked.
+     */
+    List<UserView> searchContactPrefix(String term, User.UserRole role) {
+        Map<Long, Entry> matches = new HashMap<>();
+        for (NavigableMap<String, Long> contacts : List.of(emails, phones)) {
+            for (Long id : contacts.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.hasRole(role)) {
+                    matches.put(id, entry);
+                }
+            }
+        }
+        return ranked(new ArrayList<>(matches.values()), term);
+    }
+
+    private long[] candidates(String term) {
+        long[][] lists = trigramsOf(term).stream()
+                .map(gram -> postings.getOrDefault(gram, EMPTY))
+                .sorted(Comparator.comparingInt(ids -> ids.length))
+                .toArray(long[][]::new);
+        if (lists.length == 0 || lists[0].length == 0) {
+            return EMPTY;
+        }
+        long[] result = lists[0];
+        for (int i = 1; i < lists.length && result.length > 0; i++) {
+            result = intersect(result, lists[i]);
+        }
+        return result;
+    }
+
+    private List<UserView> ranked(List<Entry> matches, String term) {
+        matches.sort(Comparator.<Entry>comparingInt(entry -> entry.rank(term)).thenComparing(entry -> entry.view.id()));
+        List<UserView> views = new ArrayList<>(matches.size());
+        matches.forEach(entry -> views.add(entry.view));
+        return views;
+    }
+
+    private void putContacts(Entry entry) {
+        if (!entry.email.isEmpty()) {
+            emails.put(entry.email, entry.view.id());
+        }
+        if (!entry.phone.isEmpty()) {
+            phones.put(entry.phone, entry.view.id());
+        }
+    }
+
+    /**
+     * Lower-cases and trims a raw query the same way indexed text is normalized.
+     */
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Strips the separators people type inside phone numbers.
+     */
+    static String normalizePhone(String value) {
+        return normalize(value).replaceAll("[\\s()-]", "");
+    }
+
+    private static long[] trigrams(String text) {
+        return trigramsOf(text).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        pos = -pos - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        copy[pos] = id;
+        System.arraycopy(ids, pos, copy, pos + 1, ids.length - pos);
+        return copy;
+    }
+
+    private static long[] delete(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+        return copy;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * A user with the normalized fields used for matching and ranking.
+     */
+    private record Entry(UserView view, String firstName, String lastName, String email, String phone, String text) {
+
+        static Entry of(UserView view) {
+            String firstName = normalize(view.firstName());
+            String lastName = normalize(view.lastName());
+            String email = normalize(view.email());
+            String phone = normalizePhone(view.phone());
+            return new Entry(view, firstName, lastName, email, phone,
+                    firstName + " " + lastName + " " + email + " " + phone);
+        }
+
+        boolean hasRole(User.UserRole role) {
+            return role == null || role == view.role();
+        }
+
+        int rank(String term) {
+            if (email.equals(term) || phone.equals(term)) {
+                return RANK_EXACT;
+            }
+            if (email.startsWith(term) || phone.startsWith(term)) {
+                return RANK_CONTACT_PREFIX;
+            }
+            if (firstName.startsWith(term) || lastName.startsWith(term)) {
+                return RANK_NAME_PREFIX;
+            }
+            return RANK_CONTAINS;
+        }
+    }
+}
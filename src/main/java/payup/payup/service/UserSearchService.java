@@ -0,0 +1,270 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payup.payup.dto.UserView;
+import payup.payup.event.UserChangedEvent;
+import payup.payup.model.User;
+import payup.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked search over users by name, email and phone without LIKE '%term%' table scans.
+ * On PostgreSQL the queries are served by pg_trgm and text_pattern_ops indexes (created at startup from
+ * db/user-search-postgresql.sql); on other databases (the H2 profile) an in-memory trigram index is loaded
+ * at startup and kept current from committed user changes. Terms that look like an email or phone prefix
+ * take a cheaper prefix-only path. Results are ranked, so the pageable's sort is ignored.
+ */
+@Service
+public class UserSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchService.class);
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    enum Backend { POSTGRES, MEMORY }
+
+    private final UserRepository userRepository;
+    private final DataSource dataSource;
+    private final String configuredBackend;
+    private final boolean createIndexes;
+
+    private volatile Backend backend = Backend.MEMORY;
+    private volatile UserSearchIndex index; // null until the in-memory index has loaded
+    private final Queue<UserChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    public UserSearchService(UserRepository userRepository,
+                             DataSource dataSource,
+                             @Value("${search.users.backend:auto}") String configuredBackend,
+                             @Value("${search.users.create-indexes:true}") boolean createIndexes) {
+        this.userRepository = userRepository;
+        this.dataSource = dataSource;
+        this.configuredBackend = configuredBackend;
+        this.createIndexes = createIndexes;
+    }
+
+    /**
+     * Picks the backend once the application is up, then creates the PostgreSQL indexes or loads
+     * the in-memory index on a background thread so startup is not held up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        backend = resolveBackend();
+        logger.info("User search backend: {}", backend);
+        Thread loader = new Thread(backend == Backend.POSTGRES ? this::createPostgresIndexes : this::loadIndex,
+                "user-search-init");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Searches users by name, email or phone.
+     *
+     * @param searchTerm The raw search term.
+     * @param role       Only return users with this role, or null for any role.
+     * @param pageable   The page to return; its sort is ignored in favour of the match ranking.
+     * @return A page of matching users, best matches first.
+     * @throws IllegalArgumentException if the search term is blank.
+     */
+    public Page<UserView> search(String searchTerm, User.UserRole role, Pageable pageable) {
+        String term = UserSearchIndex.normalize(searchTerm);
+        if (term.isEmpty()) {
+            throw new IllegalArgumentException("Search term must not be empty");
+        }
+        boolean contactPrefix = isContactPrefix(term);
+        if (contactPrefix && looksLikePhone(term)) {
+            term = UserSearchIndex.normalizePhone(term);
+        }
+
+        long start = System.nanoTime();
+        Page<UserView> result;
+        if (backend == Backend.POSTGRES) {
+            result = searchPostgres(term, contactPrefix, role, pageable);
+        } else {
+            UserSearchIndex current = index;
+            result = current != null
+                    ? page(contactPrefix ? current.searchContactPrefix(term, role) : current.search(term, role), pageable)
+                    : searchFallback(term, role, pageable);
+        }
+        logger.debug("User search term={} backend={} matches={} took {} us", term, backend, result.getTotalElements(),
+                (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    /**
+     * Applies a committed user change to the in-memory index, or queues it while the index is loading.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (backend != Backend.MEMORY) {
+            return;
+        }
+        UserSearchIndex current = index;
+        if (current != null) {
+            apply(current, event);
+            return;
+        }
+        pendingChanges.add(event);
+        // The load may have been swapped in and drained the queue between the check and the add
+        current = index;
+        if (current != null) {
+            drainPending(current);
+        }
+    }
+
+    /**
+     * Replays queued changes. Events carry the user as it was, so draining is serialized to keep them in order.
+     */
+    private void drainPending(UserSearchIndex target) {
+        synchronized (pendingChanges) {
+            UserChangedEvent change;
+            while ((change = pendingChanges.poll()) != null) {
+                apply(target, change);
+            }
+        }
+    }
+
+    private Page<UserView> searchPostgres(String term, boolean contactPrefix, User.UserRole role, Pageable pageable) {
+        String pattern = escapeLike(term);
+        String roleName = role != null ? role.name() : "";
+        List<Long> ids;
+        long total;
+        if (contactPrefix) {
+            ids = userRepository.searchIdsByContactPrefix(term, pattern, roleName, pageable.getPageSize(), pageable.getOffset());
+            total = userRepository.countContactPrefixMatches(pattern, roleName);
+        } else {
+            ids = userRepository.searchIdsRanked(term, pattern, roleName, pageable.getPageSize(), pageable.getOffset());
+            total = userRepository.countSearchMatches(pattern, roleName);
+        }
+        return new PageImpl<>(loadInOrder(ids), pageable, total);
+    }
+
+    private Page<UserView> searchFallback(String term, User.UserRole role, Pageable pageable) {
+        // The role is filtered in the query, so pages are full and the total counts only that role
+        Page<User> users = role != null
+                ? userRepository.searchUsersByRole(term, role, pageable)
+                : userRepository.searchUsers(term, pageable);
+        return users.map(UserView::of);
+    }
+
+    private List<UserView> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, User> byId = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserView> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            User user = byId.get(id);
+            if (user != null) {
+                ordered.add(UserView.of(user));
+            }
+        }
+        return ordered;
+    }
+
+    private void loadIndex() {
+        long start = System.currentTimeMillis();
+        try {
+            List<UserView> users = new ArrayList<>();
+            long afterId = 0;
+            List<UserView> batch;
+            do {
+                batch = userRepository.findViewsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                users.addAll(batch);
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            UserSearchIndex loaded = UserSearchIndex.build(users);
+            index = loaded;
+            // Changes committed while loading may or may not be in the snapshot; replaying them is idempotent
+            drainPending(loaded);
+            logger.info("Loaded user search index with {} users in {} ms", loaded.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to load user search index, falling back to database search: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createPostgresIndexes() {
+        if (!createIndexes) {
+            return;
+        }
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/user-search-postgresql.sql"));
+        populator.setContinueOnError(true);
+        try {
+            populator.execute(dataSource);
+            logger.info("User search indexes are in place");
+        } catch (Exception e) {
+            // Search still works without the indexes, only slower
+            logger.warn("Could not create user search indexes: {}", e.getMessage());
+        }
+    }
+
+    private Backend resolveBackend() {
+        if (!"auto".equalsIgnoreCase(configuredBackend)) {
+            return Backend.valueOf(configuredBackend.toUpperCase());
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            return "PostgreSQL".equalsIgnoreCase(product) ? Backend.POSTGRES : Backend.MEMORY;
+        } catch (Exception e) {
+            logger.warn("Could not detect database for user search, using in-memory index: {}", e.getMessage());
+            return Backend.MEMORY;
+        }
+    }
+
+    private static void apply(UserSearchIndex target, UserChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.getUserId());
+        } else {
+            target.put(event.getUser());
+        }
+    }
+
+    private static Page<UserView> page(List<UserView> ranked, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ranked);
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+
+    /**
+     * Whether the term is worth the prefix-only path: part of an email address, or mostly digits.
+     */
+    private static boolean isContactPrefix(String term) {
+        return (term.indexOf('@') > 0 && term.indexOf(' ') < 0) || looksLikePhone(term);
+    }
+
+    private static boolean looksLikePhone(String term) {
+        return term.matches("\\+?[0-9][0-9\\s()-]{2,}");
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
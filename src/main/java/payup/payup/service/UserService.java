@@ -3,32 +3,58 @@ package payup.payup.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import payup.payup.config.CacheConfig;
+import payup.payup.dto.UserView;
+import payup.payup.event.UserChangedEvent;
 import payup.payup.exception.DuplicateEmailException;
 import payup.payup.exception.UserNotFoundException;
 import payup.payup.model.User;
 import payup.repository.UserRepository;
 
 import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 public class UserService implements UserDetailsService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserSearchService userSearchService;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     @Autowired
     public UserService(UserRepository userRepository) {
@@ -36,7 +62,6 @@ public class UserService implements UserDetailsService {
     }
 
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
     public User registerUser(@NotNull User user) {
         validateUser(user);
         logger.info("Registering user: email={}", user.getEmail());
@@ -46,52 +71,69 @@ public class UserService implements UserDetailsService {
             throw new DuplicateEmailException("Email is already registered: " + user.getEmail());
         }
 
-        user.setPassword(encoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         User savedUser = userRepository.save(user);
+        evictUser(savedUser.getId(), savedUser.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), UserView.of(savedUser)));
         logger.debug("User registered: id={}, email={}", savedUser.getId(), savedUser.getEmail());
         return savedUser;
     }
 
     @Transactional
-    @CacheEvict(value = "users", key = "#user.id")
     public User updateUser(@NotNull User user) throws UserNotFoundException {
         logger.info("Updating user: id={}", user.getId());
         User existingUser = findById(user.getId())
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + user.getId()));
+        String previousEmail = existingUser.getEmail();
+        boolean credentialsChanged = user.getEmail() != null && !user.getEmail().equals(previousEmail);
         existingUser.setFirstName(user.getFirstName());
         existingUser.setLastName(user.getLastName());
         existingUser.setEmail(user.getEmail());
         existingUser.setPhone(user.getPhone());
         if (user.getPassword() != null && !user.getPassword().isBlank()) {
-            existingUser.setPassword(encoder.encode(user.getPassword()));
+            existingUser.setPassword(passwordHashingService.encode(user.getPassword()));
+            credentialsChanged = true;
+        }
+        if (credentialsChanged) {
+            // Tokens issued for the old email or password must stop working
+            int version = existingUser.getTokenVersion() != null ? existingUser.getTokenVersion() : 0;
+            existingUser.setTokenVersion(version + 1);
+            tokenVersionService.invalidate(existingUser.getId());
         }
         User updatedUser = userRepository.save(existingUser);
+        evictUser(updatedUser.getId(), previousEmail, updatedUser.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId(), UserView.of(updatedUser)));
         logger.debug("User updated: id={}", updatedUser.getId());
         return updatedUser;
     }
 
     @Transactional
-    @CacheEvict(value = "users", key = "#userId")
     public void deleteUser(Long userId) throws UserNotFoundException {
         logger.info("Deleting user: id={}", userId);
-        if (!userRepository.existsById(userId)) {
-            throw new UserNotFoundException("User not found with ID: " + userId);
-        }
-        userRepository.deleteById(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        userRepository.delete(user);
+        tokenVersionService.invalidate(userId);
+        evictUser(userId, user.getEmail());
+        eventPublisher.publishEvent(new UserChangedEvent(userId, null));
         logger.debug("User deleted: id={}", userId);
     }
 
+    /**
+     * Lists users one page at a time, served from the page cache when the same page was read recently.
+     *
+     * @param pageable Page number, size and sort.
+     * @return A page of user views.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "allUsers", key = "#pageable")
-    public Page<User> findAll(Pageable pageable) {
+    public Page<UserView> findAll(Pageable pageable) {
         logger.info("Retrieving all users with pagination");
-        Page<User> users = userRepository.findAll(pageable);
+        Page<UserView> users = cachedPage("all", "", pageable, () -> userRepository.findAll(pageable).map(UserView::of));
         logger.debug("Retrieved {} users", users.getTotalElements());
         return users;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable("users")
     public Optional<User> findById(Long id) {
         logger.info("Finding user: id={}", id);
         Optional<User> user = userRepository.findById(id);
@@ -100,7 +142,6 @@ public class UserService implements UserDetailsService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable("usersByEmail")
     public Optional<User> findByEmail(String email) {
         logger.info("Finding user by email: {}", email);
         Optional<User> user = userRepository.findByEmail(email);
@@ -108,6 +149,32 @@ public class UserService implements UserDetailsService {
         return user;
     }
 
+    /**
+     * Looks up a cached view of a user by ID. Use this instead of findById when the entity itself is not needed.
+     *
+     * @param id The ID of the user.
+     * @return The user view, or empty if no such user exists (misses are not cached).
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.USERS, unless = "#result == null")
+    public Optional<UserView> findViewById(Long id) {
+        logger.debug("Loading user view: id={}", id);
+        return userRepository.findById(id).map(UserView::of);
+    }
+
+    /**
+     * Looks up a cached view of a user by email, e.g. to resolve the authenticated user of a request.
+     *
+     * @param email The email of the user.
+     * @return The user view, or empty if no such user exists (misses are not cached).
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.USERS_BY_EMAIL, unless = "#result == null")
+    public Optional<UserView> findViewByEmail(String email) {
+        logger.debug("Loading user view: email={}", email);
+        return userRepository.findByEmail(email).map(UserView::of);
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> findAdmin() {
         logger.info("Finding admin user");
@@ -117,33 +184,57 @@ public class UserService implements UserDetailsService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "usersByRole", key = "#role + #pageable")
-    public Page<User> findByRole(User.UserRole role, Pageable pageable) {
+    public Page<UserView> findByRole(User.UserRole role, Pageable pageable) {
         logger.info("Retrieving users by role: {}", role);
-        Page<User> users = userRepository.findAllByRole(role, pageable);
+        Page<UserView> users = cachedPage("role", role.name(), pageable, () -> userRepository.findAllByRole(role, pageable).map(UserView::of));
         logger.debug("Retrieved {} users with role {}", users.getTotalElements(), role);
         return users;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "usersBySearch", key = "#searchTerm + #pageable")
-    public Page<User> searchUsers(String searchTerm, Pageable pageable) {
+    public Page<UserView> searchUsers(String searchTerm, Pageable pageable) {
         logger.info("Searching users with term: {}", searchTerm);
-        Page<User> users = userRepository.searchUsers(searchTerm, pageable);
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        Page<UserView> users = cachedPage("search", term, pageable,
+                () -> userSearchService.search(term, null, pageable));
         logger.debug("Retrieved {} users matching search term", users.getTotalElements());
         return users;
     }
 
+    /**
+     * Swaps in a re-hashed password after a successful login, unless the password changed meanwhile.
+     *
+     * @param userId  The ID of the user.
+     * @param oldHash The hash the password was verified against.
+     * @param newHash The hash made with the current work factor.
+     * @return true if the stored hash was replaced.
+     */
+    @Transactional
+    public boolean upgradePasswordHash(Long userId, String oldHash, String newHash) {
+        // Views never hold the hash, so there is nothing cached to evict
+        return userRepository.updatePasswordHash(userId, oldHash, newHash) == 1;
+    }
+
+    /**
+     * Builds Spring Security user details from an already loaded user.
+     *
+     * @param user The user entity.
+     * @return UserDetails carrying the email, password hash and role authority.
+     */
+    public UserDetails toUserDetails(User user) {
+        return new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                user.getPassword(),
+                java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.info("Loading user by username: {}", username);
         return userRepository.findByEmail(username)
-                .map(user -> new org.springframework.security.core.userdetails.User(
-                        user.getEmail(),
-                        user.getPassword(),
-                        java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-                ).orElseThrow(() -> {
+                .map(this::toUserDetails)
+                .orElseThrow(() -> {
                     logger.error("User not found with email: {}", username);
                     return new UsernameNotFoundException("User not found with email: " + username);
                 });
@@ -158,7 +249,7 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("No authenticated user");
         }
         String email = auth.getName();
-        User admin = findByEmail(email)
+        User admin = userRepository.findByEmail(email)
                 .filter(user -> user.getRole() == User.UserRole.ADMIN)
                 .orElseThrow(() -> {
                     logger.error("Current user is not an admin: email={}", email);
@@ -168,6 +259,76 @@ public class UserService implements UserDetailsService {
         return admin;
     }
 
+    /**
+     * Refreshes caches and search indexes after users were inserted in bulk outside of JPA.
+     * New users have no cached views yet, so only the listing pages are dropped.
+     *
+     * @param users The inserted users, with their generated IDs.
+     */
+    public void usersImported(List<User> users) {
+        evictUser(null);
+        users.forEach(user -> eventPublisher.publishEvent(new UserChangedEvent(user.getId(), UserView.of(user))));
+        logger.debug("Refreshed caches after importing {} users", users.size());
+    }
+
+    /**
+     * Drops every cached entry a user change can affect: the view by ID, the views under each given email
+     * (old and new on an email change) and all cached listing pages. Repeated after commit so a read that
+     * raced the transaction cannot leave the pre-commit state cached.
+     */
+    private void evictUser(Long userId, String... emails) {
+        evictNow(userId, emails);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId, emails);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long userId, String... emails) {
+        Cache byId = cacheManager.getCache(CacheConfig.USERS);
+        Cache byEmail = cacheManager.getCache(CacheConfig.USERS_BY_EMAIL);
+        Cache pages = cacheManager.getCache(CacheConfig.USER_PAGES);
+        if (byId != null && userId != null) {
+            byId.evict(userId);
+        }
+        if (byEmail != null) {
+            for (String email : emails) {
+                if (email != null) {
+                    byEmail.evict(email);
+                }
+            }
+        }
+        if (pages != null) {
+            pages.clear();
+        }
+        logger.debug("User caches evicted for userId={}", userId);
+    }
+
+    private Page<UserView> cachedPage(String scope, String filter, Pageable pageable, Supplier<Page<UserView>> loader) {
+        Cache pages = cacheManager.getCache(CacheConfig.USER_PAGES);
+        if (pages == null || pageable.isUnpaged()) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(scope, filter, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        CachedPage page = pages.get(key, () -> {
+            Page<UserView> loaded = loader.get();
+            return new CachedPage(loaded.getContent(), loaded.getTotalElements());
+        });
+        return new PageImpl<>(Objects.requireNonNull(page).content(), pageable, page.totalElements());
+    }
+
+    /** Key of a cached listing page; its toString doubles as the Redis key. */
+    private record PageKey(String scope, String filter, int page, int size, String sort) implements Serializable {
+    }
+
+    /** Page content without the Pageable, which does not need to be cached or serialized. */
+    private record CachedPage(List<UserView> content, long totalElements) implements Serializable {
+    }
+
     private void validateUser(User user) {
         if (user.getEmail() == null || user.getPassword() == null || user.getRole() == null) {
             logger.error("Invalid user data: {}", user);
@@ -0,0 +1,279 @@
+package payup.payup.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-property vacancy tables behind the portfolio vacancy search. Each property keeps its rooms in
+ * parallel arrays sorted by rent plus a bitset of occupied positions, so a rent range is two binary
+ * searches and the vacant rooms inside it are found with {@link BitSet#nextClearBit}. A search merges
+ * the per-property ranges cheapest first and stops at the limit. Tables are immutable once published:
+ * reads are lock-free, writes are serialized and swap in a new table for the one property they touch.
+ */
+final class VacancyIndex {
+
+    private final ConcurrentMap<Long, Table> tables = new ConcurrentHashMap<>();
+
+    /**
+     * The searchable attributes of a property.
+     */
+    record Listing(long propertyId, String name, String type, String location, Long ownerId) {
+    }
+
+    /**
+     * One room as loaded from the database.
+     */
+    record Unit(long roomId, long propertyId, int roomNumber, double rent, boolean occupied, String floor) {
+    }
+
+    /**
+     * A vacant room returned by a search, with the property it belongs to.
+     */
+    record Match(Listing listing, long roomId, int roomNumber, double rent, String floor) {
+    }
+
+    private static final class Table {
+        final Listing listing;
+        final String typeKey;
+        final String locationKey;
+        final long[] roomIds;
+        final int[] roomNumbers;
+        final double[] rents;
+        final String[] floors;
+        final BitSet occupied;
+        final Map<Long, Integer> positions;
+        final int vacant;
+
+        Table(Listing listing, List<Unit> units) {
+            List<Unit> sorted = new ArrayList<>(units);
+            sorted.sort(Comparator.comparingDouble(Unit::rent).thenComparingInt(Unit::roomNumber));
+            int size = sorted.size();
+            this.listing = listing;
+            this.typeKey = normalize(listing.type());
+            this.locationKey = normalize(listing.location());
+            this.roomIds = new long[size];
+            this.roomNumbers = new int[size];
+            this.rents = new double[size];
+            this.floors = new String[size];
+            this.occupied = new BitSet(size);
+            this.positions = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                Unit unit = sorted.get(i);
+                roomIds[i] = unit.roomId();
+                roomNumbers[i] = unit.roomNumber();
+                rents[i] = unit.rent();
+                floors[i] = unit.floor();
+                occupied.set(i, unit.occupied());
+                positions.put(unit.roomId(), i);
+            }
+            this.vacant = size - occupied.cardinality();
+        }
+
+        private Table(Table source, BitSet occupied) {
+            this.listing = source.listing;
+            this.typeKey = source.typeKey;
+            this.locationKey = source.locationKey;
+            this.roomIds = source.roomIds;
+            this.roomNumbers = source.roomNumbers;
+            this.rents = source.rents;
+            this.floors = source.floors;
+            this.positions = source.positions;
+            this.occupied = occupied;
+            this.vacant = roomIds.length - occupied.cardinality();
+        }
+
+        Table withOccupancy(int position, boolean isOccupied) {
+            BitSet copy = (BitSet) occupied.clone();
+            copy.set(position, isOccupied);
+            return new Table(this, copy);
+        }
+
+        Table withListing(Listing newListing) {
+            return new Table(newListing, units());
+        }
+
+        List<Unit> units() {
+            List<Unit> units = new ArrayList<>(roomIds.length);
+            for (int i = 0; i < roomIds.length; i++) {
+                units.add(new Unit(roomIds[i], listing.propertyId(), roomNumbers[i], rents[i], occupied.get(i), floors[i]));
+            }
+            return units;
+        }
+
+        /** Index of the first room with rent >= min (or > max when exclusive is set). */
+        int bound(double value, boolean exclusive) {
+            int low = 0;
+            int high = rents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rents[mid] < value || (exclusive && rents[mid] == value)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Builds an index from a full load of properties and rooms. Rooms of unknown properties are dropped.
+     */
+    static VacancyIndex build(Collection<Listing> listings, Collection<Unit> units) {
+        Map<Long, List<Unit>> byProperty = new HashMap<>();
+        for (Unit unit : units) {
+            byProperty.computeIfAbsent(unit.propertyId(), id -> new ArrayList<>()).add(unit);
+        }
+        VacancyIndex index = new VacancyIndex();
+        for (Listing listing : listings) {
+            index.tables.put(listing.propertyId(),
+                    new Table(listing, byProperty.getOrDefault(listing.propertyId(), List.of())));
+        }
+        return index;
+    }
+
+    /**
+     * Replaces a property and all of its rooms.
+     */
+    synchronized void putProperty(Listing listing, Collection<Unit> units) {
+        tables.put(listing.propertyId(), new Table(listing, new ArrayList<>(units)));
+    }
+
+    /**
+     * Updates the searchable attributes of a property, keeping its rooms.
+     *
+     * @return false if the property is not indexed yet and must be loaded with its rooms.
+     */
+    synchronized boolean updateListing(Listing listing) {
+        Table table = tables.get(listing.propertyId());
+        if (table == null) {
+            return false;
+        }
+        tables.put(listing.propertyId(), table.withListing(listing));
+        return true;
+    }
+
+    synchronized void removeProperty(long propertyId) {
+        tables.remove(propertyId);
+    }
+
+    /**
+     * Applies the current state of one room. An occupancy flip only copies the property's bitset;
+     * a new room, a moved room or a rent change rebuilds that property's arrays.
+     *
+     * @return false if the room's property is not indexed yet and must be loaded as a whole.
+     */
+    synchronized boolean putRoom(Unit unit) {
+        Table table = tables.get(unit.propertyId());
+        if (table == null) {
+            return false;
+        }
+        Integer position = table.positions.get(unit.roomId());
+        if (position != null && table.rents[position] == unit.rent() && table.roomNumbers[position] == unit.roomNumber()
+                && Objects.equals(table.floors[position], unit.floor())) {
+            if (table.occupied.get(position) != unit.occupied()) {
+                tables.put(unit.propertyId(), table.withOccupancy(position, unit.occupied()));
+            }
+            return true;
+        }
+        removeRoom(unit.roomId());
+        Table current = tables.get(unit.propertyId());
+        List<Unit> units = current.units();
+        units.add(unit);
+        tables.put(unit.propertyId(), new Table(current.listing, units));
+        return true;
+    }
+
+    /**
+     * Removes a room from whichever property holds it.
+     */
+    synchronized void removeRoom(long roomId) {
+        for (Table table : tables.values()) {
+            if (table.positions.containsKey(roomId)) {
+                List<Unit> units = table.units();
+                units.removeIf(unit -> unit.roomId() == roomId);
+                tables.put(table.listing.propertyId(), new Table(table.listing, units));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds vacant rooms, cheapest first.
+     *
+     * @param minRent  Lowest rent, inclusive, or null.
+     * @param maxRent  Highest rent, inclusive, or null.
+     * @param type     Property type to match exactly (case-insensitive), or null.
+     * @param location Text the property location must contain (case-insensitive), or null.
+     * @param ownerId  Restrict to this landlord's properties, or null.
+     * @param limit    The maximum number of rooms to return.
+     */
+    List<Match> search(Double minRent, Double maxRent, String type, String location, Long ownerId, int limit) {
+        String typeKey = normalize(type);
+        String locationKey = normalize(location);
+        double min = minRent != null ? minRent : Double.NEGATIVE_INFINITY;
+        double max = maxRent != null ? maxRent : Double.POSITIVE_INFINITY;
+
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (Table table : tables.values()) {
+            if (table.vacant == 0
+                    || (ownerId != null && !ownerId.equals(table.listing.ownerId()))
+                    || (!typeKey.isEmpty() && !typeKey.equals(table.typeKey))
+                    || (!locationKey.isEmpty() && !table.locationKey.contains(locationKey))) {
+                continue;
+            }
+            int end = table.bound(max, true);
+            int first = table.occupied.nextClearBit(table.bound(min, false));
+            if (first < end) {
+                cursors.add(new Cursor(table, first, end));
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(Math.min(limit, 64));
+        while (matches.size() < limit && !cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            Table table = cursor.table;
+            int position = cursor.position;
+            matches.add(new Match(table.listing, table.roomIds[position], table.roomNumbers[position],
+                    table.rents[position], table.floors[position]));
+            int next = table.occupied.nextClearBit(position + 1);
+            if (next < cursor.end) {
+                cursors.add(new Cursor(table, next, cursor.end));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return The number of vacant rooms across all indexed properties.
+     */
+    long vacantCount() {
+        return tables.values().stream().mapToLong(table -> table.vacant).sum();
+    }
+
+    int propertyCount() {
+        return tables.size();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Cursor(Table table, int position, int end) implements Comparable<Cursor> {
+        @Override
+        public int compareTo(Cursor other) {
+            int byRent = Double.compare(table.rents[position], other.table.rents[other.position]);
+            return byRent != 0 ? byRent : Long.compare(table.roomIds[position], other.table.roomIds[other.position]);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package payup.payup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import payup.payup.dto.VacancyDto;
+import payup.payup.event.EntityChangedEvent;
+import payup.repository.PropertyRepository;
+import payup.repository.RoomRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Portfolio-wide search for vacant rooms by rent range, property type and location. Answers come from an
+ * in-memory {@link VacancyIndex} loaded at startup and kept current from committed property and room changes,
+ * so a search never touches the database. Landlords only see vacancies in their own properties.
+ */
+@Service
+public class VacancyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VacancyService.class);
+
+    private final PropertyRepository propertyRepository;
+    private final RoomRepository roomRepository;
+    private final int maxResults;
+
+    private volatile VacancyIndex index; // null until loaded
+    private final Queue<EntityChangedEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    public VacancyService(PropertyRepository propertyRepository,
+                          RoomRepository roomRepository,
+                          @Value("${vacancy.max-results:100}") int maxResults) {
+        this.propertyRepository = propertyRepository;
+        this.roomRepository = roomRepository;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Loads the index on a background thread once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Thread loader = new Thread(this::rebuild, "vacancy-init");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Reloads the whole index from the database and swaps it in.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            List<VacancyIndex.Listing> listings = new ArrayList<>();
+            propertyRepository.findVacancyRows().forEach(row -> listings.add(listing(row)));
+            List<VacancyIndex.Unit> units = new ArrayList<>();
+            roomRepository.findVacancyRows().forEach(row -> units.add(unit(row)));
+            VacancyIndex loaded = VacancyIndex.build(listings, units);
+            index = loaded;
+            // Changes committed while loading may or may not be in the snapshot; replaying them is idempotent
+            drainPending(loaded);
+            logger.info("Loaded vacancy index with {} properties and {} vacant rooms in {} ms",
+                    loaded.propertyCount(), loaded.vacantCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to load vacancy index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds vacant rooms, cheapest first.
+     *
+     * @param minRent    Lowest rent, inclusive, or null for no lower bound.
+     * @param maxRent    Highest rent, inclusive, or null for no upper bound.
+     * @param type       Property type, matched case-insensitively, or null for any.
+     * @param location   Text the property location must contain, case-insensitively, or null for anywhere.
+     * @param landlordId Restrict to this landlord's properties, or null for the whole portfolio (admins).
+     * @param limit      The maximum number of rooms, capped by vacancy.max-results.
+     * @return Matching vacant rooms; empty while the index is still loading.
+     * @throws IllegalArgumentException if minRent is greater than maxRent.
+     */
+    public List<VacancyDto> search(Double minRent, Double maxRent, String type, String location, Long landlordId, int limit) {
+        if (minRent != null && maxRent != null && minRent > maxRent) {
+            throw new IllegalArgumentException("minRent must not be greater than maxRent");
+        }
+        VacancyIndex current = index;
+        if (current == null) {
+            return List.of();
+        }
+        int capped = Math.max(1, Math.min(limit, maxResults));
+        List<VacancyDto> vacancies = new ArrayList<>();
+        for (VacancyIndex.Match match : current.search(minRent, maxRent, type, location, landlordId, capped)) {
+            VacancyIndex.Listing listing = match.listing();
+            vacancies.add(new VacancyDto(match.roomId(), match.roomNumber(), match.floor(), match.rent(),
+                    listing.propertyId(), listing.name(), listing.type(), listing.location()));
+        }
+        return vacancies;
+    }
+
+    /**
+     * Reloads a changed property or room after its transaction commits.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getKind() == EntityChangedEvent.Kind.TENANT) {
+            return; // Occupancy lives on the room, which publishes its own change
+        }
+        VacancyIndex current = index;
+        if (current != null) {
+            applySafely(current, event);
+            return;
+        }
+        pendingChanges.add(event);
+        // The load may have been swapped in and drained the queue between the check and the add
+        current = index;
+        if (current != null) {
+            drainPending(current);
+        }
+    }
+
+    private void drainPending(VacancyIndex target) {
+        EntityChangedEvent change;
+        while ((change = pendingChanges.poll()) != null) {
+            applySafely(target, change);
+        }
+    }
+
+    private void applySafely(VacancyIndex target, EntityChangedEvent event) {
+        try {
+            apply(target, event);
+        } catch (Exception e) {
+            logger.warn("Failed to update vacancy index for {} {}: {}", event.getKind(), event.getId(), e.getMessage());
+        }
+    }
+
+    private void apply(VacancyIndex target, EntityChangedEvent event) {
+        Long id = event.getId();
+        switch (event.getKind()) {
+            case PROPERTY -> {
+                List<Object[]> rows = propertyRepository.findVacancyRowsById(id);
+                if (rows.isEmpty()) {
+                    target.removeProperty(id);
+                } else if (!target.updateListing(listing(rows.get(0)))) {
+                    loadProperty(target, id);
+                }
+            }
+            case ROOM -> {
+                List<Object[]> rows = roomRepository.findVacancyRowsById(id);
+                if (rows.isEmpty()) {
+                    target.removeRoom(id);
+                } else {
+                    VacancyIndex.Unit unit = unit(rows.get(0));
+                    if (!target.putRoom(unit)) {
+                        loadProperty(target, unit.propertyId());
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void loadProperty(VacancyIndex target, Long propertyId) {
+        List<Object[]> rows = propertyRepository.findVacancyRowsById(propertyId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<VacancyIndex.Unit> units = new ArrayList<>();
+        roomRepository.findVacancyRowsByPropertyId(propertyId).forEach(row -> units.add(unit(row)));
+        target.putProperty(listing(rows.get(0)), units);
+    }
+
+    private static VacancyIndex.Listing listing(Object[] row) {
+        return new VacancyIndex.Listing((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (Long) row[4]);
+    }
+
+    private static VacancyIndex.Unit unit(Object[] row) {
+        return new VacancyIndex.Unit((Long) row[0], (Long) row[1], (Integer) row[2], (Double) row[3],
+                (Boolean) row[4], (String) row[5]);
+    }
+}
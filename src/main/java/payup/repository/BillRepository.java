@@ -3,10 +3,14 @@ package payup.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import payup.payup.model.Bill;
 import payup.payup.model.Tenant;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -68,6 +72,14 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
      */
     List<Bill> findByTenantId(Long tenantId);
 
+    /**
+     * Retrieves the bills of several tenant users in one query.
+     *
+     * @param userIds The user IDs the bills are addressed to.
+     * @return The bills of those users, in no particular order.
+     */
+    List<Bill> findByTenantIdIn(Collection<Long> userIds);
+
     /**
      * Retrieves all unpaid bills.
      *
@@ -82,5 +94,35 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
      * @return A list of unpaid Bill entities linked to the specified tenant.
      */
     List<Bill> findByTenantIdAndIsPaidFalse(Long tenantId);
-    
+
+    /**
+     * Lists the IDs of unpaid PENDING bills that fell due before the given time, in ID order after a cursor,
+     * for the overdue sweeper to flip a bounded chunk at a time.
+     *
+     * @param now      Bills due before this moment are overdue.
+     * @param afterId  Only bills with a greater ID (0 to start).
+     * @param pageable The chunk size.
+     * @return The IDs of the next chunk of bills to mark overdue.
+     */
+    @Query("SELECT b.id FROM Bill b WHERE b.status = payup.payup.model.Bill.BillStatus.PENDING AND b.isPaid = false " +
+            "AND b.dueDate < :now AND b.id > :afterId ORDER BY b.id")
+    List<Long> findOverdueCandidateIds(@Param("now") LocalDateTime now, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Flips a chunk of bills from PENDING to OVERDUE. Bills paid or changed since they were listed are skipped.
+     *
+     * @param ids The IDs of the bills.
+     * @param now The sweep time the bills must still be due before.
+     * @return The number of bills marked overdue.
+     */
+    @Modifying
+    @Query("UPDATE Bill b SET b.status = payup.payup.model.Bill.BillStatus.OVERDUE WHERE b.id IN :ids " +
+            "AND b.status = payup.payup.model.Bill.BillStatus.PENDING AND b.isPaid = false AND b.dueDate < :now")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Lists the users (tenants) that the given bills are addressed to.
+     */
+    @Query("SELECT DISTINCT b.tenant.id FROM Bill b WHERE b.id IN :ids AND b.status = payup.payup.model.Bill.BillStatus.OVERDUE")
+    List<Long> findOverdueUserIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
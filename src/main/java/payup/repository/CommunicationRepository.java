@@ -1,14 +1,57 @@
 package payup.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import payup.payup.dto.CommunicationDto;
 import payup.payup.model.Communication;
 import payup.payup.model.User;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommunicationRepository extends JpaRepository<Communication, Long> {
     List<Communication> findBySender(User sender);
     List<Communication> findByReceiver(User receiver);
     List<Communication> findBySenderAndReceiver(User sender, User receiver);
+    List<Communication> findByReceiverIdOrderBySentAtDesc(Long receiverId);
+
+    /**
+     * Seek-paginated history between two users, newest first, positioned strictly after the
+     * (sentAt, id) cursor. Each direction is served by idx_messages_sender_receiver_sent and
+     * rows are projected into DTOs without loading either user.
+     *
+     * @param userId       One participant.
+     * @param otherUserId  The other participant.
+     * @param cursorSentAt Send time of the last message of the previous page.
+     * @param cursorId     ID of the last message of the previous page.
+     * @param limit        Page size (use an offset of 0).
+     * @return The next messages of the conversation.
+     */
+    @Query("SELECT new payup.payup.dto.CommunicationDto(m.id, m.sender.id, m.receiver.id, m.message, m.type, m.sentAt) " +
+            "FROM Communication m " +
+            "WHERE ((m.sender.id = :userId AND m.receiver.id = :otherUserId) OR (m.sender.id = :otherUserId AND m.receiver.id = :userId)) " +
+            "AND (m.sentAt < :cursorSentAt OR (m.sentAt = :cursorSentAt AND m.id < :cursorId)) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<CommunicationDto> findConversationPage(@Param("userId") Long userId,
+                                                @Param("otherUserId") Long otherUserId,
+                                                @Param("cursorSentAt") LocalDateTime cursorSentAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable limit);
+
+    /**
+     * Seek-paginated list of messages received by a user, newest first. Served by idx_messages_receiver_sent.
+     *
+     * @see #findConversationPage(Long, Long, LocalDateTime, Long, Pageable)
+     */
+    @Query("SELECT new payup.payup.dto.CommunicationDto(m.id, m.sender.id, m.receiver.id, m.message, m.type, m.sentAt) " +
+            "FROM Communication m WHERE m.receiver.id = :receiverId " +
+            "AND (m.sentAt < :cursorSentAt OR (m.sentAt = :cursorSentAt AND m.id < :cursorId)) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<CommunicationDto> findReceivedPage(@Param("receiverId") Long receiverId,
+                                            @Param("cursorSentAt") LocalDateTime cursorSentAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable limit);
 }
@@ -0,0 +1,77 @@
+package payup.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import payup.payup.dto.ConversationSummaryDto;
+import payup.payup.model.Conversation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing Conversation entities in the PayUp system.
+ * Provides lookups by user pair and projection queries for inbox summaries.
+ */
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, Long> {
+
+    /**
+     * Finds the conversation between two users, given in ascending ID order.
+     *
+     * @param userLowId  The lower of the two user IDs.
+     * @param userHighId The higher of the two user IDs.
+     * @return An Optional containing the Conversation if one exists.
+     */
+    Optional<Conversation> findByUserLowIdAndUserHighId(Long userLowId, Long userHighId);
+
+    /**
+     * Records a new message on a conversation in a single statement. The summary is only replaced
+     * when the message is not older than the current one, so concurrent senders cannot roll it back.
+     *
+     * @param conversationId The ID of the conversation.
+     * @param messageId      The ID of the new message.
+     * @param senderId       The ID of the sender.
+     * @param preview        A truncated copy of the message text.
+     * @param sentAt         When the message was sent.
+     * @return The number of rows updated (0 if a newer message already won).
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastSenderId = :senderId, " +
+            "c.lastMessagePreview = :preview, c.lastMessageAt = :sentAt, c.messageCount = c.messageCount + 1 " +
+            "WHERE c.id = :conversationId AND (c.lastMessageAt IS NULL OR c.lastMessageAt <= :sentAt)")
+    int recordLastMessage(@Param("conversationId") Long conversationId,
+                          @Param("messageId") Long messageId,
+                          @Param("senderId") Long senderId,
+                          @Param("preview") String preview,
+                          @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Increments the message count of a conversation without touching its last-message summary.
+     *
+     * @param conversationId The ID of the conversation.
+     * @return The number of rows updated.
+     */
+    @Modifying
+    @Query("UPDATE Conversation c SET c.messageCount = c.messageCount + 1 WHERE c.id = :conversationId")
+    int incrementMessageCount(@Param("conversationId") Long conversationId);
+
+    /**
+     * Lists a user's conversations with their last-message summary, most recently active first.
+     * Only the other participant of each returned row is joined.
+     *
+     * @param userId   The ID of the user whose inbox is listed.
+     * @param pageable Pagination information.
+     * @return The conversation summaries for the requested page.
+     */
+    @Query("SELECT new payup.payup.dto.ConversationSummaryDto(c.id, o.id, o.firstName, o.lastName, " +
+            "c.lastSenderId, c.lastMessagePreview, c.lastMessageAt, c.messageCount) " +
+            "FROM Conversation c JOIN User o ON o.id = CASE WHEN c.userLow.id = :userId THEN c.userHigh.id ELSE c.userLow.id END " +
+            "WHERE c.userLow.id = :userId OR c.userHigh.id = :userId " +
+            "ORDER BY c.lastMessageAt DESC, c.id DESC")
+    List<ConversationSummaryDto> findSummariesForUser(@Param("userId") Long userId, Pageable pageable);
+}
@@ -1,11 +1,24 @@
 package payup.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import payup.payup.model.Floor;
 
+import java.util.List;
+
 /**
  * Repository interface for managing Floor entities in the PayUp system.
  * Extends JpaRepository to provide basic CRUD operations.
  */
 public interface FloorRepository extends JpaRepository<Floor, Long> {
+
+    /**
+     * Reads the floors and rooms of a property in one query, one row per room (floor ID, floor number,
+     * floor name, room ID, room number, rent, occupied), ordered by floor and room number. Floors without
+     * rooms come back once with null room columns.
+     */
+    @Query("SELECT f.id, f.floorNumber, f.floorName, r.id, r.roomNumber, r.rentAmount, r.isOccupied " +
+            "FROM Floor f LEFT JOIN f.rooms r WHERE f.property.id = :propertyId ORDER BY f.floorNumber, f.id, r.roomNumber")
+    List<Object[]> findSnapshotRowsByPropertyId(@Param("propertyId") Long propertyId);
 }
\ No newline at end of file
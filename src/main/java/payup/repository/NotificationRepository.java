@@ -3,11 +3,15 @@ package payup.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import payup.payup.dto.NotificationDto;
 import payup.payup.model.Notification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -52,6 +56,106 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
      * @param tenantId The ID of the tenant whose notifications should be updated.
      * @return The number of notifications updated.
      */
+    @Modifying
     @Query("UPDATE Notification n SET n.status = 'READ' WHERE n.tenant.id = :tenantId AND n.status = 'UNREAD'")
     int markAllAsReadForTenant(@Param("tenantId") Long tenantId);
+
+    /**
+     * Marks the given unread notifications of a tenant as READ in a single statement.
+     * IDs belonging to other tenants or already read are ignored.
+     *
+     * @param tenantId The ID of the tenant who owns the notifications.
+     * @param ids      The IDs of the notifications to mark as read.
+     * @return The number of notifications actually updated.
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = 'READ' WHERE n.tenant.id = :tenantId AND n.id IN :ids AND n.status = 'UNREAD'")
+    int markAsReadForTenant(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Counts the notifications of a tenant with a specific status.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param status   The NotificationStatus to count.
+     * @return The number of matching notifications.
+     */
+    long countByTenantIdAndStatus(Long tenantId, Notification.NotificationStatus status);
+
+    /**
+     * Counts unread notifications per tenant for the given tenants, used to reconcile cached counters.
+     *
+     * @param tenantIds The IDs of the tenants to count for.
+     * @return Rows of [tenantId, unreadCount]; tenants without unread notifications are absent.
+     */
+    @Query("SELECT n.tenant.id, COUNT(n) FROM Notification n WHERE n.tenant.id IN :tenantIds AND n.status = 'UNREAD' GROUP BY n.tenant.id")
+    List<Object[]> countUnreadByTenantIds(@Param("tenantIds") Collection<Long> tenantIds);
+
+    /**
+     * Seek-paginated feed of a tenant's notifications, newest first, positioned strictly after the
+     * (createdAt, id) cursor. Served by idx_notifications_tenant_created and projected straight into
+     * DTOs, so neither the Notification entities nor the lazy Tenant are loaded.
+     *
+     * @param tenantId        The ID of the tenant.
+     * @param cursorCreatedAt Creation time of the last item of the previous page.
+     * @param cursorId        ID of the last item of the previous page.
+     * @param limit           Page size (use an unpaged offset of 0).
+     * @return The next notifications of the feed.
+     */
+    @Query("SELECT new payup.payup.dto.NotificationDto(n.id, n.message, n.createdAt, n.tenant.id, n.status, n.type) " +
+            "FROM Notification n WHERE n.tenant.id = :tenantId " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findFeedPage(@Param("tenantId") Long tenantId,
+                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable limit);
+
+    /**
+     * Seek-paginated feed of a tenant's notifications with a given status, newest first.
+     * Served by idx_notifications_tenant_status_created.
+     *
+     * @see #findFeedPage(Long, LocalDateTime, Long, Pageable)
+     */
+    @Query("SELECT new payup.payup.dto.NotificationDto(n.id, n.message, n.createdAt, n.tenant.id, n.status, n.type) " +
+            "FROM Notification n WHERE n.tenant.id = :tenantId AND n.status = :status " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findFeedPageByStatus(@Param("tenantId") Long tenantId,
+                                               @Param("status") Notification.NotificationStatus status,
+                                               @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable limit);
+
+    /**
+     * Seek-paginated feed of a tenant's notifications of a given type, newest first.
+     * Served by idx_notifications_tenant_type_created.
+     *
+     * @see #findFeedPage(Long, LocalDateTime, Long, Pageable)
+     */
+    @Query("SELECT new payup.payup.dto.NotificationDto(n.id, n.message, n.createdAt, n.tenant.id, n.status, n.type) " +
+            "FROM Notification n WHERE n.tenant.id = :tenantId AND n.type = :type " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findFeedPageByType(@Param("tenantId") Long tenantId,
+                                             @Param("type") Notification.NotificationType type,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable limit);
+
+    /**
+     * Seek-paginated feed of a tenant's notifications with a given status and type, newest first.
+     * Walks idx_notifications_tenant_status_created and filters the type on the way.
+     *
+     * @see #findFeedPage(Long, LocalDateTime, Long, Pageable)
+     */
+    @Query("SELECT new payup.payup.dto.NotificationDto(n.id, n.message, n.createdAt, n.tenant.id, n.status, n.type) " +
+            "FROM Notification n WHERE n.tenant.id = :tenantId AND n.status = :status AND n.type = :type " +
+            "AND (n.createdAt < :cursorCreatedAt OR (n.createdAt = :cursorCreatedAt AND n.id < :cursorId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findFeedPageByStatusAndType(@Param("tenantId") Long tenantId,
+                                                      @Param("status") Notification.NotificationStatus status,
+                                                      @Param("type") Notification.NotificationType type,
+                                                      @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable limit);
 }
\ No newline at end of file
@@ -3,10 +3,16 @@ package payup.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import payup.payup.model.Property;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Property entities in the PayUp system.
@@ -48,4 +54,132 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
      * @return A list of Property entities matching the name criteria.
      */
     List<Property> findByNameContainingIgnoreCase(String namePart);
+
+    /**
+     * Lists the IDs of all properties in ID order without loading them.
+     */
+    @Query("SELECT p.id FROM Property p ORDER BY p.id")
+    List<Long> findAllIds();
+
+    /**
+     * Lists the IDs of a landlord's properties without loading them.
+     */
+    @Query("SELECT p.id FROM Property p WHERE p.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Reads only the owner ID of a property.
+     */
+    @Query("SELECT p.owner.id FROM Property p WHERE p.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    /**
+     * Reserves the next room numbers of a property by bumping its counter in place. The UPDATE holds the
+     * property row lock until commit, so concurrent allocations for one property queue briefly instead of
+     * handing out the same number, and allocations for different properties never contend. Properties created
+     * before the counter existed continue from their highest room number.
+     *
+     * @param propertyId The ID of the property.
+     * @param count      How many numbers to reserve.
+     * @return The number of properties updated (0 if the property does not exist).
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.lastRoomNumber = COALESCE(p.lastRoomNumber, " +
+            "(SELECT MAX(r.roomNumber) FROM Room r WHERE r.property.id = p.id), 0) + :count WHERE p.id = :propertyId")
+    int reserveRoomNumbers(@Param("propertyId") Long propertyId, @Param("count") int count);
+
+    /**
+     * Raises the room number counter of a property to at least the given number, so a manually numbered room
+     * is never handed out again by {@link #reserveRoomNumbers}.
+     *
+     * @param propertyId The ID of the property.
+     * @param number     The room number that was taken.
+     * @return The number of properties updated.
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.lastRoomNumber = CASE " +
+            "WHEN COALESCE(p.lastRoomNumber, (SELECT MAX(r.roomNumber) FROM Room r WHERE r.property.id = p.id), 0) < :number " +
+            "THEN :number " +
+            "ELSE COALESCE(p.lastRoomNumber, (SELECT MAX(r.roomNumber) FROM Room r WHERE r.property.id = p.id), 0) END " +
+            "WHERE p.id = :propertyId")
+    int raiseLastRoomNumber(@Param("propertyId") Long propertyId, @Param("number") int number);
+
+    /**
+     * Reads the room number counter of a property, e.g. right after {@link #reserveRoomNumbers}.
+     *
+     * @param propertyId The ID of the property.
+     * @return The highest room number handed out, or empty if the property does not exist.
+     */
+    @Query("SELECT p.lastRoomNumber FROM Property p WHERE p.id = :propertyId")
+    Optional<Integer> findLastRoomNumber(@Param("propertyId") Long propertyId);
+
+    /**
+     * Reads the typeahead columns (ID, name, location, owner ID) of every property.
+     */
+    @Query("SELECT p.id, p.name, p.location, o.id FROM Property p LEFT JOIN p.owner o")
+    List<Object[]> findTypeaheadRows();
+
+    /**
+     * Reads the typeahead columns of one property.
+     */
+    @Query("SELECT p.id, p.name, p.location, o.id FROM Property p LEFT JOIN p.owner o WHERE p.id = :id")
+    List<Object[]> findTypeaheadRowsById(@Param("id") Long id);
+
+    /**
+     * Reads the vacancy index columns (ID, name, type, location, owner ID) of every property.
+     */
+    @Query("SELECT p.id, p.name, p.type, p.location, o.id FROM Property p LEFT JOIN p.owner o")
+    List<Object[]> findVacancyRows();
+
+    /**
+     * Reads the vacancy index columns of one property.
+     */
+    @Query("SELECT p.id, p.name, p.type, p.location, o.id FROM Property p LEFT JOIN p.owner o WHERE p.id = :id")
+    List<Object[]> findVacancyRowsById(@Param("id") Long id);
+
+    /**
+     * Reads the snapshot header columns (ID, name, type, location, units, owner ID, owner first and last name,
+     * updatedAt) of one property.
+     */
+    @Query("SELECT p.id, p.name, p.type, p.location, p.units, o.id, o.firstName, o.lastName, p.updatedAt " +
+            "FROM Property p LEFT JOIN p.owner o WHERE p.id = :id")
+    List<Object[]> findSnapshotRowsById(@Param("id") Long id);
+
+    /**
+     * Reads only the last modification time of a property, the version its snapshot ETag is derived from.
+     */
+    @Query("SELECT p.updatedAt FROM Property p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Sets the modification time of properties whose floors, rooms or tenants changed.
+     *
+     * @param ids The IDs of the properties.
+     * @param now The new modification time.
+     * @return The number of properties updated.
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.updatedAt = :now WHERE p.id IN :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the modification time of the properties holding the given rooms.
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.updatedAt = :now WHERE p.id IN (SELECT r.property.id FROM Room r WHERE r.id IN :roomIds)")
+    int touchByRoomIds(@Param("roomIds") Collection<Long> roomIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the modification time of the properties the given tenants live in.
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.updatedAt = :now WHERE p.id IN (SELECT t.property.id FROM Tenant t WHERE t.id IN :tenantIds)")
+    int touchByTenantIds(@Param("tenantIds") Collection<Long> tenantIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Sets the modification time of the properties where the given users are tenants.
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.updatedAt = :now WHERE p.id IN (SELECT t.property.id FROM Tenant t WHERE t.user.id IN :userIds)")
+    int touchByTenantUserIds(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
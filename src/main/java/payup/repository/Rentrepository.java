@@ -3,10 +3,14 @@ package payup.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import payup.payup.model.Rent;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +28,14 @@ public interface RentRepository extends JpaRepository<Rent, Long> {
      */
     List<Rent> findByTenantId(Long tenantId);
 
+    /**
+     * Retrieves the rents of several tenants in one query, e.g. to assemble a page of tenant DTOs.
+     *
+     * @param tenantIds The IDs of the tenants.
+     * @return The rents of those tenants, in no particular order.
+     */
+    List<Rent> findByTenantIdIn(Collection<Long> tenantIds);
+
     /**
      * Retrieves unpaid rent records for a tenant due on or before a specific date, with pagination.
      *
@@ -42,4 +54,43 @@ public interface RentRepository extends JpaRepository<Rent, Long> {
      * @return A Page of paid Rent entities for the tenant.
      */
     Page<Rent> findByTenantIdAndPaidIsTrue(Long tenantId, Pageable pageable);
+
+    /**
+     * Retrieves overdue (unpaid, flagged by the sweeper) rent records for a tenant, with pagination.
+     *
+     * @param tenantId The ID of the tenant.
+     * @param pageable Pagination and sorting information.
+     * @return A Page of overdue Rent entities for the tenant.
+     */
+    Page<Rent> findByTenantIdAndOverdueIsTrueAndPaidIsFalse(Long tenantId, Pageable pageable);
+
+    /**
+     * Lists the IDs of unpaid rents not yet flagged overdue whose due date has passed, in ID order after a
+     * cursor, for the overdue sweeper to flag a bounded chunk at a time.
+     *
+     * @param today    Rents due before this day are overdue.
+     * @param afterId  Only rents with a greater ID (0 to start).
+     * @param pageable The chunk size.
+     * @return The IDs of the next chunk of rents to flag.
+     */
+    @Query("SELECT r.id FROM Rent r WHERE r.paid = false AND r.overdue = false AND r.dueDate < :today " +
+            "AND r.id > :afterId ORDER BY r.id")
+    List<Long> findOverdueCandidateIds(@Param("today") LocalDate today, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Flags a chunk of rents as overdue. Rents paid since they were listed are skipped.
+     *
+     * @param ids   The IDs of the rents.
+     * @param today The sweep day the rents must still be due before.
+     * @return The number of rents flagged.
+     */
+    @Modifying
+    @Query("UPDATE Rent r SET r.overdue = true WHERE r.id IN :ids AND r.paid = false AND r.overdue = false AND r.dueDate < :today")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    /**
+     * Lists the tenants owing the given rents.
+     */
+    @Query("SELECT DISTINCT r.tenant.id FROM Rent r WHERE r.id IN :ids AND r.overdue = true")
+    List<Long> findOverdueTenantIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
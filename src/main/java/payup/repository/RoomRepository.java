@@ -1,12 +1,14 @@
 package payup.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import payup.payup.model.Property;
 import payup.payup.model.Room;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository interface for managing Room entities in the PayUp system.
@@ -14,16 +16,6 @@ import java.util.Optional;
  */
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
-    /**
-     * Retrieves the highest room number currently assigned across all rooms in the database.
-     * This is used to ensure new rooms are assigned unique room numbers when the roomNumber
-     * column has a global unique constraint.
-     *
-     * @return An Optional containing the maximum room number, or empty if no rooms exist.
-     */
-    @Query("SELECT MAX(r.roomNumber) FROM Room r")
-    Optional<Integer> findMaxRoomNumber();
-
     /**
      * Retrieves all rooms in a specific property.
      *
@@ -65,4 +57,61 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      * @return A list of occupied Room entities in the property.
      */
     List<Room> findByPropertyAndIsOccupiedTrue(Property property);
+
+    /**
+     * Marks vacant rooms as occupied in one UPDATE. Rooms that are already occupied are left alone,
+     * so a result smaller than ids.size() means another request claimed some of them first.
+     *
+     * @param ids The IDs of the rooms to occupy.
+     * @return The number of rooms that changed from vacant to occupied.
+     */
+    @Modifying
+    @Query("UPDATE Room r SET r.isOccupied = true WHERE r.id IN :ids AND r.isOccupied = false")
+    int markOccupied(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Claims one room of a property if it is still vacant. The check and the write are a single
+     * conditional UPDATE, so of several concurrent claims on the same room exactly one succeeds.
+     *
+     * @param id         The ID of the room to occupy.
+     * @param propertyId The property the room must belong to.
+     * @return 1 if the room was vacant and is now occupied, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Room r SET r.isOccupied = true WHERE r.id = :id AND r.property.id = :propertyId AND r.isOccupied = false")
+    int claimIfVacant(@Param("id") Long id, @Param("propertyId") Long propertyId);
+
+    /**
+     * Marks an occupied room as vacant again.
+     *
+     * @param id The ID of the room to vacate.
+     * @return 1 if the room was occupied and is now vacant, 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE Room r SET r.isOccupied = false WHERE r.id = :id AND r.isOccupied = true")
+    int markVacant(@Param("id") Long id);
+
+    String TYPEAHEAD_SELECT = "SELECT r.id, r.roomNumber, p.id, p.name, o.id FROM Room r JOIN r.property p LEFT JOIN p.owner o";
+
+    @Query(TYPEAHEAD_SELECT)
+    List<Object[]> findTypeaheadRows();
+
+    @Query(TYPEAHEAD_SELECT + " WHERE r.id = :id")
+    List<Object[]> findTypeaheadRowsById(@Param("id") Long id);
+
+    @Query(TYPEAHEAD_SELECT + " WHERE p.id = :propertyId")
+    List<Object[]> findTypeaheadRowsByPropertyId(@Param("propertyId") Long propertyId);
+
+    /** Columns loaded for the vacancy index: room ID, property ID, room number, rent, occupied, floor name. */
+    String VACANCY_SELECT = "SELECT r.id, r.property.id, r.roomNumber, r.rentAmount, r.isOccupied, f.floorName " +
+            "FROM Room r LEFT JOIN r.floor f";
+
+    @Query(VACANCY_SELECT)
+    List<Object[]> findVacancyRows();
+
+    @Query(VACANCY_SELECT + " WHERE r.id = :id")
+    List<Object[]> findVacancyRowsById(@Param("id") Long id);
+
+    @Query(VACANCY_SELECT + " WHERE r.property.id = :propertyId")
+    List<Object[]> findVacancyRowsByPropertyId(@Param("propertyId") Long propertyId);
 }
\ No newline at end of file
@@ -2,12 +2,15 @@ package payup.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import payup.payup.dto.TenantSummaryDto;
 import payup.payup.model.Tenant;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,17 @@ import java.util.Optional;
 @Repository
 public interface TenantRepository extends JpaRepository<Tenant, Long> {
 
+    /** Tenant listing rows in one query: user, property and room are joined, rent counts are subqueries. */
+    String SUMMARY_SELECT = "SELECT new payup.payup.dto.TenantSummaryDto(t.id, u.id, u.firstName, u.lastName, u.email, u.phone, " +
+            "t.balance, t.floor, p.id, p.name, r.id, r.roomNumber, " +
+            "(SELECT COUNT(rt) FROM Rent rt WHERE rt.tenant = t), " +
+            "(SELECT COUNT(ru) FROM Rent ru WHERE ru.tenant = t AND ru.paid = false), t.createdAt) " +
+            "FROM Tenant t JOIN t.user u LEFT JOIN t.property p LEFT JOIN t.room r";
+
+    /** Columns loaded for the typeahead index: tenant ID, user ID, first name, last name, email, phone, property ID, owner ID. */
+    String TYPEAHEAD_SELECT = "SELECT t.id, u.id, u.firstName, u.lastName, u.email, u.phone, p.id, o.id " +
+            "FROM Tenant t JOIN t.user u LEFT JOIN t.property p LEFT JOIN p.owner o";
+
     /**
      * Finds a tenant by their email address.
      *
@@ -44,6 +58,84 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
      */
     boolean existsByIdAndPropertyOwnerId(Long tenantId, Long propertyOwnerId);
 
+    /**
+     * Lists the IDs of the tenants in a landlord's properties without loading them.
+     *
+     * @param ownerId The ID of the landlord.
+     * @return The tenant IDs.
+     */
+    @Query("SELECT t.id FROM Tenant t WHERE t.property.owner.id = :ownerId")
+    List<Long> findIdsByPropertyOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Retrieves one page of tenant listing rows without loading any entity.
+     *
+     * @param pageable Pagination and sorting information (sort by tenant fields, e.g. "id").
+     * @return A page of tenant summaries.
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(t) FROM Tenant t")
+    Page<TenantSummaryDto> findSummaries(Pageable pageable);
+
+    /**
+     * Retrieves one page of tenant listing rows of a property without loading any entity.
+     *
+     * @param propertyId The ID of the property.
+     * @param pageable   Pagination and sorting information.
+     * @return A page of tenant summaries.
+     */
+    @Query(value = SUMMARY_SELECT + " WHERE p.id = :propertyId",
+            countQuery = "SELECT COUNT(t) FROM Tenant t WHERE t.property.id = :propertyId")
+    Page<TenantSummaryDto> findSummariesByPropertyId(@Param("propertyId") Long propertyId, Pageable pageable);
+
+    /**
+     * Retrieves a page of tenants with their user, property and room (with its floor) fetched in the same query.
+     *
+     * @param pageable Pagination and sorting information.
+     * @return A page of Tenant entities.
+     */
+    @EntityGraph(attributePaths = {"user", "property", "room", "room.floor"})
+    @Query(value = "SELECT t FROM Tenant t", countQuery = "SELECT COUNT(t) FROM Tenant t")
+    Page<Tenant> findPageWithUserAndProperty(Pageable pageable);
+
+    /**
+     * Retrieves the tenants of a property with their user, property and room fetched in the same query.
+     *
+     * @param propertyId The ID of the property.
+     * @return The tenants of the property.
+     */
+    @EntityGraph(attributePaths = {"user", "property", "room", "room.floor"})
+    @Query("SELECT t FROM Tenant t WHERE t.property.id = :propertyId")
+    List<Tenant> findWithUserAndPropertyByPropertyId(@Param("propertyId") Long propertyId);
+
+    /**
+     * Reads only the owner ID of a tenant's property.
+     *
+     * @param id The ID of the tenant.
+     * @return The landlord's ID, or empty if the tenant has no property.
+     */
+    @Query("SELECT t.property.owner.id FROM Tenant t WHERE t.id = :id")
+    Optional<Long> findPropertyOwnerIdById(@Param("id") Long id);
+
+    /**
+     * Lists the IDs of the tenants belonging to the given users.
+     */
+    @Query("SELECT t.id FROM Tenant t WHERE t.user.id IN :userIds")
+    List<Long> findIdsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Reads only the property ID of a tenant.
+     */
+    @Query("SELECT t.property.id FROM Tenant t WHERE t.id = :id")
+    Optional<Long> findPropertyIdById(@Param("id") Long id);
+
+    /**
+     * Reads the tenants of a property for its snapshot (tenant ID, user ID, first name, last name, email,
+     * phone, room ID) in one query.
+     */
+    @Query("SELECT t.id, u.id, u.firstName, u.lastName, u.email, u.phone, r.id " +
+            "FROM Tenant t LEFT JOIN t.user u LEFT JOIN t.room r WHERE t.property.id = :propertyId ORDER BY t.id")
+    List<Object[]> findSnapshotRowsByPropertyId(@Param("propertyId") Long propertyId);
+
     /**
      * Retrieves tenants in a specific property with pagination.
      *
@@ -54,13 +146,55 @@ public interface TenantRepository extends JpaRepository<Tenant, Long> {
     Page<Tenant> findByPropertyId(Long propertyId, Pageable pageable);
 
     /**
-     * Searches for tenants by name or email (case-insensitive) with pagination.
+     * Retrieves the tenants of the given users, e.g. to resolve user search hits to tenants.
      *
-     * @param searchTerm  The term to search in names.
-     * @param searchTerm2 The term to search in emails (can be same as searchTerm).
-     * @param pageable    Pagination and sorting information.
-     * @return A Page of Tenant entities matching the search criteria.
+     * @param userIds The IDs of the users.
+     * @return The tenants linked to those users, in no particular order.
+     */
+    @Query("SELECT t FROM Tenant t JOIN FETCH t.user u WHERE u.id IN :userIds")
+    List<Tenant> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Returns which of the given users already have a tenant record.
+     *
+     * @param userIds The IDs of the users.
+     * @return The subset of user IDs linked to a tenant.
+     */
+    @Query("SELECT t.user.id FROM Tenant t WHERE t.user.id IN :userIds")
+    List<Long> findUserIdsWithTenant(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Reads the typeahead columns of every tenant, without loading entities.
+     *
+     * @return One row per tenant, in the order described by {@link #TYPEAHEAD_SELECT}.
+     */
+    @Query(TYPEAHEAD_SELECT)
+    List<Object[]> findTypeaheadRows();
+
+    /**
+     * Reads the typeahead columns of one tenant.
+     *
+     * @param id The ID of the tenant.
+     * @return At most one row.
+     */
+    @Query(TYPEAHEAD_SELECT + " WHERE t.id = :id")
+    List<Object[]> findTypeaheadRowsById(@Param("id") Long id);
+
+    /**
+     * Reads the typeahead columns of the tenants of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The matching rows.
+     */
+    @Query(TYPEAHEAD_SELECT + " WHERE u.id = :userId")
+    List<Object[]> findTypeaheadRowsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Reads the typeahead columns of the tenants of a property.
+     *
+     * @param propertyId The ID of the property.
+     * @return The matching rows.
      */
-    @Query("SELECT t FROM Tenant t JOIN t.user u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm2, '%'))")
-    Page<Tenant> findByNameContainingOrEmailContainingIgnoreCase(@Param("searchTerm") String searchTerm, @Param("searchTerm2") String searchTerm2, Pageable pageable);
+    @Query(TYPEAHEAD_SELECT + " WHERE p.id = :propertyId")
+    List<Object[]> findTypeaheadRowsByPropertyId(@Param("propertyId") Long propertyId);
 }
\ No newline at end of file
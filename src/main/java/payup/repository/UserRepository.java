@@ -3,11 +3,15 @@ package payup.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import payup.payup.dto.UserView;
 import payup.payup.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +21,13 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Lower-cased text searched by the ranked queries. Must stay identical to the trigram index
+     * expression in db/user-search-postgresql.sql, or PostgreSQL will not use the index.
+     */
+    String SEARCH_TEXT = "lower(coalesce(u.firstName, '') || ' ' || coalesce(u.lastName, '') || ' ' " +
+            "|| coalesce(u.email, '') || ' ' || coalesce(u.phone, ''))";
+
     /**
      * Finds a user by their email address.
      *
@@ -33,6 +44,46 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Returns which of the given emails are already registered, in one query.
+     *
+     * @param emails The emails to check.
+     * @return The subset of emails that belong to an existing user.
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Returns which of the given phone numbers are already registered, in one query.
+     *
+     * @param phones The phone numbers to check.
+     * @return The subset of phone numbers that belong to an existing user.
+     */
+    @Query("SELECT u.phone FROM User u WHERE u.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    /**
+     * Reads only the token version of a user, without loading the entity.
+     *
+     * @param id The ID of the user.
+     * @return An Optional containing the token version, or empty if the user does not exist.
+     */
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Replaces a user's password hash, but only if it still equals the hash that was verified,
+     * so a concurrent password change is never overwritten.
+     *
+     * @param id      The ID of the user.
+     * @param oldHash The hash the password was verified against.
+     * @param newHash The replacement hash.
+     * @return The number of rows updated (0 or 1).
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
     /**
      * Finds the first user with the specified role.
      *
@@ -52,6 +103,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
      * Searches users by a term across firstName, lastName, email, or phone, with pagination.
+     * This scans the whole table; it only serves search while the in-memory index is still loading.
      *
      * @param searchTerm The term to search for (case-insensitive).
      * @param pageable Pagination and sorting parameters.
@@ -62,4 +114,81 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
             "OR LOWER(u.phone) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<User> searchUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Like {@link #searchUsers}, restricted to one role in the query so paging and totals count only that role.
+     *
+     * @param searchTerm The term to search for (case-insensitive).
+     * @param role The role the users must have.
+     * @param pageable Pagination and sorting parameters.
+     * @return A Page of User entities with the role matching the search term.
+     */
+    @Query("SELECT u FROM User u WHERE u.role = :role AND (LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            "OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
+            "OR LOWER(u.phone) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<User> searchUsersByRole(@Param("searchTerm") String searchTerm, @Param("role") User.UserRole role, Pageable pageable);
+
+    /**
+     * PostgreSQL only: ranked substring search served by the pg_trgm GIN index. Exact email/phone matches
+     * come first, then email/phone prefixes, then name prefixes, then by trigram similarity.
+     *
+     * @param term    The normalized search term.
+     * @param pattern The term with LIKE wildcards escaped.
+     * @param role    A role name to filter by, or an empty string for any role.
+     * @param limit   Page size.
+     * @param offset  Rows to skip.
+     * @return The IDs of the matching users, best first.
+     */
+    @Query(value = "SELECT u.id FROM users u WHERE " + SEARCH_TEXT + " LIKE CONCAT('%', :pattern, '%') " +
+            "AND (:role = '' OR u.role = :role) " +
+            "ORDER BY CASE WHEN lower(u.email) = :term OR u.phone = :term THEN 0 " +
+            "WHEN lower(u.email) LIKE CONCAT(:pattern, '%') OR u.phone LIKE CONCAT(:pattern, '%') THEN 1 " +
+            "WHEN lower(u.firstName) LIKE CONCAT(:pattern, '%') OR lower(u.lastName) LIKE CONCAT(:pattern, '%') THEN 2 " +
+            "ELSE 3 END, similarity(" + SEARCH_TEXT + ", :term) DESC, u.id " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchIdsRanked(@Param("term") String term, @Param("pattern") String pattern, @Param("role") String role,
+                               @Param("limit") int limit, @Param("offset") long offset);
+
+    /**
+     * PostgreSQL only: counts the matches of {@link #searchIdsRanked}.
+     */
+    @Query(value = "SELECT COUNT(*) FROM users u WHERE " + SEARCH_TEXT + " LIKE CONCAT('%', :pattern, '%') " +
+            "AND (:role = '' OR u.role = :role)", nativeQuery = true)
+    long countSearchMatches(@Param("pattern") String pattern, @Param("role") String role);
+
+    /**
+     * PostgreSQL only: email/phone prefix search served by the text_pattern_ops B-tree indexes.
+     *
+     * @param term    The normalized email or phone prefix.
+     * @param pattern The prefix with LIKE wildcards escaped.
+     * @param role    A role name to filter by, or an empty string for any role.
+     * @param limit   Page size.
+     * @param offset  Rows to skip.
+     * @return The IDs of the matching users, exact matches first.
+     */
+    @Query(value = "SELECT u.id FROM users u WHERE (lower(u.email) LIKE CONCAT(:pattern, '%') OR u.phone LIKE CONCAT(:pattern, '%')) " +
+            "AND (:role = '' OR u.role = :role) " +
+            "ORDER BY CASE WHEN lower(u.email) = :term OR u.phone = :term THEN 0 ELSE 1 END, u.id " +
+            "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchIdsByContactPrefix(@Param("term") String term, @Param("pattern") String pattern, @Param("role") String role,
+                                       @Param("limit") int limit, @Param("offset") long offset);
+
+    /**
+     * PostgreSQL only: counts the matches of {@link #searchIdsByContactPrefix}.
+     */
+    @Query(value = "SELECT COUNT(*) FROM users u WHERE (lower(u.email) LIKE CONCAT(:pattern, '%') OR u.phone LIKE CONCAT(:pattern, '%')) " +
+            "AND (:role = '' OR u.role = :role)", nativeQuery = true)
+    long countContactPrefixMatches(@Param("pattern") String pattern, @Param("role") String role);
+
+    /**
+     * Reads users as views in ID order, one batch after another, without loading entities.
+     *
+     * @param afterId  Only users with a greater ID are returned.
+     * @param pageable The batch size (page number is ignored by the keyset condition).
+     * @return The next batch of user views.
+     */
+    @Query("SELECT new payup.payup.dto.UserView(u.id, u.email, u.firstName, u.lastName, u.phone, u.role) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserView> findViewsAfter(@Param("afterId") long afterId, Pageable pageable);
 }
\ No newline at end of file
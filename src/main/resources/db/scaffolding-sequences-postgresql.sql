@@ -0,0 +1,7 @@
+-- Sequences behind the pooled Floor and Room IDs (allocationSize = 50 in the entities).
+-- Run once, before deploying, on databases whose floors/rooms tables were created with IDENTITY IDs.
+-- Each sequence is moved a full block past the highest existing ID, so the first pooled range cannot collide.
+CREATE SEQUENCE IF NOT EXISTS floors_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS rooms_seq INCREMENT BY 50;
+SELECT setval('floors_seq', (SELECT COALESCE(MAX(id), 0) FROM floors) + 50);
+SELECT setval('rooms_seq', (SELECT COALESCE(MAX(id), 0) FROM rooms) + 50);
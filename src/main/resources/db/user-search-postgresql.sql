@@ -0,0 +1,7 @@
+-- Indexes for the ranked user search (UserRepository.searchIdsRanked / searchIdsByContactPrefix).
+-- Applied at startup when search.users.create-indexes=true; safe to run repeatedly.
+-- Name columns are the entity's unquoted camelCase names (firstName), which PostgreSQL folds to firstname.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_search_trgm ON users USING gin ((lower(coalesce(firstName, '') || ' ' || coalesce(lastName, '') || ' ' || coalesce(email, '') || ' ' || coalesce(phone, ''))) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_phone_prefix ON users (phone text_pattern_ops);
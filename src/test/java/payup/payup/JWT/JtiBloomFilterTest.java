@@ -0,0 +1,92 @@
+package payup.payup.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JtiBloomFilterTest {
+
+    @Test
+    void emptyFilterContainsNothing() {
+        JtiBloomFilter filter = new JtiBloomFilter(1000, 0.001);
+
+        assertFalse(filter.mightContain("jti-1"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void addedIdsAreAlwaysFound() {
+        JtiBloomFilter filter = new JtiBloomFilter(1000, 0.001);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+
+        ids.forEach(filter::add);
+
+        ids.forEach(id -> assertTrue(filter.mightContain(id), id));
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTargetAtExpectedSize() {
+        JtiBloomFilter filter = new JtiBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Target is 1%; allow generous slack so the test is not flaky
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void tinyFilterStillWorks() {
+        JtiBloomFilter filter = new JtiBloomFilter(0, 0.5);
+
+        filter.add("only");
+
+        assertTrue(filter.mightContain("only"));
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        JtiBloomFilter filter = new JtiBloomFilter(40_000, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        filter.add(thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < 4; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(filter.mightContain(t + "-" + i));
+            }
+        }
+    }
+}
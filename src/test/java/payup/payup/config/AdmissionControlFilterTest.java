@@ -0,0 +1,78 @@
+package payup.payup.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import payup.payup.service.AdmissionControlService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private static final FilterChain START_ASYNC = (request, response) -> request.startAsync();
+    private static final FilterChain SYNC = (request, response) -> { };
+
+    private AdmissionControlFilter filter;
+    private int clients;
+
+    @BeforeEach
+    void setUp() {
+        AdmissionControlConfig config = new AdmissionControlConfig();
+        config.setMaxConcurrent(10); // Standard lane: 8 slots
+        filter = new AdmissionControlFilter(new AdmissionControlService(config, new SimpleMeterRegistry()), config,
+                new ObjectMapper());
+    }
+
+    private MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        request.setRemoteAddr("10.0.0." + (++clients)); // One client each, so token buckets never interfere
+        return request;
+    }
+
+    private int perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response.getStatus();
+    }
+
+    @Test
+    void openStreamsDoNotStarveOrdinaryRequests() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest stream = request("/api/notifications/stream");
+            assertEquals(200, perform(stream, START_ASYNC));
+            assertTrue(stream.isAsyncStarted());
+        }
+
+        assertEquals(200, perform(request("/api/properties"), SYNC));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(200, perform(request("/api/properties"), START_ASYNC));
+        }
+    }
+
+    @Test
+    void asyncRequestHoldsItsSlotUntilComplete() throws Exception {
+        MockHttpServletRequest first = request("/api/auth/login");
+        assertEquals(200, perform(first, START_ASYNC));
+        for (int i = 1; i < 8; i++) {
+            assertEquals(200, perform(request("/api/auth/login"), START_ASYNC));
+        }
+
+        assertEquals(429, perform(request("/api/properties"), SYNC));
+
+        ((MockAsyncContext) first.getAsyncContext()).complete();
+        assertEquals(200, perform(request("/api/properties"), SYNC));
+    }
+
+    @Test
+    void synchronousRequestsReleaseTheirSlotOnReturn() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, perform(request("/api/properties"), SYNC));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package payup.payup.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import payup.payup.dto.UserView;
+import payup.payup.event.EntityChangedEvent;
+import payup.payup.model.User;
+import payup.repository.PropertyRepository;
+import payup.repository.TenantRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class OwnershipServiceTest {
+
+    private static final long ALICE = 10;
+    private static final long BOB = 20;
+
+    private final Map<Long, Long> propertyOwners = new HashMap<>();
+    private final Map<Long, Long> tenantProperties = new HashMap<>();
+    private OwnershipService ownershipService;
+
+    @BeforeEach
+    void setUp() {
+        PropertyRepository propertyRepository = mock(PropertyRepository.class);
+        TenantRepository tenantRepository = mock(TenantRepository.class);
+        UserService userService = mock(UserService.class);
+        when(userService.findViewByEmail("alice@example.com"))
+                .thenReturn(Optional.of(new UserView(ALICE, "alice@example.com", "Alice", "A", null, User.UserRole.LANDLORD)));
+        when(userService.findViewByEmail("bob@example.com"))
+                .thenReturn(Optional.of(new UserView(BOB, "bob@example.com", "Bob", "B", null, User.UserRole.LANDLORD)));
+        when(propertyRepository.findIdsByOwnerId(anyLong())).thenAnswer(call -> propertyOwners.entrySet().stream()
+                .filter(entry -> entry.getValue().equals(call.getArgument(0))).map(Map.Entry::getKey).toList());
+        when(propertyRepository.findOwnerIdById(anyLong()))
+                .thenAnswer(call -> Optional.ofNullable(propertyOwners.get((Long) call.getArgument(0))));
+        when(tenantRepository.findIdsByPropertyOwnerId(anyLong())).thenAnswer(call -> tenantProperties.entrySet().stream()
+                .filter(entry -> call.getArgument(0).equals(propertyOwners.get(entry.getValue()))).map(Map.Entry::getKey).toList());
+        when(tenantRepository.findPropertyOwnerIdById(anyLong()))
+                .thenAnswer(call -> Optional.ofNullable(propertyOwners.get(tenantProperties.get((Long) call.getArgument(0)))));
+
+        propertyOwners.put(1L, ALICE);
+        propertyOwners.put(2L, BOB);
+        tenantProperties.put(100L, 1L);
+        ownershipService = new OwnershipService(propertyRepository, tenantRepository, userService, 1000, 600_000);
+    }
+
+    private static Authentication landlord(String email) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority("ROLE_LANDLORD")));
+    }
+
+    @Test
+    void transferredPropertyIsDeniedToPreviousOwnerRightAfterTheChange() {
+        assertTrue(ownershipService.ownsProperty(landlord("alice@example.com"), 1L));
+        assertFalse(ownershipService.ownsProperty(landlord("bob@example.com"), 1L));
+
+        propertyOwners.put(1L, BOB);
+        ownershipService.onEntityChanged(new EntityChangedEvent(EntityChangedEvent.Kind.PROPERTY, 1L));
+
+        assertFalse(ownershipService.ownsProperty(landlord("alice@example.com"), 1L));
+        assertTrue(ownershipService.ownsProperty(landlord("bob@example.com"), 1L));
+    }
+
+    @Test
+    void changeRelayedFromAnotherInstanceIsDeniedRightAway() {
+        assertTrue(ownershipService.ownsTenant(landlord("alice@example.com"), 100L));
+
+        // Another instance moved the tenant to Bob's property; only the relayed invalidation reaches this one
+        tenantProperties.put(100L, 2L);
+        ownershipService.invalidate(EntityChangedEvent.Kind.TENANT, 100L);
+
+        assertFalse(ownershipService.ownsTenant(landlord("alice@example.com"), 100L));
+        assertTrue(ownershipService.ownsTenant(landlord("bob@example.com"), 100L));
+    }
+
+    @Test
+    void deletedPropertyIsDeniedToItsFormerOwner() {
+        assertTrue(ownershipService.ownsProperty(landlord("alice@example.com"), 1L));
+
+        propertyOwners.remove(1L);
+        ownershipService.invalidate(EntityChangedEvent.Kind.PROPERTY, 1L);
+
+        assertFalse(ownershipService.ownsProperty(landlord("alice@example.com"), 1L));
+    }
+
+    @Test
+    void adminsOwnEverything() {
+        Authentication admin = new UsernamePasswordAuthenticationToken("admin@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        assertTrue(ownershipService.ownsProperty(admin, 2L));
+        assertTrue(ownershipService.ownsTenant(admin, 100L));
+    }
+}
@@ -0,0 +1,126 @@
+package payup.payup.service;
+
+import org.junit.jupiter.api.Test;
+import payup.payup.event.EntityChangedEvent;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeaheadIndexTest {
+
+    private static TypeaheadIndex.Doc property(long id, String name, String location, Long ownerId) {
+        return new TypeaheadIndex.Doc(EntityChangedEvent.Kind.PROPERTY, id, name, location, id, null, ownerId,
+                TypeaheadIndex.tokenize(name, location));
+    }
+
+    private static TypeaheadIndex.Doc tenant(long id, String firstName, String lastName, String email, String phone,
+                                             long propertyId, long userId, Long ownerId) {
+        return new TypeaheadIndex.Doc(EntityChangedEvent.Kind.TENANT, id, firstName + " " + lastName, email, propertyId,
+                userId, ownerId, TypeaheadIndex.tokenize(firstName, lastName, email, phone));
+    }
+
+    private static List<String> labels(List<TypeaheadIndex.Doc> docs) {
+        return docs.stream().map(TypeaheadIndex.Doc::label).toList();
+    }
+
+    private static TypeaheadIndex sample() {
+        return TypeaheadIndex.build(List.of(
+                property(1, "Riverside Court", "Nairobi", 10L),
+                property(2, "River Gardens", "Kisumu", 20L),
+                tenant(1, "Rivka", "Otieno", "rivka@example.com", "+254 700 111 222", 1, 100, 10L),
+                tenant(2, "Amina", "Rivers", "amina@example.com", "+254 700 333 444", 2, 200, 20L)));
+    }
+
+    @Test
+    void tokenizeSplitsWordsAndKeepsEmailsAndPhoneDigits() {
+        Set<String> tokens = TypeaheadIndex.tokenize("Amina", "amina.w@Example.com", "+254 700-333 444", null, " ");
+
+        assertTrue(tokens.containsAll(Set.of("amina", "amina.w@example.com", "w", "example", "com", "+254700333444")));
+        assertFalse(tokens.contains(""));
+    }
+
+    @Test
+    void prefixMatchesAreInTokenOrderWithExactTokenFirst() {
+        List<TypeaheadIndex.Doc> docs = sample().query(TypeaheadIndex.GLOBAL_SCOPE, "riv", doc -> true, 10);
+
+        // river (River Gardens), rivers (Amina Rivers), riverside (Riverside Court), rivka (Rivka Otieno)
+        assertEquals(List.of("River Gardens", "Amina Rivers", "Riverside Court", "Rivka Otieno"), labels(docs));
+
+        List<TypeaheadIndex.Doc> exact = sample().query(TypeaheadIndex.GLOBAL_SCOPE, "river", doc -> true, 10);
+        assertEquals("River Gardens", exact.get(0).label());
+    }
+
+    @Test
+    void documentMatchingSeveralTokensIsReturnedOnce() {
+        TypeaheadIndex index = TypeaheadIndex.build(List.of(property(1, "River Riverside", "Riverton", 10L)));
+
+        assertEquals(1, index.query(TypeaheadIndex.GLOBAL_SCOPE, "river", doc -> true, 10).size());
+    }
+
+    @Test
+    void queryStopsAtLimitAndAppliesFilter() {
+        TypeaheadIndex index = sample();
+
+        assertEquals(2, index.query(TypeaheadIndex.GLOBAL_SCOPE, "riv", doc -> true, 2).size());
+        assertEquals(List.of("Amina Rivers", "Rivka Otieno"), labels(index.query(TypeaheadIndex.GLOBAL_SCOPE, "riv",
+                doc -> doc.kind() == EntityChangedEvent.Kind.TENANT, 10)));
+    }
+
+    @Test
+    void landlordScopeOnlySeesOwnDocuments() {
+        TypeaheadIndex index = sample();
+
+        assertEquals(List.of("Riverside Court", "Rivka Otieno"), labels(index.query(10L, "riv", doc -> true, 10)));
+        assertEquals(List.of("River Gardens", "Amina Rivers"), labels(index.query(20L, "riv", doc -> true, 10)));
+        assertTrue(index.query(30L, "riv", doc -> true, 10).isEmpty());
+    }
+
+    @Test
+    void scopeIsNotAPrefixOfLongerOwnerIds() {
+        TypeaheadIndex index = TypeaheadIndex.build(List.of(property(1, "Sunrise", "Thika", 11L)));
+
+        assertTrue(index.query(1L, "sun", doc -> true, 10).isEmpty());
+        assertEquals(1, index.query(11L, "sun", doc -> true, 10).size());
+    }
+
+    @Test
+    void emailAndPhonePrefixesMatch() {
+        TypeaheadIndex index = sample();
+
+        assertEquals(List.of("Amina Rivers"), labels(index.query(TypeaheadIndex.GLOBAL_SCOPE, "amina@ex", doc -> true, 10)));
+        assertEquals(List.of("Rivka Otieno"), labels(index.query(TypeaheadIndex.GLOBAL_SCOPE, "+254700111", doc -> true, 10)));
+    }
+
+    @Test
+    void putReplacesPreviousTokensOfTheSameDocument() {
+        TypeaheadIndex index = sample();
+
+        index.put(property(1, "Lakeview Court", "Nairobi", 10L));
+
+        assertEquals(List.of("Rivka Otieno"), labels(index.query(10L, "riv", doc -> true, 10)));
+        assertEquals(List.of("Lakeview Court"), labels(index.query(10L, "lake", doc -> true, 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void removeAndRemoveIfDropDocumentsFromEveryScope() {
+        TypeaheadIndex index = sample();
+
+        index.remove(TypeaheadIndex.key(EntityChangedEvent.Kind.PROPERTY, 2));
+        index.removeIf(doc -> Long.valueOf(100).equals(doc.userId()));
+
+        assertEquals(List.of("Amina Rivers", "Riverside Court"), labels(index.query(TypeaheadIndex.GLOBAL_SCOPE, "riv", doc -> true, 10)));
+        assertEquals(List.of("Amina Rivers"), labels(index.query(20L, "riv", doc -> true, 10)));
+        assertEquals(2, index.size());
+
+        index.remove(TypeaheadIndex.key(EntityChangedEvent.Kind.PROPERTY, 2)); // Unknown keys are ignored
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void keysOfDifferentKindsDoNotCollide() {
+        assertNotEquals(TypeaheadIndex.key(EntityChangedEvent.Kind.PROPERTY, 7), TypeaheadIndex.key(EntityChangedEvent.Kind.TENANT, 7));
+    }
+}
@@ -0,0 +1,168 @@
+package payup.payup.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VacancyIndexTest {
+
+    private static final VacancyIndex.Listing NAIROBI = new VacancyIndex.Listing(1, "Riverside", "Apartment", "Nairobi West", 10L);
+    private static final VacancyIndex.Listing MOMBASA = new VacancyIndex.Listing(2, "Harbour View", "Bedsitter", "Mombasa", 20L);
+
+    private static VacancyIndex.Unit room(long id, long propertyId, double rent, boolean occupied) {
+        return new VacancyIndex.Unit(id, propertyId, (int) id, rent, occupied, "Floor 1");
+    }
+
+    private static VacancyIndex sample() {
+        return VacancyIndex.build(List.of(NAIROBI, MOMBASA), List.of(
+                room(101, 1, 500, false),
+                room(102, 1, 700, false),
+                room(103, 1, 700, true),
+                room(104, 1, 900, false),
+                room(105, 1, 1200, false),
+                room(201, 2, 600, false),
+                room(202, 2, 700, false),
+                room(203, 2, 1000, true)));
+    }
+
+    private static List<Long> roomIds(List<VacancyIndex.Match> matches) {
+        return matches.stream().map(VacancyIndex.Match::roomId).toList();
+    }
+
+    @Test
+    void rentBoundsAreInclusive() {
+        List<VacancyIndex.Match> matches = sample().search(700.0, 900.0, null, null, null, 10);
+
+        assertEquals(List.of(102L, 202L, 104L), roomIds(matches));
+    }
+
+    @Test
+    void boundsOutsideEveryRentFindNothing() {
+        VacancyIndex index = sample();
+
+        assertTrue(index.search(1201.0, null, null, null, null, 10).isEmpty());
+        assertTrue(index.search(null, 499.0, null, null, null, 10).isEmpty());
+        assertTrue(index.search(800.0, 850.0, null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void openBoundsReturnEveryVacantRoom() {
+        VacancyIndex index = sample();
+
+        assertEquals(List.of(101L, 201L, 102L, 202L, 104L, 105L), roomIds(index.search(null, null, null, null, null, 10)));
+        assertEquals(6, index.vacantCount());
+        assertEquals(2, index.propertyCount());
+    }
+
+    @Test
+    void rangeStartingOnOccupiedRoomSkipsToNextVacantOne() {
+        VacancyIndex index = VacancyIndex.build(List.of(NAIROBI), List.of(
+                room(101, 1, 700, true),
+                room(102, 1, 700, true),
+                room(103, 1, 800, false)));
+
+        assertEquals(List.of(103L), roomIds(index.search(700.0, null, null, null, null, 10)));
+        assertTrue(index.search(700.0, 700.0, null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void mergeIsCheapestFirstAcrossPropertiesAndStopsAtLimit() {
+        List<VacancyIndex.Match> matches = sample().search(null, null, null, null, null, 3);
+
+        assertEquals(List.of(101L, 201L, 102L), roomIds(matches));
+        assertEquals(NAIROBI, matches.get(0).listing());
+        assertEquals(MOMBASA, matches.get(1).listing());
+    }
+
+    @Test
+    void equalRentsAreOrderedByRoomId() {
+        VacancyIndex index = VacancyIndex.build(List.of(NAIROBI, MOMBASA), List.of(
+                room(301, 2, 650, false),
+                room(302, 1, 650, false),
+                room(303, 2, 650, false)));
+
+        assertEquals(List.of(301L, 302L, 303L), roomIds(index.search(null, null, null, null, null, 10)));
+    }
+
+    @Test
+    void filtersByOwnerTypeAndLocation() {
+        VacancyIndex index = sample();
+
+        assertEquals(List.of(201L, 202L), roomIds(index.search(null, null, null, null, 20L, 10)));
+        assertEquals(List.of(201L, 202L), roomIds(index.search(null, null, "bedsitter", null, null, 10)));
+        assertEquals(List.of(101L, 102L, 104L, 105L), roomIds(index.search(null, null, null, "WEST", null, 10)));
+        assertTrue(index.search(null, null, "Apartment", null, 20L, 10).isEmpty());
+    }
+
+    @Test
+    void occupancyFlipReplacesTableWithoutTouchingEarlierResults() {
+        VacancyIndex index = sample();
+        List<VacancyIndex.Match> before = index.search(700.0, 700.0, null, null, null, 10);
+
+        assertTrue(index.putRoom(room(102, 1, 700, true)));
+
+        assertEquals(List.of(102L, 202L), roomIds(before));
+        assertEquals(List.of(202L), roomIds(index.search(700.0, 700.0, null, null, null, 10)));
+        assertEquals(5, index.vacantCount());
+
+        assertTrue(index.putRoom(room(103, 1, 700, false)));
+        assertEquals(List.of(103L, 202L), roomIds(index.search(700.0, 700.0, null, null, null, 10)));
+        assertEquals(6, index.vacantCount());
+    }
+
+    @Test
+    void rentChangeMovesRoomInRentOrder() {
+        VacancyIndex index = sample();
+
+        assertTrue(index.putRoom(room(105, 1, 550, false)));
+
+        assertEquals(List.of(101L, 105L, 201L), roomIds(index.search(null, null, null, null, null, 3)));
+        assertTrue(index.search(1000.0, null, null, null, null, 10).isEmpty());
+    }
+
+    @Test
+    void roomMovedToAnotherPropertyLeavesTheOldOne() {
+        VacancyIndex index = sample();
+
+        assertTrue(index.putRoom(room(101, 2, 500, false)));
+
+        assertEquals(List.of(101L), roomIds(index.search(null, null, null, null, 20L, 1)));
+        assertEquals(List.of(102L), roomIds(index.search(null, null, null, null, 10L, 1)));
+        assertEquals(6, index.vacantCount());
+    }
+
+    @Test
+    void unknownPropertyMustBeLoadedFirst() {
+        VacancyIndex index = sample();
+        VacancyIndex.Listing kisumu = new VacancyIndex.Listing(3, "Lakeside", "Apartment", "Kisumu", 10L);
+
+        assertFalse(index.putRoom(room(301, 3, 400, false)));
+        assertFalse(index.updateListing(kisumu));
+
+        index.putProperty(kisumu, List.of(room(301, 3, 400, false)));
+        assertEquals(List.of(301L), roomIds(index.search(null, null, null, "kisumu", null, 10)));
+    }
+
+    @Test
+    void listingUpdateKeepsRooms() {
+        VacancyIndex index = sample();
+
+        assertTrue(index.updateListing(new VacancyIndex.Listing(2, "Harbour View", "Apartment", "Mombasa", 20L)));
+
+        assertEquals(List.of(201L, 202L), roomIds(index.search(null, null, "apartment", "mombasa", null, 10)));
+    }
+
+    @Test
+    void removedRoomsAndPropertiesAreNoLongerFound() {
+        VacancyIndex index = sample();
+
+        index.removeRoom(101);
+        index.removeProperty(2);
+
+        assertEquals(List.of(102L, 104L, 105L), roomIds(index.search(null, null, null, null, null, 10)));
+        assertEquals(1, index.propertyCount());
+        assertEquals(3, index.vacantCount());
+    }
+}